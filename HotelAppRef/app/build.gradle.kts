@@ -1,5 +1,19 @@
+import java.sql.Connection
+
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        // SQLite JDBC driver, used by generateHotelDatabase to build the prepackaged database
+        classpath("org.xerial:sqlite-jdbc:3.45.1.0")
+    }
+}
+
 plugins {
     id("com.android.application")
+    // Generates the Baseline Profile with :macrobenchmark and packages it into the APK
+    id("androidx.baselineprofile")
 }
 
 android {
@@ -21,6 +35,15 @@ android {
             isMinifyEnabled = false
             proguardFiles(getDefaultProguardFile("proguard-android-optimize.txt"), "proguard-rules.pro")
         }
+        // Release-like build used by the :benchmark module
+        // WHY? Benchmarks must measure non-debuggable code; debuggable builds run without
+        // most ART optimizations. Signed with the debug key so it installs locally.
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+            isDebuggable = false
+        }
     }
 
     compileOptions {
@@ -31,6 +54,23 @@ android {
     buildFeatures {
         viewBinding = true
     }
+
+    testOptions {
+        // Robolectric tests (e.g. HotelDaoJvmBenchmarkTest) need the merged resources
+        unitTests.isIncludeAndroidResources = true
+        unitTests.all {
+            // The *JvmBenchmarkTest classes fill up to 100k rows each and take minutes,
+            // so the normal unit test run skips them. Run them with -PjvmBenchmarks.
+            if (!project.hasProperty("jvmBenchmarks")) {
+                it.exclude("**/*JvmBenchmarkTest.class")
+            }
+        }
+    }
+
+    sourceSets {
+        // HotelFixtures, shared with the :benchmark module (see its build file)
+        getByName("test").java.srcDir("src/benchmarkFixtures/java")
+    }
 }
 
 dependencies {
@@ -38,6 +78,8 @@ dependencies {
     implementation("androidx.appcompat:appcompat:1.6.1")
     implementation("com.google.android.material:material:1.11.0")
     implementation("androidx.constraintlayout:constraintlayout:2.1.4")
+    // BundleCompat.getParcelable(bundle, key, class) needs core 1.10+; appcompat brings 1.9
+    implementation("androidx.core:core:1.12.0")
 
     // RecyclerView
     implementation("androidx.recyclerview:recyclerview:1.3.2")
@@ -45,12 +87,145 @@ dependencies {
     // CardView
     implementation("androidx.cardview:cardview:1.0.0")
 
+    // Inflates hotel rows on a background thread before the list needs them
+    implementation("androidx.asynclayoutinflater:asynclayoutinflater:1.0.0")
+
     // Room Database
     implementation("androidx.room:room-runtime:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
+
+    // LiveData (observable Room queries)
+    implementation("androidx.lifecycle:lifecycle-livedata:2.6.2")
+
+    // Paging (loads large lists page by page)
+    implementation("androidx.paging:paging-runtime:3.2.1")
+
+    // App Startup (DatabaseInitializer warms the database at process start)
+    implementation("androidx.startup:startup-runtime:1.1.1")
+
+    // Background sync with the backend (HotelSyncWorker), only on network and battery
+    implementation("androidx.work:work-runtime:2.9.0")
+
+    // Installs the Baseline Profile (src/*/generated/baselineProfiles) at install time,
+    // so startup and scrolling code is AOT-compiled instead of interpreted on first runs
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    // Runs Room against a real SQLite on the JVM, no device needed
+    testImplementation("org.robolectric:robolectric:4.11.1")
+    testImplementation("androidx.test:core:1.5.0")
+    // Local HTTP server for the sync tests (SyncClient, HotelSyncEngine)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
-}
\ No newline at end of file
+}
+
+// Regenerate with: ./gradlew :app:generateBaselineProfile (needs a device or emulator, API 28+)
+baselineProfile {
+    // Keep the generated profile in src/ so it's reviewed and versioned with the code
+    saveInSrc = true
+    // Don't run the generator on every release build; it takes minutes
+    automaticGenerationDuringBuild = false
+}
+
+/**
+ * Builds the prepackaged hotel database that AppDatabase copies on first launch
+ * (Room's createFromAsset). Input: seed/hotel_schema.sql + seed/hotels.csv.
+ * Output: assets/databases/hotel_database.db in a generated assets folder.
+ *
+ * WHY at build time? Copying a ready-made file on first launch is much faster than
+ * creating tables and inserting the seed rows while the user waits for the first frame.
+ */
+abstract class GenerateHotelDatabaseTask : DefaultTask() {
+    @get:InputFile
+    abstract val schemaFile: RegularFileProperty
+
+    @get:InputFile
+    abstract val seedFile: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        val dbFile = outputDir.get().file("databases/hotel_database.db").asFile
+        dbFile.parentFile.mkdirs()
+        dbFile.delete()
+
+        val dataSource = org.sqlite.SQLiteDataSource()
+        dataSource.url = "jdbc:sqlite:${dbFile.absolutePath}"
+        dataSource.connection.use { connection ->
+            connection.createStatement().use { it.executeUpdate(schemaFile.get().asFile.readText()) }
+            insertSeedRows(connection)
+            connection.createStatement().use {
+                it.executeUpdate("INSERT INTO hotels_fts(hotels_fts) VALUES ('optimize')")
+                it.executeUpdate("VACUUM")
+            }
+        }
+        logger.lifecycle("Generated ${dbFile.name} (${dbFile.length()} bytes)")
+    }
+
+    private fun insertSeedRows(connection: Connection) {
+        val lines = seedFile.get().asFile.readLines(Charsets.UTF_8).filter { it.isNotBlank() }
+        val header = parseCsvLine(lines.first())
+        val columns = listOf("name", "phone", "website", "location", "nearby", "food")
+        val index = columns.map { header.indexOf(it) }
+
+        connection.autoCommit = false
+        connection.prepareStatement(
+            "INSERT INTO hotels (name, phone, website, location, nearby, food, imageResource) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0)"  // 0 = no image; the app shows its default icon
+        ).use { insert ->
+            for (line in lines.drop(1)) {
+                val fields = parseCsvLine(line)
+                index.forEachIndexed { column, position ->
+                    insert.setString(column + 1, fields.getOrNull(position))
+                }
+                insert.addBatch()
+            }
+            insert.executeBatch()
+        }
+        connection.commit()
+        connection.autoCommit = true
+    }
+
+    /** Same rules as HotelImporter.parseCsvLine: quoted fields, "" escapes a quote. */
+    private fun parseCsvLine(line: String): List<String> {
+        val fields = mutableListOf<String>()
+        val field = StringBuilder()
+        var inQuotes = false
+        var i = 0
+        while (i < line.length) {
+            val c = line[i]
+            when {
+                inQuotes && c == '"' && i + 1 < line.length && line[i + 1] == '"' -> { field.append('"'); i++ }
+                inQuotes && c == '"' -> inQuotes = false
+                inQuotes -> field.append(c)
+                c == '"' -> inQuotes = true
+                c == ',' -> { fields.add(field.toString().trim()); field.setLength(0) }
+                else -> field.append(c)
+            }
+            i++
+        }
+        fields.add(field.toString().trim())
+        return fields
+    }
+}
+
+val generateHotelDatabase = tasks.register<GenerateHotelDatabaseTask>("generateHotelDatabase") {
+    schemaFile.set(layout.projectDirectory.file("seed/hotel_schema.sql"))
+    seedFile.set(layout.projectDirectory.file("seed/hotels.csv"))
+    outputDir.set(layout.buildDirectory.dir("generated/hotelDatabase"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        // Package the generated database as an asset of every variant
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            generateHotelDatabase, GenerateHotelDatabaseTask::outputDir
+        )
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema of the prebuilt hotel_database asset (see the generateHotelDatabase task).
+--
+-- KEEP IN SYNC with AppDatabase: this must be exactly the schema Room creates for the
+-- version below, including the triggers Room generates. Room validates the tables when
+-- it opens the copied file and refuses to start on a mismatch.
+
+CREATE TABLE IF NOT EXISTS `hotels` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT, `phone` TEXT, `website` TEXT, `location` TEXT, `nearby` TEXT, `food` TEXT, `imageResource` INTEGER NOT NULL, `photoUri` TEXT, `latitude` REAL, `longitude` REAL, `remoteId` TEXT, `updatedAt` INTEGER NOT NULL DEFAULT 0);
+CREATE INDEX IF NOT EXISTS `index_hotels_name` ON `hotels` (`name`);
+CREATE INDEX IF NOT EXISTS `index_hotels_location_name` ON `hotels` (`location`, `name`);
+CREATE INDEX IF NOT EXISTS `index_hotels_latitude_longitude` ON `hotels` (`latitude`, `longitude`);
+CREATE UNIQUE INDEX IF NOT EXISTS `index_hotels_remoteId` ON `hotels` (`remoteId`);
+
+CREATE TABLE IF NOT EXISTS `geocode_cache` (`location` TEXT NOT NULL, `latitude` REAL, `longitude` REAL, `gazetteerVersion` INTEGER NOT NULL, PRIMARY KEY(`location`));
+CREATE TABLE IF NOT EXISTS `sync_state` (`feed` TEXT NOT NULL, `token` TEXT, `etag` TEXT, `lastSyncAt` INTEGER NOT NULL, PRIMARY KEY(`feed`));
+-- No triggers: the seed rows are the baseline, not changes (see ChangeLogTriggers)
+CREATE TABLE IF NOT EXISTS `hotel_changes` (`seq` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `hotelId` INTEGER NOT NULL, `op` INTEGER NOT NULL, `changedAt` INTEGER NOT NULL);
+-- Tags start empty, without a log_cursors row: HotelTagIndex tags the seed rows on first open
+CREATE TABLE IF NOT EXISTS `tags` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `kind` INTEGER NOT NULL, `normalized` TEXT NOT NULL, `name` TEXT NOT NULL, `hotelCount` INTEGER NOT NULL);
+CREATE UNIQUE INDEX IF NOT EXISTS `index_tags_kind_normalized` ON `tags` (`kind`, `normalized`);
+CREATE INDEX IF NOT EXISTS `index_tags_kind_hotelCount` ON `tags` (`kind`, `hotelCount`);
+CREATE TABLE IF NOT EXISTS `hotel_tags` (`tagId` INTEGER NOT NULL, `hotelId` INTEGER NOT NULL, PRIMARY KEY(`tagId`, `hotelId`));
+CREATE INDEX IF NOT EXISTS `index_hotel_tags_hotelId_tagId` ON `hotel_tags` (`hotelId`, `tagId`);
+CREATE TABLE IF NOT EXISTS `log_cursors` (`consumer` TEXT NOT NULL, `seq` INTEGER NOT NULL, PRIMARY KEY(`consumer`));
+
+CREATE VIRTUAL TABLE IF NOT EXISTS `hotels_fts` USING FTS4(`name` TEXT, `location` TEXT, `nearby` TEXT, `food` TEXT, content=`hotels`);
+
+CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_BEFORE_UPDATE BEFORE UPDATE ON `hotels` BEGIN DELETE FROM `hotels_fts` WHERE `docid`=OLD.`rowid`; END;
+CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_BEFORE_DELETE BEFORE DELETE ON `hotels` BEGIN DELETE FROM `hotels_fts` WHERE `docid`=OLD.`rowid`; END;
+CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_AFTER_UPDATE AFTER UPDATE ON `hotels` BEGIN INSERT INTO `hotels_fts`(`docid`, `name`, `location`, `nearby`, `food`) VALUES (NEW.`rowid`, NEW.`name`, NEW.`location`, NEW.`nearby`, NEW.`food`); END;
+CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_AFTER_INSERT AFTER INSERT ON `hotels` BEGIN INSERT INTO `hotels_fts`(`docid`, `name`, `location`, `nearby`, `food`) VALUES (NEW.`rowid`, NEW.`name`, NEW.`location`, NEW.`nearby`, NEW.`food`); END;
+
+-- No hotels_rtree here: SpatialIndex creates it on the device, if its SQLite has the
+-- rtree module, and positions the seed rows through OfflineGeocoder.
+
+PRAGMA user_version = 8;
@@ -0,0 +1,92 @@
+package com.example.hotelappref.adapters;
+
+import android.content.Context;
+import android.os.Debug;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.R;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that binding a hotel row allocates nothing once the list is warmed up.
+ *
+ * Counts objects allocated on the UI thread with the runtime's allocation counter
+ * (Debug.startAllocCounting). Two ViewHolders are bound to the rows in turn, like
+ * RecyclerView does while scrolling.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HotelAdapterAllocationTest {
+
+    private static final int ITEMS = 50;
+    private static final int WARM_UP_BINDS = 500;
+    private static final int MEASURED_BINDS = 1_000;
+
+    @Test
+    @UiThreadTest
+    @SuppressWarnings("deprecation")  // The allocation counter is deprecated but still works on ART
+    public void steadyStateBind_allocatesNothing() {
+        HotelAdapter adapter = newAdapter();
+        FrameLayout parent = new FrameLayout(themedContext());
+        HotelViewHolder[] holders = {
+                adapter.onCreateViewHolder(parent, 0),
+                adapter.onCreateViewHolder(parent, 0),
+        };
+
+        bind(adapter, holders, WARM_UP_BINDS);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            bind(adapter, holders, MEASURED_BINDS);
+        } finally {
+            Debug.stopAllocCounting();
+        }
+
+        assertEquals("Objects allocated by " + MEASURED_BINDS + " binds",
+                0, Debug.getThreadAllocCount());
+    }
+
+    @Test
+    public void itemIds_areTheHotelIds() {
+        HotelAdapter adapter = newAdapter();
+
+        assertTrue(adapter.hasStableIds());
+        assertEquals(1, adapter.getItemId(0));
+        assertEquals(ITEMS, adapter.getItemId(ITEMS - 1));
+    }
+
+    private static void bind(HotelAdapter adapter, HotelViewHolder[] holders, int binds) {
+        for (int i = 0; i < binds; i++) {
+            adapter.onBindViewHolder(holders[i % holders.length], i % ITEMS);
+        }
+    }
+
+    private static Context themedContext() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return new ContextThemeWrapper(context, R.style.Theme_HotelAppRef);
+    }
+
+    private static HotelAdapter newAdapter() {
+        List<HotelSummary> hotels = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            hotels.add(new HotelSummary(i + 1, "Hotel " + i, "District " + i + ", Lebanon", 0));
+        }
+        HotelAdapter adapter = new HotelAdapter();
+        // The first list is applied synchronously (there is nothing to diff against)
+        adapter.submitList(hotels);
+        return adapter;
+    }
+}
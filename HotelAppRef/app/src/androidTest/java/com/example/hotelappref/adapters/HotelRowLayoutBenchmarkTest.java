@@ -0,0 +1,139 @@
+package com.example.hotelappref.adapters;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the flattened hotel row (hotel_item.xml) with the nested original
+ * (hotel_item_nested.xml, debug builds only): inflate time, measure + layout time and
+ * view hierarchy depth per row.
+ *
+ * Rows are inflated like the list inflates them, with HotelRowInflater.plainInflater():
+ * framework TextView/ImageView, not AppCompat's, on either path.
+ *
+ * Results are written to logcat under the "HotelRowLayoutBenchmark" tag, e.g.
+ * {@code adb logcat -s HotelRowLayoutBenchmark}.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelRowLayoutBenchmarkTest {
+
+    private static final String TAG = "HotelRowLayoutBenchmark";
+    private static final int WARM_UP = 10;
+    private static final int RUNS = 51;
+
+    private Context context;
+    private ViewGroup parent;
+    private int widthSpec;
+    private int heightSpec;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                R.style.Theme_HotelAppRef);
+        parent = new FrameLayout(context);
+        // Like a row in the list: as wide as the screen, as tall as it wants
+        widthSpec = View.MeasureSpec.makeMeasureSpec(
+                context.getResources().getDisplayMetrics().widthPixels, View.MeasureSpec.EXACTLY);
+        heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+    }
+
+    @Test
+    @UiThreadTest
+    public void flattenedRow_isShallowerAndReportsTimings() {
+        Result nested = measure(R.layout.hotel_item_nested);
+        Result flat = measure(R.layout.hotel_item);
+
+        Log.i(TAG, "before (nested):    " + nested);
+        Log.i(TAG, "after (flattened):  " + flat);
+        assertTrue("Flattened row must be shallower: " + flat.depth + " vs " + nested.depth,
+                flat.depth < nested.depth);
+    }
+
+    private Result measure(int layout) {
+        LayoutInflater inflater = HotelRowInflater.plainInflater(context);
+        long[] inflateNanos = new long[RUNS];
+        long[] layoutNanos = new long[RUNS];
+        View row = null;
+        for (int run = -WARM_UP; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            row = inflater.inflate(layout, parent, false);
+            long inflated = SystemClock.elapsedRealtimeNanos();
+
+            ((TextView) row.findViewById(R.id.hotelName)).setText("Grand Plaza Hotel");
+            ((TextView) row.findViewById(R.id.hotelLocation)).setText("Beirut Downtown, Lebanon");
+            long bound = SystemClock.elapsedRealtimeNanos();
+            row.measure(widthSpec, heightSpec);
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+            long laidOut = SystemClock.elapsedRealtimeNanos();
+
+            if (run >= 0) {
+                inflateNanos[run] = inflated - start;
+                layoutNanos[run] = laidOut - bound;
+            }
+        }
+        return new Result(median(inflateNanos), median(layoutNanos), depth(row));
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /** Levels from the row's root to its deepest view, counting both. */
+    private static int depth(View view) {
+        if (!(view instanceof ViewGroup)) {
+            return 1;
+        }
+        ViewGroup group = (ViewGroup) view;
+        int deepest = 0;
+        for (int i = 0; i < group.getChildCount(); i++) {
+            deepest = Math.max(deepest, depth(group.getChildAt(i)));
+        }
+        return deepest + 1;
+    }
+
+    private static final class Result {
+        final long inflateNanos;
+        final long layoutNanos;
+        final int depth;
+
+        Result(long inflateNanos, long layoutNanos, int depth) {
+            this.inflateNanos = inflateNanos;
+            this.layoutNanos = layoutNanos;
+            this.depth = depth;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "inflate median=%.3f ms, measure+layout median=%.3f ms, depth=%d",
+                    inflateNanos / 1e6, layoutNanos / 1e6, depth);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures bulk-import throughput (rows/s) for a 100k-row file.
+ *
+ * Results are written to logcat: {@code adb logcat -s HotelImporterThroughput}.
+ * The database is file-backed so journal flushes are part of the measurement.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelImporterThroughputTest {
+
+    private static final String TAG = "HotelImporterThroughput";
+    private static final String TEST_DB_NAME = "import_test.db";
+    private static final int ROWS = 100_000;
+
+    private Context context;
+    private AppDatabase database;
+    private File csvFile;
+    private File jsonFile;
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB_NAME);
+        database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB_NAME).build();
+        csvFile = writeCsv(new File(context.getCacheDir(), "hotels.csv"));
+        jsonFile = writeJson(new File(context.getCacheDir(), "hotels.json"));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB_NAME);
+        csvFile.delete();
+        jsonFile.delete();
+    }
+
+    @Test
+    public void importCsv_100kRows() throws IOException {
+        HotelImporter.Result result = new HotelImporter(database.hotelDao())
+                .importHotels(new FileInputStream(csvFile), HotelImporter.Format.CSV);
+
+        Log.i(TAG, "CSV " + result);
+        assertEquals(ROWS, result.rows);
+        assertEquals(ROWS, database.hotelDao().getHotelCount());
+    }
+
+    @Test
+    public void importJson_100kRows() throws IOException {
+        HotelImporter.Result result = new HotelImporter(database.hotelDao())
+                .importHotels(new FileInputStream(jsonFile), HotelImporter.Format.JSON);
+
+        Log.i(TAG, "JSON " + result);
+        assertEquals(ROWS, result.rows);
+        assertEquals(ROWS, database.hotelDao().getHotelCount());
+    }
+
+    private static File writeCsv(File file) throws IOException {
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            out.write("name,phone,website,location,nearby,food\n");
+            for (int i = 0; i < ROWS; i++) {
+                out.write("Hotel " + i + ",+961 1 " + i + ",www.hotel" + i + ".com,"
+                        + "\"District " + (i % 250) + ", Lebanon\","
+                        + "\"Corniche, Souks, Museum\",\"Lebanese Cuisine, Cafe\"\n");
+            }
+        }
+        return file;
+    }
+
+    private static File writeJson(File file) throws IOException {
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            out.write('[');
+            for (int i = 0; i < ROWS; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write("{\"name\":\"Hotel " + i + "\",\"phone\":\"+961 1 " + i + "\","
+                        + "\"website\":\"www.hotel" + i + ".com\","
+                        + "\"location\":\"District " + (i % 250) + ", Lebanon\","
+                        + "\"nearby\":\"Corniche, Souks, Museum\","
+                        + "\"food\":\"Lebanese Cuisine, Cafe\"}");
+            }
+            out.write(']');
+        }
+        return file;
+    }
+}
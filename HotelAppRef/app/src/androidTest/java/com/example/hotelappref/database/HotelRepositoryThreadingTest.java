@@ -0,0 +1,110 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.StrictMode;
+import android.os.strictmode.Violation;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Verifies that no database work happens on the main looper.
+ *
+ * The main thread runs with a StrictMode policy that records every disk read/write.
+ * The repository is then driven from the main thread exactly like the activities do;
+ * any DAO call that leaks onto the main looper shows up as a violation and fails the test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HotelRepositoryThreadingTest {
+
+    private static final String TEST_DB_NAME = "threading_test.db";
+
+    private Context context;
+    private AppDatabase database;
+    private HotelRepository repository;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB_NAME);
+        DatabaseExecutors executors = DatabaseExecutors.getInstance();
+        // A file-backed database so StrictMode sees real disk I/O
+        database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB_NAME)
+                .setQueryExecutor(executors.queryExecutor())
+                .setTransactionExecutor(executors.writeExecutor())
+                .build();
+        repository = new HotelRepository(database, executors);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB_NAME);
+    }
+
+    @Test
+    public void daoCallOnMainThread_isRejectedByRoom() {
+        final Throwable[] thrown = new Throwable[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            try {
+                database.hotelDao().getHotelCount();
+            } catch (IllegalStateException e) {
+                thrown[0] = e;
+            }
+        });
+        assertNotNull("Room must refuse DAO calls on the main thread", thrown[0]);
+    }
+
+    @Test
+    public void repositoryCalls_doNotTouchDiskOnMainLooper() throws InterruptedException {
+        assumeTrue("penaltyListener requires API 28", Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+
+        final List<Violation> violations = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyListener(Runnable::run, violations::add)
+                    .build());
+
+            // The calls MainActivity, AddHotelActivity and the search pipeline make
+            repository.populateInitialData(seeded ->
+                    repository.insert(sampleHotel(), id ->
+                            repository.getHotelCount(count ->
+                                    repository.getHotelById(id, hotel ->
+                                            repository.searchHotels("Hotel", 10, results ->
+                                                    done.countDown())))));
+        });
+
+        assertTrue("Repository callbacks never completed", done.await(10, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(
+                () -> StrictMode.setThreadPolicy(StrictMode.ThreadPolicy.LAX));
+
+        assertTrue("Disk access on the main looper: " + violations, violations.isEmpty());
+    }
+
+    private static Hotel sampleHotel() {
+        return new Hotel("Threading Test Hotel", "+961 1 000000", "www.test.com",
+                "Beirut, Lebanon", "Corniche", "Cafe", 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares LIKE search and FTS search latency on large tables, and FTS search for a
+ * short prefix that matches every hotel, with and without the candidate limit.
+ *
+ * Results are written to logcat under the "HotelSearchBenchmark" tag, e.g.
+ * {@code adb logcat -s HotelSearchBenchmark}.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelSearchBenchmarkTest {
+
+    private static final String TAG = "HotelSearchBenchmark";
+    private static final int RUNS = 15;
+    private static final String[] TERMS = {"seaside", "grotto", "plaza", "rooftop", "zaitunay"};
+
+    private AppDatabase database;
+    private HotelDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: measure the query, not thread hops
+                .build();
+        dao = database.hotelDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void likeVsFts_10kRows() {
+        compare(10_000);
+    }
+
+    @Test
+    public void likeVsFts_100kRows() {
+        compare(100_000);
+    }
+
+    @Test
+    public void ftsShortPrefix_100kRows() {
+        fill(100_000);
+        String matchQuery = HotelSearch.toMatchQuery("ho");  // Every "Hotel ..." matches
+
+        long limitedMedian = medianNanos(term ->
+                HotelSearch.rank(dao.searchHotelsFts(matchQuery, HotelSearch.MAX_CANDIDATES)).size());
+        long allMedian = medianNanos(term ->
+                HotelSearch.rank(dao.searchHotelsFts(matchQuery, Integer.MAX_VALUE)).size());
+
+        Log.i(TAG, String.format(java.util.Locale.ROOT,
+                "rows=100000 prefix=ho limit=%d median=%.2f ms unlimited median=%.2f ms",
+                HotelSearch.MAX_CANDIDATES, limitedMedian / 1e6, allMedian / 1e6));
+        assertEquals(HotelSearch.MAX_CANDIDATES,
+                dao.searchHotelsFts(matchQuery, HotelSearch.MAX_CANDIDATES).size());
+        assertTrue(limitedMedian > 0 && allMedian > 0);
+    }
+
+    private void compare(int rows) {
+        fill(rows);
+
+        long likeMedian = medianNanos(term -> dao.searchHotelsByName(term).size());
+        long ftsMedian = medianNanos(term ->
+                HotelSearch.rank(dao.searchHotelsFts(HotelSearch.toMatchQuery(term),
+                        HotelSearch.MAX_CANDIDATES)).size());
+
+        Log.i(TAG, String.format(java.util.Locale.ROOT,
+                "rows=%d LIKE median=%.2f ms FTS median=%.2f ms",
+                rows, likeMedian / 1e6, ftsMedian / 1e6));
+        assertTrue(likeMedian > 0 && ftsMedian > 0);
+    }
+
+    private void fill(int rows) {
+        database.runInTransaction(() -> {
+            for (int i = 0; i < rows; i++) {
+                String term = TERMS[i % TERMS.length];
+                dao.insert(new Hotel(
+                        "Hotel " + i + " " + (i % 100 == 0 ? term : "inn"),
+                        "+961 1 " + i,
+                        "www.hotel" + i + ".com",
+                        "District " + (i % 250) + ", Lebanon",
+                        "Corniche, Souks, " + (i % 7 == 0 ? term : "Museum"),
+                        "Lebanese Cuisine, Cafe",
+                        0));
+            }
+        });
+    }
+
+    private interface Search {
+        int run(String term);
+    }
+
+    private long medianNanos(Search search) {
+        long[] samples = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            String term = TERMS[run % TERMS.length];
+            long start = SystemClock.elapsedRealtimeNanos();
+            search.run(term);
+            samples[run] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
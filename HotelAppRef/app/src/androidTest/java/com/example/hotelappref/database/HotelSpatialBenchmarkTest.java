@@ -0,0 +1,123 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.geo.GeoPoint;
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Radius and 10-nearest latency on 100k hotels: R*Tree vs the latitude/longitude B-tree.
+ *
+ * Results are written to logcat under the "HotelSpatialBenchmark" tag, e.g.
+ * {@code adb logcat -s HotelSpatialBenchmark}.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelSpatialBenchmarkTest {
+
+    private static final String TAG = "HotelSpatialBenchmark";
+    private static final int ROWS = 100_000;
+    private static final int RUNS = 21;
+    private static final double RADIUS_METERS = 5_000;
+
+    private AppDatabase withRTree;
+    private AppDatabase withoutRTree;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        withRTree = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: measure the query, not thread hops
+                .addCallback(SpatialIndex.CALLBACK)
+                .build();
+        withoutRTree = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        withRTree.close();
+        withoutRTree.close();
+    }
+
+    @Test
+    public void rTreeVsBTree_100kHotels() {
+        boolean hasRTree = SpatialIndex.isInstalled(withRTree.getOpenHelper().getReadableDatabase());
+        report(hasRTree ? "R*Tree" : "B-tree (no rtree module)", withRTree);
+        report("B-tree", withoutRTree);
+    }
+
+    private void report(String label, AppDatabase database) {
+        fill(database);
+        HotelSpatialSearch search = new HotelSpatialSearch(database);
+        GeoPoint[] centers = centers();
+
+        long radiusMedian = medianNanos(centers,
+                center -> search.withinRadius(center, RADIUS_METERS, Integer.MAX_VALUE).size());
+        long nearestMedian = medianNanos(centers, center -> search.nearest(center, 10).size());
+
+        Log.i(TAG, String.format(Locale.ROOT,
+                "%s rows=%d radius(%.0f m) median=%.2f ms 10-nearest median=%.2f ms",
+                label, ROWS, RADIUS_METERS, radiusMedian / 1e6, nearestMedian / 1e6));
+        assertTrue(radiusMedian > 0 && nearestMedian > 0);
+    }
+
+    /** Hotels spread uniformly over the land-ish latitudes of the whole world. */
+    private static void fill(AppDatabase database) {
+        Random random = new Random(7);
+        List<Hotel> hotels = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Hotel hotel = new Hotel("Hotel " + i, null, null, "Somewhere", null, null, 0);
+            hotel.setLatitude(random.nextDouble() * 120 - 60);
+            hotel.setLongitude(random.nextDouble() * 360 - 180);
+            hotels.add(hotel);
+        }
+        database.hotelDao().insertAll(hotels);
+    }
+
+    private static GeoPoint[] centers() {
+        Random random = new Random(11);
+        GeoPoint[] centers = new GeoPoint[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            centers[i] = new GeoPoint(random.nextDouble() * 100 - 50, random.nextDouble() * 360 - 180);
+        }
+        return centers;
+    }
+
+    private interface Search {
+        int run(GeoPoint center);
+    }
+
+    private static long medianNanos(GeoPoint[] centers, Search search) {
+        search.run(centers[0]);  // Warm up: statement compilation, page cache
+        long[] samples = new long[centers.length];
+        for (int i = 0; i < centers.length; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            search.run(centers[i]);
+            samples[i] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.geo.GeoMath;
+import com.example.hotelappref.geo.GeoPoint;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelNearby;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks radius and nearest-hotel searches against a brute-force distance scan, with
+ * the R*Tree (where this device's SQLite has it) and with the B-tree fallback; also that
+ * the R*Tree follows writes, and that OfflineGeocoder positions hotels.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HotelSpatialSearchTest {
+
+    private static final GeoPoint BEIRUT = new GeoPoint(33.8938, 35.5018);
+    private static final int HOTELS = 2_000;
+
+    private Context context;
+    private AppDatabase withRTree;
+    private AppDatabase withoutRTree;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        withRTree = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: keeps the assertions simple
+                .addCallback(SpatialIndex.CALLBACK)
+                .build();
+        withoutRTree = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        withRTree.close();
+        withoutRTree.close();
+    }
+
+    @Test
+    public void withinRadius_matchesBruteForce() {
+        for (AppDatabase database : new AppDatabase[]{withRTree, withoutRTree}) {
+            List<Hotel> hotels = fill(database);
+            HotelSpatialSearch search = new HotelSpatialSearch(database);
+
+            List<HotelNearby> found = search.withinRadius(BEIRUT, 20_000, Integer.MAX_VALUE);
+
+            assertEquals(bruteForce(hotels, BEIRUT, 20_000, Integer.MAX_VALUE), ids(found));
+            assertFalse("Test data should have hotels within 20 km", found.isEmpty());
+        }
+    }
+
+    @Test
+    public void nearest_matchesBruteForce() {
+        for (AppDatabase database : new AppDatabase[]{withRTree, withoutRTree}) {
+            List<Hotel> hotels = fill(database);
+            HotelSpatialSearch search = new HotelSpatialSearch(database);
+
+            for (int count : new int[]{1, 10, 50}) {
+                assertEquals(bruteForce(hotels, BEIRUT, Double.MAX_VALUE, count),
+                        ids(search.nearest(BEIRUT, count)));
+            }
+            // Far from every hotel: the radius has to grow many times
+            GeoPoint farAway = new GeoPoint(-40, -120);
+            assertEquals(bruteForce(hotels, farAway, Double.MAX_VALUE, 5),
+                    ids(search.nearest(farAway, 5)));
+        }
+    }
+
+    @Test
+    public void nearest_returnsFewerWhenFewHotelsHaveAPosition() {
+        HotelDao dao = withRTree.hotelDao();
+        dao.insert(hotel("Positioned", 33.9, 35.5));
+        dao.insert(new Hotel("Unknown", null, null, "Nowhere", null, null, 0));
+
+        List<HotelNearby> found = new HotelSpatialSearch(withRTree).nearest(BEIRUT, 10);
+
+        assertEquals(1, found.size());
+        assertEquals("Positioned", found.get(0).hotel.getName());
+    }
+
+    @Test
+    public void rTree_followsInsertsUpdatesAndDeletes() {
+        HotelDao dao = withRTree.hotelDao();
+        long id = dao.insert(hotel("Moving Hotel", 33.9, 35.5));
+        HotelSpatialSearch search = new HotelSpatialSearch(withRTree);
+        assertEquals(1, search.withinRadius(BEIRUT, 5_000, 10).size());
+
+        dao.setPosition(id, 48.8566, 2.3522);  // To Paris
+        assertTrue(search.withinRadius(BEIRUT, 5_000, 10).isEmpty());
+        assertEquals(1, search.withinRadius(new GeoPoint(48.8566, 2.3522), 1_000, 10).size());
+
+        dao.delete(dao.getHotelById(id));
+        assertTrue(search.withinRadius(new GeoPoint(48.8566, 2.3522), 1_000, 10).isEmpty());
+    }
+
+    @Test
+    public void geocoder_positionsHotelsAndCachesResults() {
+        String places = "jounieh,33.9808,35.6178\nlebanon,33.8547,35.8623\n";
+        int[] gazetteerReads = {0};
+        SharedPreferences progress =
+                context.getSharedPreferences("geocoder_test", Context.MODE_PRIVATE);
+        progress.edit().clear().commit();
+        OfflineGeocoder geocoder = new OfflineGeocoder(withRTree, () -> {
+            gazetteerReads[0]++;
+            return new ByteArrayInputStream(places.getBytes(StandardCharsets.UTF_8));
+        }, progress);
+        HotelDao dao = withRTree.hotelDao();
+        dao.insert(new Hotel("Seaside Resort", null, null, "Jounieh, Lebanon", null, null, 0));
+        dao.insert(new Hotel("Somewhere Inn", null, null, "Atlantis", null, null, 0));
+
+        assertEquals(1, geocoder.locateMissing());
+
+        List<HotelNearby> found = new HotelSpatialSearch(withRTree)
+                .withinRadius(new GeoPoint(33.9808, 35.6178), 100, 10);
+        assertEquals(1, found.size());
+        assertEquals("Seaside Resort", found.get(0).hotel.getName());
+        // Both texts are cached now (the miss too); nothing is checked twice
+        assertNotNull(withRTree.geocodeDao().get("jounieh lebanon"));
+        assertNotNull(withRTree.geocodeDao().get("atlantis"));
+        assertEquals(0, geocoder.locateMissing());
+        assertEquals(1, gazetteerReads[0]);
+        progress.edit().clear().commit();
+    }
+
+    /** Hotels scattered around Beirut (up to ~100 km) and a few around the world. */
+    private static List<Hotel> fill(AppDatabase database) {
+        Random random = new Random(42);
+        List<Hotel> hotels = new ArrayList<>(HOTELS);
+        for (int i = 0; i < HOTELS; i++) {
+            boolean local = i % 20 != 0;
+            double latitude = local ? BEIRUT.latitude + (random.nextDouble() - 0.5) * 2
+                    : random.nextDouble() * 180 - 90;
+            double longitude = local ? BEIRUT.longitude + (random.nextDouble() - 0.5) * 2
+                    : random.nextDouble() * 360 - 180;
+            hotels.add(hotel("Hotel " + i, latitude, longitude));
+        }
+        List<Long> ids = database.hotelDao().insertAll(hotels);
+        for (int i = 0; i < hotels.size(); i++) {
+            hotels.get(i).setId(ids.get(i));
+        }
+        return hotels;
+    }
+
+    private static Hotel hotel(String name, double latitude, double longitude) {
+        Hotel hotel = new Hotel(name, null, null, "Somewhere", null, null, 0);
+        hotel.setLatitude(latitude);
+        hotel.setLongitude(longitude);
+        return hotel;
+    }
+
+    /** Ids of the hotels within radius, nearest first, at most limit. */
+    private static List<Long> bruteForce(List<Hotel> hotels, GeoPoint center, double radius,
+                                         int limit) {
+        List<Hotel> within = new ArrayList<>();
+        for (Hotel hotel : hotels) {
+            if (distance(hotel, center) <= radius) {
+                within.add(hotel);
+            }
+        }
+        Collections.sort(within, (a, b) -> Double.compare(distance(a, center), distance(b, center)));
+        List<Long> ids = new ArrayList<>();
+        for (Hotel hotel : within.subList(0, Math.min(limit, within.size()))) {
+            ids.add(hotel.getId());
+        }
+        return ids;
+    }
+
+    private static double distance(Hotel hotel, GeoPoint center) {
+        return GeoMath.distanceMeters(center.latitude, center.longitude,
+                hotel.getLatitude(), hotel.getLongitude());
+    }
+
+    private static List<Long> ids(List<HotelNearby> found) {
+        List<Long> ids = new ArrayList<>();
+        for (HotelNearby hotel : found) {
+            ids.add(hotel.hotel.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures the Java heap retained by a 100k-row hotel list: full Hotel rows (SELECT *)
+ * versus HotelSummary rows (the list projection).
+ *
+ * Results are written to logcat under the "HotelSummaryHeap" tag, e.g.
+ * {@code adb logcat -s HotelSummaryHeap}.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelSummaryHeapTest {
+
+    private static final String TAG = "HotelSummaryHeap";
+    private static final int ROWS = 100_000;
+
+    // Typical lengths for real listings; the long columns are the ones the list never shows
+    private static final String NEARBY = repeat("Corniche, Pigeon Rocks, Zaitunay Bay, ", 2);
+    private static final String FOOD = repeat("Lebanese mezze, seafood, rooftop bar, ", 2);
+
+    private AppDatabase database;
+    private HotelDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: measure the rows, not thread hops
+                .build();
+        dao = database.hotelDao();
+        fill();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void summaryList_retainsLessHeapThanFullRows() {
+        long fullBytes = retainedBytes(() -> dao.getAllHotels());
+        long summaryBytes = retainedBytes(() -> dao.getAllHotelSummaries());
+
+        Log.i(TAG, String.format(Locale.ROOT,
+                "rows=%d Hotel=%.1f MB (%d B/row) HotelSummary=%.1f MB (%d B/row)",
+                ROWS,
+                fullBytes / 1048576.0, fullBytes / ROWS,
+                summaryBytes / 1048576.0, summaryBytes / ROWS));
+        assertTrue("HotelSummary list should be smaller: full=" + fullBytes
+                + " summary=" + summaryBytes, summaryBytes < fullBytes);
+    }
+
+    private interface ListLoader {
+        List<?> load();
+    }
+
+    /**
+     * Heap still in use while the loaded list is reachable, minus the heap in use before.
+     * WHY several GCs? A single System.gc() is only a hint; repeating it makes the
+     * before/after numbers stable enough to compare.
+     */
+    private static long retainedBytes(ListLoader loader) {
+        long before = usedHeap();
+        List<?> rows = loader.load();
+        long after = usedHeap();
+        assertEquals(ROWS, rows.size());  // Keeps the list reachable until here
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            runtime.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void fill() {
+        List<Hotel> chunk = new ArrayList<>(HotelImporter.DEFAULT_CHUNK_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            chunk.add(new Hotel("Hotel " + i, "+961 1 " + i, "www.hotel" + i + ".com",
+                    "Beirut, Lebanon", NEARBY + i, FOOD + i, 0));
+            if (chunk.size() == HotelImporter.DEFAULT_CHUNK_SIZE) {
+                dao.importChunk(chunk);
+                chunk.clear();
+            }
+        }
+        dao.importChunk(chunk);
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tag filter and facet latency on 100k hotels, next to the LIKE scan they replace.
+ *
+ * Each hotel has 3 attractions out of 300 and 2 cuisines out of 40, skewed so some tags
+ * are common (thousands of hotels) and most are rare. Results are written to logcat
+ * under the "HotelTagBenchmark" tag, e.g. {@code adb logcat -s HotelTagBenchmark}.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class HotelTagBenchmarkTest {
+
+    private static final String TAG = "HotelTagBenchmark";
+    private static final int ROWS = 100_000;
+    private static final int RUNS = 21;
+    private static final int PAGE = 30;
+
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: measure the query, not thread hops
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void filtersAndFacets_100kHotels() {
+        fill();
+        long start = SystemClock.elapsedRealtimeNanos();
+        database.runInTransaction(() ->
+                HotelTagIndex.rebuild(database.getOpenHelper().getWritableDatabase()));
+        long rebuildNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        HotelTagSearch search = new HotelTagSearch(database);
+        List<Tag> cuisines = search.topTags(Tag.KIND_CUISINE, 40);
+        List<Tag> attractions = search.topTags(Tag.KIND_ATTRACTION, 300);
+        Tag commonCuisine = cuisines.get(0);
+        Tag rareCuisine = cuisines.get(cuisines.size() - 1);
+        Tag commonAttraction = attractions.get(0);
+        List<Long> one = Collections.singletonList(commonCuisine.getId());
+        List<Long> two = Arrays.asList(commonCuisine.getId(), commonAttraction.getId());
+        List<Long> page = idsOf(search.hotelsWithTags(one, 0, PAGE));
+        assertEquals(PAGE, page.size());
+
+        log("rebuild", rebuildNanos);
+        log("top 10 cuisines", medianNanos(() -> search.topTags(Tag.KIND_CUISINE, 10).size()));
+        log("1 tag, first page (" + commonCuisine + ")",
+                medianNanos(() -> search.hotelsWithTags(one, 0, PAGE).size()));
+        log("2 tags, first page (" + commonCuisine + " + " + commonAttraction + ")",
+                medianNanos(() -> search.hotelsWithTags(two, 0, PAGE).size()));
+        log("facets of one page", medianNanos(() -> search.facetsOf(page).size()));
+        log("facets of a rare tag's hotels (" + rareCuisine + ")",
+                medianNanos(() -> search.facets(Collections.singletonList(rareCuisine.getId()),
+                        Tag.KIND_ATTRACTION, 10).size()));
+        log("facets of a common tag's hotels (" + commonCuisine + ")",
+                medianNanos(() -> search.facets(one, Tag.KIND_ATTRACTION, 10).size()));
+        log("LIKE scan, first page (baseline)", medianNanos(() ->
+                likeScan("%" + commonCuisine.getName() + "%")));
+    }
+
+    private void fill() {
+        Random random = new Random(7);
+        List<Hotel> hotels = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String nearby = "Sight " + skewed(random, 300) + ", Sight " + skewed(random, 300)
+                    + ", Sight " + skewed(random, 300);
+            String food = "Cuisine " + skewed(random, 40) + "; Cuisine " + skewed(random, 40);
+            hotels.add(new Hotel("Hotel " + i, null, null, "Somewhere", nearby, food, 0));
+        }
+        database.hotelDao().insertAll(hotels);
+    }
+
+    /** 0..n-1, low values much more likely (roughly Zipf-like). */
+    private static int skewed(Random random, int n) {
+        return (int) (n * Math.pow(random.nextDouble(), 3));
+    }
+
+    private int likeScan(String pattern) {
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(
+                "SELECT id FROM hotels WHERE food LIKE ? ORDER BY id LIMIT " + PAGE,
+                new Object[]{pattern})) {
+            return cursor.getCount();
+        }
+    }
+
+    private static List<Long> idsOf(List<HotelSummary> hotels) {
+        List<Long> ids = new ArrayList<>();
+        for (HotelSummary hotel : hotels) {
+            ids.add(hotel.getId());
+        }
+        return ids;
+    }
+
+    private static void log(String label, long nanos) {
+        Log.i(TAG, String.format(Locale.ROOT, "%s rows=%d median=%.3f ms", label, ROWS, nanos / 1e6));
+    }
+
+    private interface Run {
+        int run();
+    }
+
+    private static long medianNanos(Run run) {
+        run.run();  // Warm up: statement compilation, page cache
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            run.run();
+            samples[i] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Opens a database created with an old schema and checks that Room migrates it
+ * to the current version without losing data.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationsTest {
+
+    private static final String TEST_DB_NAME = "migration_test.db";
+
+    /** The hotels table exactly as Room created it in version 1. */
+    private static final String CREATE_HOTELS_V1 = "CREATE TABLE IF NOT EXISTS `hotels` ("
+            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT, `phone` TEXT, "
+            + "`website` TEXT, `location` TEXT, `nearby` TEXT, `food` TEXT, "
+            + "`imageResource` INTEGER NOT NULL)";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB_NAME);
+    }
+
+    @Test
+    public void migrateFromVersion1_keepsHotelsAndIndexesThemForSearch() {
+        SQLiteDatabase v1 = context.openOrCreateDatabase(TEST_DB_NAME, Context.MODE_PRIVATE, null);
+        v1.execSQL(CREATE_HOTELS_V1);
+        v1.execSQL("INSERT INTO hotels (name, phone, website, location, nearby, food, imageResource) "
+                + "VALUES ('Seaside Resort', '+961 1 234567', 'www.seasideresort.com', "
+                + "'Jounieh, Lebanon', 'Harissa, Jeita Grotto', 'Seafood Bar', 0)");
+        v1.setVersion(1);
+        v1.close();
+
+        AppDatabase migrated = Room.databaseBuilder(context, AppDatabase.class, TEST_DB_NAME)
+                .allowMainThreadQueries()  // Test only: keeps the assertions simple
+                .addMigrations(Migrations.ALL)
+                .build();
+        try {
+            HotelDao dao = migrated.hotelDao();
+            assertEquals(1, dao.getHotelCount());
+
+            List<HotelSummary> found = HotelSearch.rank(dao.searchHotelsFts(
+                    HotelSearch.toMatchQuery("jeita"), HotelSearch.MAX_CANDIDATES));
+            assertEquals(1, found.size());
+            assertEquals("Seaside Resort", found.get(0).getName());
+            assertNull(found.get(0).getPhotoUri());
+
+            assertTrue(hasIndex(migrated, "index_hotels_name"));
+            assertTrue(hasIndex(migrated, "index_hotels_location_name"));
+            assertTrue(hasIndex(migrated, "index_hotels_latitude_longitude"));
+            // Migrated hotels have no position until OfflineGeocoder resolves them
+            assertEquals(1, dao.getHotelsWithoutPosition(0, 10).size());
+            // Migrated hotels were created on the device: not synced
+            assertTrue(hasIndex(migrated, "index_hotels_remoteId"));
+            assertNull(dao.getAllHotels().get(0).getRemoteId());
+            assertNull(migrated.syncDao().getState("hotels"));
+            // The existing hotels are the change log's baseline, not changes
+            assertEquals(0, migrated.changeLogDao().getLatestSeq());
+            // The nearby and food text was split into tags
+            Tag grotto = migrated.tagDao().findTag(Tag.KIND_ATTRACTION, "jeita grotto");
+            assertNotNull(grotto);
+            assertEquals("Jeita Grotto", grotto.getName());
+            assertEquals(1, grotto.getHotelCount());
+            assertEquals(1, migrated.tagDao().getTopTags(Tag.KIND_CUISINE, 10).size());
+            List<HotelSummary> tagged = new HotelTagSearch(migrated)
+                    .hotelsWithTags(Collections.singletonList(grotto.getId()), 0, 10);
+            assertEquals("Seaside Resort", tagged.get(0).getName());
+        } finally {
+            migrated.close();
+        }
+    }
+
+    private static boolean hasIndex(AppDatabase database, String indexName) {
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(
+                "SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?",
+                new Object[]{indexName})) {
+            return cursor.moveToFirst();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the database part of a cold start - from a missing database file to the
+ * first list of hotels - with and without the prepackaged asset.
+ *
+ * Results are written to logcat: {@code adb logcat -s PrepackagedDbStartup}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PrepackagedDatabaseStartupTest {
+
+    private static final String TAG = "PrepackagedDbStartup";
+    private static final String TEST_DB_NAME = "startup_test.db";
+    private static final int RUNS = 5;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB_NAME);
+    }
+
+    @Test
+    public void assetIsPackaged() {
+        assertTrue("generateHotelDatabase output missing from the APK",
+                AppDatabase.hasPrepackagedDatabase(context));
+    }
+
+    @Test
+    public void coldStart_withAndWithoutAsset() {
+        assumeTrue(AppDatabase.hasPrepackagedDatabase(context));
+
+        long withAsset = medianColdStartMs(true);
+        long withoutAsset = medianColdStartMs(false);
+
+        Log.i(TAG, "cold start to first rows: with asset=" + withAsset
+                + " ms, without asset=" + withoutAsset + " ms");
+    }
+
+    private long medianColdStartMs(boolean usePrepackaged) {
+        long[] samples = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            context.deleteDatabase(TEST_DB_NAME);
+
+            long start = SystemClock.elapsedRealtime();
+            AppDatabase db = AppDatabase.newBuilder(context, TEST_DB_NAME, usePrepackaged).build();
+            AppDatabase.populateInitialData(db);       // Only a COUNT(*) when the asset was copied
+            int rows = db.hotelDao().getAllHotels().size();
+            samples[run] = SystemClock.elapsedRealtime() - start;
+            db.close();
+
+            assertTrue("No hotels after cold start", rows > 0);
+        }
+        java.util.Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Opens the database through {@link AppDatabase#newBuilder} with a {@link DatabaseConfig}
+ * and checks that every option takes effect: journal mode, pool size, statement timing
+ * into {@link QueryStats} and the query callback.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryInstrumentationTest {
+
+    private static final String TEST_DB_NAME = "instrumentation_test.db";
+
+    private Context context;
+    private AppDatabase database;
+    private final List<String> callbackSql = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB_NAME);
+        QueryStats.getInstance().reset();
+
+        DatabaseConfig config = new DatabaseConfig.Builder()
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .setQueryPoolSize(2)
+                .setInstrumented(true)
+                .setQueryCallback((sql, args) -> {
+                    synchronized (callbackSql) {
+                        callbackSql.add(sql);
+                    }
+                })
+                .build();
+        database = AppDatabase.newBuilder(context, TEST_DB_NAME, false, config).build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB_NAME);
+        // Other tests use the shared executors with their default size
+        DatabaseExecutors.getInstance().setQueryPoolSize(DatabaseExecutors.QUERY_POOL_SIZE);
+    }
+
+    @Test
+    public void config_appliesJournalModeAndPoolSize() {
+        try (Cursor cursor = database.query("PRAGMA journal_mode", null)) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("wal", cursor.getString(0).toLowerCase(Locale.ROOT));
+        }
+        assertEquals(2, DatabaseExecutors.getInstance().getQueryPoolSize());
+    }
+
+    @Test
+    public void daoCalls_areRecordedPerQueryShape() {
+        // The instrumentation thread is not the main thread, so Room allows DAO calls here
+        HotelDao dao = database.hotelDao();
+        long id = dao.insert(new Hotel("Stats Hotel", "+961 1 000000", "www.stats.com",
+                "Beirut, Lebanon", "Corniche", "Cafe", 0));
+        for (int i = 0; i < 20; i++) {
+            dao.getHotelById(id);
+        }
+
+        QueryStats.Entry byId = QueryStats.getInstance().get("SELECT * FROM hotels WHERE id = ?");
+        assertNotNull("getHotelById was not recorded: " + QueryStats.getInstance().snapshot(), byId);
+        assertEquals(20, byId.count);
+        assertTrue(byId.p50Ms > 0);
+        assertTrue(byId.p50Ms <= byId.p95Ms && byId.p95Ms <= byId.p99Ms && byId.p99Ms <= byId.maxMs);
+
+        synchronized (callbackSql) {
+            assertTrue("QueryCallback saw no SELECT: " + callbackSql,
+                    callbackSql.contains("SELECT * FROM hotels WHERE id = ?"));
+        }
+    }
+}
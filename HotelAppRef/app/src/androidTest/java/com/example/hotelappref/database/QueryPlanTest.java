@@ -0,0 +1,228 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.geo.GeoMath;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that every HotelDao read is answered through an index.
+ *
+ * The SQL is not copied into the test: each DAO method is called once and Room's
+ * QueryCallback records the exact statement and arguments it ran. Each recorded SELECT
+ * is then explained, and the test fails if a step scans a table without an index or
+ * sorts in a temporary B-tree.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    /**
+     * A scan of any table, under its name or an alias: "SCAN hotels", "SCAN h" (API 30+)
+     * or "SCAN TABLE hotels AS h" (older SQLite). A scan through an index ends in
+     * "USING (COVERING )?INDEX ...", and a virtual table step (FTS, R*Tree) in "VIRTUAL
+     * TABLE INDEX ...", so neither matches.
+     */
+    private static final Pattern FULL_TABLE_SCAN =
+            Pattern.compile("^SCAN (TABLE )?\\w+( AS \\w+)?$");
+
+    // Around Jounieh
+    private static final GeoMath.Bounds BOX = new GeoMath.Bounds(33.9, 34.1, 35.5, 35.7);
+
+    private AppDatabase database;
+    private HotelDao dao;
+    private final List<RecordedQuery> recorded = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Test only: keeps the assertions simple
+                .setQueryCallback((sql, args) -> {
+                    synchronized (recorded) {
+                        recorded.add(new RecordedQuery(sql, args));
+                    }
+                }, Runnable::run)
+                .addCallback(SpatialIndex.CALLBACK)
+                .build();
+        dao = database.hotelDao();
+        dao.insert(new Hotel("Seaside Resort", "+961 1 234567", "www.seasideresort.com",
+                "Jounieh, Lebanon", "Harissa, Jeita Grotto", "Seafood Bar", 0));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void getAllHotels_usesNameIndex() {
+        assertIndexed(() -> dao.getAllHotels());
+    }
+
+    @Test
+    public void getAllHotelSummaries_usesNameIndex() {
+        assertIndexed(() -> dao.getAllHotelSummaries());
+    }
+
+    @Test
+    public void getHotelSummariesByLocation_usesLocationIndex() {
+        assertIndexed(() -> dao.getHotelSummariesByLocation("Jounieh, Lebanon"));
+    }
+
+    @Test
+    public void getHotelById_usesPrimaryKey() {
+        assertIndexed(() -> dao.getHotelById(1));
+    }
+
+    @Test
+    public void searchHotelsByName_readsInNameOrder() {
+        assertIndexed(() -> dao.searchHotelsByName("Sea"));
+    }
+
+    @Test
+    public void searchHotelsFts_usesFtsIndexAndPrimaryKey() {
+        assertIndexed(() -> dao.searchHotelsFts(
+                HotelSearch.toMatchQuery("sea"), HotelSearch.MAX_CANDIDATES));
+    }
+
+    @Test
+    public void findHotelsInBox_withRTree_readsTheRTree() {
+        Assume.assumeTrue("No rtree module on this device",
+                SpatialIndex.isInstalled(database.getOpenHelper().getReadableDatabase()));
+        assertIndexed(() -> dao.findHotelsInBox(SpatialIndex.boxQuery(true, BOX)));
+    }
+
+    @Test
+    public void findHotelsInBox_withoutRTree_usesPositionIndex() {
+        assertIndexed(() -> dao.findHotelsInBox(SpatialIndex.boxQuery(false, BOX)));
+    }
+
+    @Test
+    public void getHotelsWithoutPosition_usesPositionIndexInIdOrder() {
+        assertIndexed(() -> dao.getHotelsWithoutPosition(0, 10));
+    }
+
+    @Test
+    public void getLocalVersions_usesRemoteIdIndex() {
+        assertIndexed(() -> database.syncDao().getLocalVersions(Arrays.asList("h-1", "h-2")));
+    }
+
+    @Test
+    public void getHotelsByIds_usesPrimaryKey() {
+        assertIndexed(() -> dao.getHotelsByIds(Arrays.asList(1L, 2L, 3L)));
+    }
+
+    @Test
+    public void getChangesSince_readsThePrimaryKeyInOrder() {
+        assertIndexed(() -> database.changeLogDao().getChangesSince(0, 10));
+    }
+
+    @Test
+    public void getTopTags_readsTheCountIndexBackwards() {
+        assertIndexed(() -> database.tagDao().getTopTags(Tag.KIND_CUISINE, 10));
+    }
+
+    @Test
+    public void getTagsOfHotel_usesHotelIdIndex() {
+        assertIndexed(() -> database.tagDao().getTagsOfHotel(1));
+    }
+
+    @Test
+    public void getHotelsWithTags_walksTheDrivingTagInIdOrder() {
+        List<Tag> tags = Arrays.asList(
+                new Tag(1, Tag.KIND_ATTRACTION, "jeita grotto", "Jeita Grotto", 1),
+                new Tag(2, Tag.KIND_CUISINE, "seafood bar", "Seafood Bar", 1));
+        assertIndexed(() -> database.tagDao().getHotelsWithTags(
+                HotelTagSearch.withTagsQuery(tags, 0, 30)));
+    }
+
+    @Test
+    public void keysetPages_searchTheSortIndex() {
+        HotelSummary named = new HotelSummary(7, "Seaside Resort", "Jounieh, Lebanon", 0);
+        HotelSummary unnamed = new HotelSummary(7, null, null, 0);
+        for (HotelKeysetPager.Order order : HotelKeysetPager.Order.values()) {
+            for (HotelSummary after : Arrays.asList(null, named, unnamed)) {
+                for (HotelKeysetPager.Range range : HotelKeysetPager.ranges(order, after)) {
+                    assertIndexed(() -> dao.getHotelSummaries(range.query(30)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getHotelCount_usesCoveringIndex() {
+        assertIndexed(() -> dao.getHotelCount());
+    }
+
+    /** Run the DAO call, then explain every SELECT it issued. */
+    private void assertIndexed(Runnable daoCall) {
+        synchronized (recorded) {
+            recorded.clear();
+        }
+        daoCall.run();
+
+        List<RecordedQuery> selects = new ArrayList<>();
+        synchronized (recorded) {
+            for (RecordedQuery query : recorded) {
+                if (query.sql.trim().toUpperCase(Locale.ROOT).startsWith("SELECT")) {
+                    selects.add(query);
+                }
+            }
+        }
+        assertFalse("The DAO call ran no SELECT", selects.isEmpty());
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getReadableDatabase();
+        for (RecordedQuery query : selects) {
+            for (String step : explain(db, query)) {
+                assertFalse("Full table scan in '" + query.sql + "': " + step,
+                        FULL_TABLE_SCAN.matcher(step).matches());
+                assertFalse("Sort without index in '" + query.sql + "': " + step,
+                        step.contains("TEMP B-TREE"));
+            }
+        }
+    }
+
+    /** The "detail" column of each EXPLAIN QUERY PLAN row. */
+    private static List<String> explain(SupportSQLiteDatabase db, RecordedQuery query) {
+        List<String> steps = new ArrayList<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + query.sql, query.args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                steps.add(cursor.getString(detail));
+            }
+        }
+        return steps;
+    }
+
+    private static final class RecordedQuery {
+        final String sql;
+        final Object[] args;
+
+        RecordedQuery(String sql, List<?> args) {
+            this.sql = sql;
+            this.args = args.toArray();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hotelappref.benchmark;
+
+import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.models.Hotel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic hotel rows shared by the benchmarks: the :benchmark module and the JVM
+ * variants in app/src/test both compile this directory.
+ *
+ * WHY deterministic? The same rows on every run keep results comparable between runs
+ * and devices.
+ */
+public final class HotelFixtures {
+
+    /** Words mixed into names, so LIKE and FTS searches match a realistic fraction. */
+    public static final String[] SEARCH_TERMS = {"Seaside", "Grotto", "Plaza", "Rooftop", "Cedars"};
+
+    private static final int CHUNK_SIZE = 500;
+
+    private HotelFixtures() {
+    }
+
+    public static Hotel hotel(int i) {
+        String term = SEARCH_TERMS[i % SEARCH_TERMS.length];
+        return new Hotel(
+                term + " Hotel " + i,
+                "+961 1 " + i,
+                "www.hotel" + i + ".com",
+                "Beirut " + (i % 50) + ", Lebanon",
+                "Corniche, Pigeon Rocks, " + term + " Walk",
+                "Lebanese Cuisine, " + term + " Cafe",
+                0);
+    }
+
+    /** Insert {@code rows} hotels, one transaction per chunk. */
+    public static void fill(HotelDao dao, int rows) {
+        List<Hotel> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(hotel(i));
+            if (chunk.size() == CHUNK_SIZE) {
+                dao.importChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            dao.importChunk(chunk);
+        }
+    }
+}
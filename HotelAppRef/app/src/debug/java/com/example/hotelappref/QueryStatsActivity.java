@@ -0,0 +1,59 @@
+package com.example.hotelappref;
+
+import android.os.Bundle;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.hotelappref.database.QueryStats;
+import com.example.hotelappref.databinding.ActivityQueryStatsBinding;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Debug screen listing SQL latency per query shape (p50/p95/p99/max).
+ *
+ * Open it by long-pressing the title on the main screen. Use the app for a while (scroll,
+ * search, add hotels), then tap Refresh: the shapes at the top cost the most time
+ * overall, and a high p99 next to a low p50 points at a query that is only sometimes slow.
+ */
+public class QueryStatsActivity extends AppCompatActivity {
+
+    private ActivityQueryStatsBinding binding;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityQueryStatsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.refreshButton.setOnClickListener(v -> showStats());
+        binding.resetButton.setOnClickListener(v -> {
+            QueryStats.getInstance().reset();
+            showStats();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showStats();
+    }
+
+    private void showStats() {
+        List<QueryStats.Entry> entries = QueryStats.getInstance().snapshot();
+        if (entries.isEmpty()) {
+            binding.statsText.setText(R.string.query_stats_empty);
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (QueryStats.Entry entry : entries) {
+            text.append(String.format(Locale.ROOT,
+                    "n=%d  total=%.1fms\np50=%.2f  p95=%.2f  p99=%.2f  max=%.2f ms\n",
+                    entry.count, entry.totalMs(),
+                    entry.p50Ms, entry.p95Ms, entry.p99Ms, entry.maxMs));
+            text.append(entry.shape).append("\n\n");
+        }
+        binding.statsText.setText(text);
+    }
+}
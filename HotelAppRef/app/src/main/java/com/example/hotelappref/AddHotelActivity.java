@@ -1,15 +1,19 @@
 package com.example.hotelappref;
 
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.hotelappref.database.AppDatabase;
-import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.database.HotelRepository;
 import com.example.hotelappref.databinding.ActivityAddHotelBinding;
+import com.example.hotelappref.images.ImageLoader;
 import com.example.hotelappref.models.Hotel;
 
 /**
@@ -20,25 +24,43 @@ import com.example.hotelappref.models.Hotel;
  * - ViewBinding: Access form fields type-safely
  * - Room Database: Persist hotel to database
  * - Activity results: Signal success/failure to calling activity
+ * - Photo picker: the chosen photo is stored as a content:// URI, not copied
  *
  * WHY? This pattern is common in Android apps: a detail/form screen that
  * collects user input, validates it, and saves to persistent storage.
  */
 public class AddHotelActivity extends AppCompatActivity {
 
+    // Saved instance state key for the chosen photo
+    private static final String STATE_PHOTO_URI = "photo_uri";
+
     private ActivityAddHotelBinding binding;
-    private HotelDao hotelDao;
+    private HotelRepository repository;
+    private ImageLoader imageLoader;
+    private String photoUri;  // Null until the user picks a photo
+
+    /**
+     * WHY OpenDocument instead of GetContent? Its URIs can be kept readable across
+     * restarts (takePersistableUriPermission), which we need because the hotel stores
+     * the URI and loads it again every time the list shows it.
+     */
+    private final ActivityResultLauncher<String[]> pickPhoto = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::onPhotoPicked);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         binding = ActivityAddHotelBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
+        imageLoader = ImageLoader.getInstance(this);
+        if (savedInstanceState != null) {
+            photoUri = savedInstanceState.getString(STATE_PHOTO_URI);
+            showPhoto();
+        }
 
         // Initialize database
         // WHY? We need to save the new hotel to persistent storage
-        AppDatabase database = AppDatabase.getInstance(this);
-        hotelDao = database.hotelDao();
+        repository = HotelRepository.getInstance(this);
 
         // Setup ActionBar with back button
         // WHY setDisplayHomeAsUpEnabled? Shows "<-" arrow to navigate back to parent activity
@@ -55,6 +77,9 @@ public class AddHotelActivity extends AppCompatActivity {
         // Save button
         binding.btnSave.setOnClickListener(v -> saveHotel());
 
+        // Photo button - opens the system document picker
+        binding.btnChoosePhoto.setOnClickListener(v -> pickPhoto.launch(new String[]{"image/*"}));
+
         // Cancel button
         binding.btnCancel.setOnClickListener(v -> {
             setResult(RESULT_CANCELED);
@@ -62,6 +87,31 @@ public class AddHotelActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putString(STATE_PHOTO_URI, photoUri);
+    }
+
+    private void onPhotoPicked(Uri uri) {
+        if (uri == null) {
+            return;  // The user backed out of the picker
+        }
+        try {
+            getContentResolver().takePersistableUriPermission(
+                    uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            // The provider doesn't offer persistable grants; the photo still shows until
+            // the app restarts
+        }
+        photoUri = uri.toString();
+        showPhoto();
+    }
+
+    private void showPhoto() {
+        imageLoader.load(photoUri, binding.photoPreview, R.mipmap.ic_launcher);
+    }
+
     /**
      * Save the new hotel to the database.
      *
@@ -126,24 +176,42 @@ public class AddHotelActivity extends AppCompatActivity {
                 location,
                 nearby,
                 food,
-                R.mipmap.ic_launcher  // Using app's default launcher icon
+                0  // No image: Hotel.getDisplayImageResource() shows the default icon
         );
+        newHotel.setPhotoUri(photoUri);
+
+        // Disable the button so a double tap can't insert the hotel twice
+        binding.btnSave.setEnabled(false);
 
         // Save to database
         // WHY insert()? Room's DAO method adds the hotel to SQLite database
         // The @Insert annotation in HotelDao generated this method
-        hotelDao.insert(newHotel);
-
-        // Signal success to calling activity (MainActivity)
-        // WHY setResult? Tells MainActivity the operation succeeded
-        setResult(RESULT_OK);
-
-        // Show success feedback to user
-        // WHY Toast? Provides quick, non-intrusive feedback
-        Toast.makeText(this, "Hotel added successfully!", Toast.LENGTH_SHORT).show();
-
-        // Close this activity and return to MainActivity
-        finish();
+        // WHY through the repository? The INSERT runs on a background thread; the callback
+        // comes back on the main thread once the row is written
+        repository.insert(newHotel, new HotelRepository.Callback<Long>() {
+            @Override
+            public void onResult(Long id) {
+                // Signal success to calling activity (MainActivity)
+                // WHY setResult? Tells MainActivity the operation succeeded
+                setResult(RESULT_OK);
+
+                // Show success feedback to user
+                // WHY Toast? Provides quick, non-intrusive feedback
+                Toast.makeText(AddHotelActivity.this, "Hotel added successfully!",
+                        Toast.LENGTH_SHORT).show();
+
+                // Close this activity and return to MainActivity
+                finish();
+            }
+
+            @Override
+            public void onError(Exception error) {
+                // Keep the form so nothing typed is lost, and let the user try again
+                Toast.makeText(AddHotelActivity.this, "Could not save the hotel",
+                        Toast.LENGTH_SHORT).show();
+                binding.btnSave.setEnabled(true);
+            }
+        });
     }
 
     @Override
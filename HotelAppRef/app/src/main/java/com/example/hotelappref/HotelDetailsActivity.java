@@ -1,25 +1,95 @@
 package com.example.hotelappref;
 
 import android.Manifest;
+import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
 import android.widget.Toast;
 
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.core.os.BundleCompat;
 
+import com.example.hotelappref.database.HotelRepository;
 import com.example.hotelappref.databinding.ActivityHotelDetailsBinding;
+import com.example.hotelappref.databinding.HotelDetailsExtrasBinding;
+import com.example.hotelappref.images.ImageLoader;
 import com.example.hotelappref.models.Hotel;
 
+/**
+ * HotelDetailsActivity - everything about one hotel.
+ *
+ * RENDERING ORDER: the screen draws what the user looks at first, as early as possible.
+ * 1. Critical fields (photo, name, phone, website, location) are bound as soon as the
+ *    hotel is known - on the first frame when it's cached.
+ * 2. The long Nearby and Food sections live in a ViewStub; they're inflated and bound
+ *    right after the first frame, then reportFullyDrawn() is called.
+ *
+ * PREFETCH: {@link #prefetch} is called when a finger touches a hotel row. It loads the
+ * full row into HotelCache and decodes the header photo, so both are usually ready when
+ * the tap completes and this screen starts.
+ *
+ * LATENCY: with {@link #EXTRA_TAP_UPTIME} the screen logs the time from the tap to the
+ * first frame with content (tag "HotelDetails").
+ */
 public class HotelDetailsActivity extends AppCompatActivity {
 
+    /** Intent extra (long): id of the hotel to show. */
+    public static final String EXTRA_HOTEL_ID = "hotel_id";
+
+    /** Intent extra (long, optional): SystemClock.uptimeMillis() of the tap that opened the screen. */
+    public static final String EXTRA_TAP_UPTIME = "tap_uptime";
+
+    private static final String TAG = "HotelDetails";
+
+    // Saved instance state key for the displayed hotel
+    private static final String STATE_HOTEL = "hotel";
+
     private ActivityHotelDetailsBinding binding;
+    private HotelDetailsExtrasBinding extras;  // Null until inflated after the first frame
+    private boolean extrasScheduled;
     private Hotel hotel;
+    private long tapUptime;  // 0 once reported, or if the screen wasn't opened by a tap
+    private boolean hotelWasCached;  // The first frame didn't wait for the database
     private static final int CALL_PERMISSION_REQUEST_CODE = 1;
 
+    /**
+     * Start loading what this screen needs for a hotel, before it's opened.
+     * Safe to call on every touch; repeated calls for the same hotel are cheap.
+     */
+    @MainThread
+    public static void prefetch(Context context, long hotelId, String photoUri) {
+        HotelRepository.getInstance(context).prefetchHotel(hotelId);
+        ImageLoader.getInstance(context).prefetch(photoUri, heroWidth(context), heroHeight(context));
+    }
+
+    /**
+     * The touch didn't become a tap (e.g. it started a scroll): stop decoding the photo.
+     * The hotel row itself stays cached; it was cheap to load.
+     */
+    @MainThread
+    public static void cancelPrefetch(Context context, String photoUri) {
+        ImageLoader.getInstance(context).cancelPrefetch(photoUri, heroWidth(context), heroHeight(context));
+    }
+
+    // The size ImageLoader decodes the header at before layout (see ImageLoader.targetWidth)
+    private static int heroWidth(Context context) {
+        return context.getResources().getDisplayMetrics().widthPixels;
+    }
+
+    private static int heroHeight(Context context) {
+        return context.getResources().getDimensionPixelSize(R.dimen.hotel_hero_image_height);
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -32,23 +102,159 @@ public class HotelDetailsActivity extends AppCompatActivity {
             getSupportActionBar().setTitle("Hotel Details");
         }
 
-        // Get hotel data from intent
-        hotel = (Hotel) getIntent().getSerializableExtra("hotel");
+        // Get the hotel id from the intent
+        // WHY an id instead of the whole Hotel? See HotelViewHolder: the row is resolved
+        // through HotelCache, which usually answers from memory
+        long hotelId = getIntent().getLongExtra(EXTRA_HOTEL_ID, -1);
+        if (hotelId < 0) {
+            finish();
+            return;
+        }
+        // Only the first launch was a tap; not a re-creation after rotation
+        tapUptime = savedInstanceState == null ? getIntent().getLongExtra(EXTRA_TAP_UPTIME, 0) : 0;
 
+        // Buttons need the hotel; keep them disabled until it's loaded
+        setButtonsEnabled(false);
+
+        HotelRepository repository = HotelRepository.getInstance(this);
+        // WHY check savedInstanceState? After rotation or process death the hotel comes
+        // back from the Bundle (Parcelable), so no lookup is needed at all
+        Hotel restored = savedInstanceState != null
+                ? BundleCompat.getParcelable(savedInstanceState, STATE_HOTEL, Hotel.class)
+                : null;
+        Hotel known = restored != null ? restored : repository.getCachedHotel(hotelId);
+        hotelWasCached = known != null;
+        if (known != null) {
+            // Cache hit: draw the first frame right away
+            onHotelChanged(known);
+        }
+        setupButtons();
+
+        // Load the hotel (on a miss) and keep the screen in sync with the database
+        // WHY one LiveData for both? It's the only read: on a miss it loads the hotel once;
+        // after that it re-reads it only if it's edited or deleted while this screen is open
+        repository.observeHotelById(hotelId, known).observe(this, updated -> {
+            // The known hotel comes back first; it's drawn already
+            if (updated != hotel || updated == null) {
+                onHotelChanged(updated);
+            }
+        });
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
         if (hotel != null) {
-            displayHotelDetails();
-            setupButtons();
+            outState.putParcelable(STATE_HOTEL, hotel);
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Don't keep decoding (and holding this screen's views) for a closed screen
+        if (binding != null) {
+            ImageLoader.getInstance(this).cancel(binding.hotelDetailImage);
         }
     }
 
+    private void onHotelChanged(Hotel updated) {
+        if (updated == null) {
+            // The hotel was deleted while we were looking at it
+            finish();
+            return;
+        }
+        hotel = updated;
+        displayHotelDetails();
+        setButtonsEnabled(true);
+        reportTapToContent();
+    }
+
+    private void setButtonsEnabled(boolean enabled) {
+        binding.phoneButton.setEnabled(enabled);
+        binding.websiteButton.setEnabled(enabled);
+        binding.locationButton.setEnabled(enabled);
+    }
+
     private void displayHotelDetails() {
+        // Critical fields: what's on screen when the details open
         binding.hotelDetailName.setText(hotel.getName());
-        binding.hotelDetailImage.setImageResource(hotel.getImageResource());
+        // Decoded off the main thread at the header's size; usually prefetched on touch
+        ImageLoader.getInstance(this).load(hotel.getPhotoUri(), binding.hotelDetailImage,
+                hotel.getDisplayImageResource());
         binding.phoneText.setText(hotel.getPhone());
         binding.websiteText.setText(hotel.getWebsite());
         binding.locationText.setText(hotel.getLocation());
-        binding.nearbyText.setText(hotel.getNearby());
-        binding.foodText.setText(hotel.getFood());
+
+        if (extras != null) {
+            bindExtras();
+        } else {
+            bindExtrasAfterFirstFrame();
+        }
+    }
+
+    /**
+     * Inflate and bind the Nearby and Food sections once the first frame is drawn.
+     *
+     * WHY later? They're below the fold on most phones, and their long, multi-line texts
+     * are the most expensive views of the screen to inflate, measure and lay out. Doing
+     * them first would delay the part the user actually looks at.
+     */
+    private void bindExtrasAfterFirstFrame() {
+        if (extrasScheduled) {
+            return;
+        }
+        extrasScheduled = true;
+        runAfterNextFrame(() -> {
+            if (isDestroyed()) {
+                return;
+            }
+            extras = HotelDetailsExtrasBinding.bind(binding.extrasStub.inflate());
+            bindExtras();
+            reportFullyDrawn();
+        });
+    }
+
+    private void bindExtras() {
+        extras.nearbyText.setText(hotel.getNearby());
+        extras.foodText.setText(hotel.getFood());
+    }
+
+    /** Log tap-to-content: from the tap on the row to the first frame showing the hotel. */
+    private void reportTapToContent() {
+        if (tapUptime == 0) {
+            return;
+        }
+        final long tap = tapUptime;
+        tapUptime = 0;
+        // No pending request: the photo (or the placeholder, if there's none) is already set
+        final boolean photoReady = binding.hotelDetailImage.getTag(R.id.image_request) == null;
+        runOnNextFrame(() -> Log.i(TAG, "Tap to content: " + (SystemClock.uptimeMillis() - tap)
+                + " ms (hotel cached: " + hotelWasCached + ", photo ready: " + photoReady + ")"));
+    }
+
+    /**
+     * Run the action while the next frame is about to be drawn (its views are laid out).
+     */
+    private void runOnNextFrame(Runnable action) {
+        View root = binding.getRoot();
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                root.getViewTreeObserver().removeOnPreDrawListener(this);
+                action.run();
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Run the action right after the next frame was drawn.
+     * WHY post from onPreDraw? The posted message is queued behind the draw that is
+     * about to happen, so it runs once the frame is out.
+     */
+    private void runAfterNextFrame(Runnable action) {
+        runOnNextFrame(() -> binding.getRoot().post(action));
     }
 
     private void setupButtons() {
@@ -84,7 +290,11 @@ public class HotelDetailsActivity extends AppCompatActivity {
 
         // Location button - Opens maps
         binding.locationButton.setOnClickListener(v -> {
-            Uri gmmIntentUri = Uri.parse("geo:0,0?q=" + Uri.encode(hotel.getLocation()));
+            // The geocoded position when known: the text alone may be ambiguous to Maps
+            String query = hotel.hasPosition()
+                    ? hotel.getLatitude() + "," + hotel.getLongitude()
+                    : hotel.getLocation();
+            Uri gmmIntentUri = Uri.parse("geo:0,0?q=" + Uri.encode(query));
             Intent mapIntent = new Intent(Intent.ACTION_VIEW, gmmIntentUri);
             mapIntent.setPackage("com.google.android.apps.maps");
 
@@ -93,7 +303,7 @@ public class HotelDetailsActivity extends AppCompatActivity {
             } else {
                 // Open in browser if Maps not available
                 Intent intent = new Intent(Intent.ACTION_VIEW);
-                intent.setData(Uri.parse("https://maps.google.com/?q=" + Uri.encode(hotel.getLocation())));
+                intent.setData(Uri.parse("https://maps.google.com/?q=" + Uri.encode(query)));
                 
                 if (intent.resolveActivity(getPackageManager()) != null) {
                     startActivity(intent);
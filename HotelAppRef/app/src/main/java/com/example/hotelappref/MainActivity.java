@@ -2,27 +2,48 @@ package com.example.hotelappref;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
+import androidx.paging.PagingLiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hotelappref.adapters.HotelAdapter;
-import com.example.hotelappref.database.AppDatabase;
-import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.adapters.HotelPagingAdapter;
+import com.example.hotelappref.adapters.HotelRowInflater;
+import com.example.hotelappref.database.HotelRepository;
 import com.example.hotelappref.databinding.ActivityMainBinding;
-import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.images.ImageLoader;
+import com.example.hotelappref.images.ImagePreloader;
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.search.HotelSearchPipeline;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+
 /**
  * MainActivity - The main screen displaying the list of hotels.
  *
  * KEY CONCEPTS:
  * - ViewBinding: Type-safe way to access views (no findViewById!)
  * - RecyclerView: Efficient list display with ViewHolder pattern
+ * - Paging: Only the visible part of the hotel list is loaded into memory
+ * - Search-as-you-type: Debounced, cancellable full-text search (HotelSearchPipeline)
+ * - Deferred startup: the database is opened and seeded by DatabaseInitializer on a
+ *   background thread; a placeholder is shown until the first page arrives
  * - Room Database: Persistent storage for hotel data
  * - ActivityResultLauncher: Modern way to handle activity results (replaces startActivityForResult)
  *
@@ -31,37 +52,51 @@ import java.util.List;
  */
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+
+    // Debug builds only (src/debug)
+    private static final String QUERY_STATS_ACTIVITY = "com.example.hotelappref.QueryStatsActivity";
+
+    // Rows past the visible window whose photos are decoded ahead of time
+    private static final int IMAGE_PRELOAD_ROWS = 6;
+
     private ActivityMainBinding binding;
-    private HotelAdapter adapter;
-    private List<Hotel> hotelList;
+    private HotelPagingAdapter adapter;
+    private HotelRowInflater rowInflater;
+
+    // Search results are shown with a separate, diffing adapter
+    private HotelAdapter searchAdapter;
+    private HotelSearchPipeline searchPipeline;
 
-    // Room Database components
-    private AppDatabase database;
-    private HotelDao hotelDao;
+    // Data layer - all database work happens on background threads inside the repository
+    private HotelRepository repository;
 
     // Activity Result Launcher for Add Hotel
     private ActivityResultLauncher<Intent> addHotelLauncher;
 
+    // Startup timing, see reportInitialDisplay() and reportFullDisplay()
+    private long createdAtMs;
+    private boolean fullyDrawnReported;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtMs = SystemClock.uptimeMillis();
 
         // WHY ViewBinding? Type-safe access to views, eliminates findViewById and NullPointerException
         binding = ActivityMainBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
+        reportInitialDisplay();
 
         // Setup ActionBar
         if (getSupportActionBar() != null) {
             getSupportActionBar().setTitle("Hotels in Lebanon");
         }
 
-        // Initialize Room Database
-        // WHY? We need persistent storage so data survives app restarts
-        database = AppDatabase.getInstance(this);
-        hotelDao = database.hotelDao();
-
-        // Populate initial data if database is empty
-        AppDatabase.populateInitialData(this);
+        // Initialize the repository (wraps the Room database)
+        // WHY? We need persistent storage so data survives app restarts, and the repository
+        // makes sure no query runs on the UI thread
+        repository = HotelRepository.getInstance(this);
 
         // Initialize Activity Result Launcher
         initializeAddHotelLauncher();
@@ -71,13 +106,48 @@ public class MainActivity extends AppCompatActivity {
         binding.recyclerView.setLayoutManager(new LinearLayoutManager(this));
         binding.recyclerView.setHasFixedSize(true);  // Performance optimization
 
-        // Load hotels from database
-        loadHotelsFromDatabase();
+        // Inflate a screenful of rows in the background while the first page loads,
+        // and let the pool keep that many (see HotelRowInflater)
+        int rowsPerScreen = HotelRowInflater.rowsPerScreen(this);
+        rowInflater = new HotelRowInflater(this);
+        rowInflater.preInflate(binding.recyclerView, rowsPerScreen);
+        HotelRowInflater.sizePool(binding.recyclerView, rowsPerScreen);
 
         // Setup adapter
-        // WHY adapter? Bridges data (hotelList) with UI (RecyclerView)
-        adapter = new HotelAdapter(this, hotelList);
+        // WHY adapter? Bridges data (pages of hotels) with UI (RecyclerView)
+        adapter = new HotelPagingAdapter(rowInflater);
         binding.recyclerView.setAdapter(adapter);
+        showListWhenFirstPageArrives();
+
+        // Decode the photos of the next rows before they scroll in
+        int rowImageSize = getResources().getDimensionPixelSize(R.dimen.hotel_row_image_size);
+        binding.recyclerView.addOnScrollListener(new ImagePreloader(
+                ImageLoader.getInstance(this), rowImageSize, rowImageSize, IMAGE_PRELOAD_ROWS));
+
+        // Load hotels page by page
+        // WHY observe? Room's PagingSource invalidates itself when the hotels table changes,
+        // so seeding and new hotels show up without reloading by hand
+        int pageSize = getResources().getInteger(R.integer.hotel_page_size);
+        int prefetchDistance = getResources().getInteger(R.integer.hotel_prefetch_distance);
+        PagingLiveData.cachedIn(repository.getPagedHotels(pageSize, prefetchDistance), getLifecycle())
+                .observe(this, pagingData -> adapter.submitData(getLifecycle(), pagingData));
+
+        // No seeding here: DatabaseInitializer (App Startup) opened and seeded the database
+        // on a background thread when the process started. The PagingSource picks the
+        // rows up as soon as they're committed.
+
+        // Setup search bar
+        setupSearch();
+
+        // Debug: long-press the title to see SQL latency per query (see QueryStatsActivity)
+        // WHY by name? The screen is in the debug source set; release builds don't have it
+        Intent queryStats = new Intent().setClassName(this, QUERY_STATS_ACTIVITY);
+        if (queryStats.resolveActivity(getPackageManager()) != null) {
+            binding.titleText.setOnLongClickListener(v -> {
+                startActivity(queryStats);
+                return true;
+            });
+        }
 
         // Setup FAB (Floating Action Button) click listener
         // WHY FAB? Material Design pattern for primary action (adding hotels)
@@ -87,50 +157,168 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchPipeline.release();
+    }
+
     /**
-     * Initialize the Activity Result Launcher for handling results from AddHotelActivity.
+     * Switch between the paged list and search results.
+     * WHY swapAdapter instead of setAdapter? setAdapter empties the RecycledViewPool, so
+     * every row would be inflated again. Both adapters create the same HotelViewHolder,
+     * so swapAdapter can recycle the visible rows into the pool and the other adapter
+     * reuses them.
+     */
+    private void swapAdapter(RecyclerView.Adapter<?> newAdapter) {
+        binding.recyclerView.swapAdapter(newAdapter, true);
+    }
+
+    /**
+     * Keep the placeholder up until the first page of hotels is in the adapter, then
+     * swap in the list and report full display once it has drawn.
      *
-     * WHY ActivityResultLauncher? Modern replacement for startActivityForResult (deprecated).
-     * Provides type-safe contracts and clearer code structure.
+     * WHY a load state listener instead of hiding it right away? Until the database is
+     * open and seeded the adapter is empty; an empty list for a few frames looks like
+     * "no hotels". The first load finishing (even with no rows, or with an error) is
+     * the moment the list is final, so an empty table doesn't keep the placeholder up.
+     *
+     * WHY wait for Loading first? Before the first load starts, refresh already reads
+     * NotLoading.
      */
-    private void initializeAddHotelLauncher() {
-        addHotelLauncher = registerForActivityResult(
-                new ActivityResultContracts.StartActivityForResult(),
-                result -> {
-                    if (result.getResultCode() == RESULT_OK) {
-                        // Hotel was added to database by AddHotelActivity
-                        // Reload the list from database to show the new hotel
-                        loadHotelsFromDatabase();
-                        adapter.notifyDataSetChanged();
-
-                        // Scroll to the last (newest) item
-                        if (hotelList.size() > 0) {
-                            binding.recyclerView.smoothScrollToPosition(hotelList.size() - 1);
-                        }
-                    }
+    private void showListWhenFirstPageArrives() {
+        adapter.addLoadStateListener(new Function1<CombinedLoadStates, Unit>() {
+            private boolean loading;
+
+            @Override
+            public Unit invoke(CombinedLoadStates loadStates) {
+                if (loadStates.getRefresh() instanceof LoadState.Loading) {
+                    loading = true;
+                } else if (loading) {
+                    adapter.removeLoadStateListener(this);
+                    showList();
                 }
-        );
+                return Unit.INSTANCE;
+            }
+        });
+    }
+
+    private void showList() {
+        binding.loadingPlaceholder.setVisibility(View.GONE);
+        binding.recyclerView.setVisibility(View.VISIBLE);
+        reportFullDisplay();
+    }
+
+    /**
+     * Log time-to-initial-display: the first frame (with the placeholder).
+     * The system logs the same moment as "Displayed ...MainActivity" in logcat.
+     */
+    private void reportInitialDisplay() {
+        View root = binding.getRoot();
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                root.getViewTreeObserver().removeOnPreDrawListener(this);
+                logStartup("Initial display");
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Call reportFullyDrawn() when the first page of hotels (or the empty list) is drawn.
+     *
+     * WHY? It marks time-to-full-display: logcat prints "Fully drawn ...MainActivity",
+     * and Macrobenchmark's StartupTimingMetric reports it as timeToFullDisplayMs.
+     */
+    private void reportFullDisplay() {
+        if (fullyDrawnReported) {
+            return;
+        }
+        fullyDrawnReported = true;
+        binding.recyclerView.getViewTreeObserver().addOnPreDrawListener(
+                new ViewTreeObserver.OnPreDrawListener() {
+                    @Override
+                    public boolean onPreDraw() {
+                        binding.recyclerView.getViewTreeObserver().removeOnPreDrawListener(this);
+                        reportFullyDrawn();
+                        logStartup("Full display");
+                        return true;
+                    }
+                });
+    }
+
+    private void logStartup(String milestone) {
+        long now = SystemClock.uptimeMillis();
+        // Process.getStartUptimeMillis() only means "cold start" the first time around
+        Log.i(TAG, milestone + ": " + (now - createdAtMs) + " ms after onCreate, "
+                + (now - Process.getStartUptimeMillis()) + " ms after process start");
     }
 
     /**
-     * Load all hotels from the Room database into the hotelList.
+     * Wire the search box to the search pipeline.
      *
-     * WHY? Separates data loading from UI setup. Makes code more maintainable.
-     * In production, you'd do this on a background thread using ExecutorService or Coroutines.
+     * WHY a pipeline instead of querying in onTextChanged? See HotelSearchPipeline: it
+     * debounces keystrokes, cancels stale queries and caches recent results, so typing
+     * never queues up work on the database or the UI thread.
      */
-    private void loadHotelsFromDatabase() {
-        // Query database for all hotels
-        hotelList = new ArrayList<>(hotelDao.getAllHotels());
+    private void setupSearch() {
+        searchAdapter = new HotelAdapter(rowInflater);
+        searchPipeline = new HotelSearchPipeline(repository, new HotelSearchPipeline.Listener() {
+            @Override
+            public void onResults(String query, List<HotelSummary> hotels) {
+                // Swap to the search adapter the first time results arrive
+                if (binding.recyclerView.getAdapter() != searchAdapter) {
+                    swapAdapter(searchAdapter);
+                    showList();  // In case the user searched before the first page arrived
+                }
+                // WHY submitList? The diff is computed off the main thread and only the
+                // changed rows are rebound
+                searchAdapter.submitList(hotels);
+            }
+
+            @Override
+            public void onCleared() {
+                searchAdapter.submitList(null);
+                swapAdapter(adapter);
+            }
+        });
+
+        binding.searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchPipeline.onQueryChanged(s.toString());
+            }
+        });
     }
 
     /**
-     * Refresh the hotel list from database and update the UI.
-     * Call this whenever hotels are added, updated, or deleted.
+     * Initialize the Activity Result Launcher for handling results from AddHotelActivity.
      *
-     * WHY separate method? Enables easy data refresh from anywhere in the activity.
+     * WHY ActivityResultLauncher? Modern replacement for startActivityForResult (deprecated).
+     * Provides type-safe contracts and clearer code structure.
      */
-    private void refreshHotelList() {
-        loadHotelsFromDatabase();
-        adapter.notifyDataSetChanged();
+    private void initializeAddHotelLauncher() {
+        addHotelLauncher = registerForActivityResult(
+                new ActivityResultContracts.StartActivityForResult(),
+                result -> {
+                    // RESULT_OK means AddHotelActivity inserted a hotel. No manual reload:
+                    // the insert invalidated Room's PagingSource, and Paging diffs the
+                    // new page into the list by itself. Only clear a search, which
+                    // may hide the new hotel, so the full list it was added to shows.
+                    if (result.getResultCode() == RESULT_OK
+                            && binding.searchInput.getText().length() > 0) {
+                        binding.searchInput.setText("");
+                    }
+                }
+        );
     }
 }
@@ -1,71 +1,78 @@
 package com.example.hotelappref.adapters;
 
-import android.content.Context;
-import android.content.Intent;
-import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.RecyclerView;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.ListAdapter;
 
-import com.example.hotelappref.HotelDetailsActivity;
 import com.example.hotelappref.databinding.HotelItemBinding;
-import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.images.ImagePreloader;
+import com.example.hotelappref.models.HotelSummary;
 
-import java.util.List;
+/**
+ * Adapter for a plain (non-paged) list of hotels.
+ *
+ * WHY ListAdapter? With a plain RecyclerView.Adapter every change means
+ * notifyDataSetChanged(), which rebinds every visible row and drops the item animations.
+ * ListAdapter keeps an AsyncListDiffer: call {@link #submitList} with the new list and
+ * it computes the difference on a background thread, then dispatches only the minimal
+ * notifyItemInserted/Removed/Changed/Moved calls on the main thread.
+ *
+ * WHY stable ids? Every row has a unique database id. With stable ids RecyclerView can
+ * keep a row's ViewHolder (and its already-bound views and decoded photo) when the row
+ * just moves, e.g. after a search result list is re-ranked.
+ */
+public class HotelAdapter extends ListAdapter<HotelSummary, HotelViewHolder>
+        implements ImagePreloader.Source {
 
-public class HotelAdapter extends RecyclerView.Adapter<HotelAdapter.HotelViewHolder> {
+    @Nullable
+    private final HotelRowInflater rowInflater;
 
-    private final Context context;
-    private final List<Hotel> hotelList;
+    public HotelAdapter() {
+        this(null);
+    }
+
+    /**
+     * @param rowInflater Source of pre-inflated rows, or null to inflate each row when
+     *                    it's created
+     */
+    public HotelAdapter(@Nullable HotelRowInflater rowInflater) {
+        // WHY AsyncDifferConfig? It makes explicit that diffs run off the main thread
+        // (on the differ's shared background executor), keyed by HotelDiffCallback
+        super(new AsyncDifferConfig.Builder<>(new HotelDiffCallback()).build());
+        setHasStableIds(true);
+        this.rowInflater = rowInflater;
+    }
 
-    public HotelAdapter(Context context, List<Hotel> hotelList) {
-        this.context = context;
-        this.hotelList = hotelList;
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
     @NonNull
     @Override
     public HotelViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        HotelItemBinding binding = HotelItemBinding.inflate(
-                LayoutInflater.from(parent.getContext()), 
-                parent, 
-                false
-        );
+        HotelItemBinding binding = rowInflater != null
+                ? rowInflater.obtain(parent)
+                : HotelRowInflater.inflate(parent);
         return new HotelViewHolder(binding);
     }
 
     @Override
     public void onBindViewHolder(@NonNull HotelViewHolder holder, int position) {
-        Hotel hotel = hotelList.get(position);
+        HotelSummary hotel = getItem(position);
         holder.bind(hotel);
     }
 
     @Override
-    public int getItemCount() {
-        return hotelList != null ? hotelList.size() : 0;
+    public void onViewRecycled(@NonNull HotelViewHolder holder) {
+        holder.recycle();
     }
 
-    class HotelViewHolder extends RecyclerView.ViewHolder {
-        private final HotelItemBinding binding;
-
-        public HotelViewHolder(HotelItemBinding binding) {
-            super(binding.getRoot());
-            this.binding = binding;
-        }
-
-        public void bind(final Hotel hotel) {
-            // Set hotel data
-            binding.hotelName.setText(hotel.getName());
-            binding.hotelLocation.setText(hotel.getLocation());
-            binding.hotelImage.setImageResource(hotel.getImageResource());
-
-            // Set click listener for the entire card
-            binding.getRoot().setOnClickListener(v -> {
-                Intent intent = new Intent(context, HotelDetailsActivity.class);
-                intent.putExtra("hotel", hotel);
-                context.startActivity(intent);
-            });
-        }
+    @Override
+    public String getPhotoUri(int position) {
+        return getItem(position).getPhotoUri();
     }
 }
@@ -0,0 +1,29 @@
+package com.example.hotelappref.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.hotelappref.models.HotelSummary;
+
+/**
+ * Tells RecyclerView how to compare two hotels when the list changes.
+ *
+ * WHY? Adapters built on DiffUtil (PagingDataAdapter, ListAdapter) only rebind rows
+ * whose content actually changed instead of redrawing the whole list.
+ *
+ * - areItemsTheSame: same database row? (compare primary keys)
+ * - areContentsTheSame: does the row look the same? HotelSummary.equals compares every
+ *   field it holds - only what a row shows, photo included.
+ */
+public class HotelDiffCallback extends DiffUtil.ItemCallback<HotelSummary> {
+
+    @Override
+    public boolean areItemsTheSame(@NonNull HotelSummary oldItem, @NonNull HotelSummary newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull HotelSummary oldItem, @NonNull HotelSummary newItem) {
+        return oldItem.equals(newItem);
+    }
+}
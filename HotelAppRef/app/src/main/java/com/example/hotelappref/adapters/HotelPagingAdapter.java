@@ -0,0 +1,75 @@
+package com.example.hotelappref.adapters;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PagingDataAdapter;
+
+import com.example.hotelappref.databinding.HotelItemBinding;
+import com.example.hotelappref.images.ImagePreloader;
+import com.example.hotelappref.models.HotelSummary;
+
+/**
+ * Paged version of {@link HotelAdapter}.
+ *
+ * WHY paging? HotelAdapter needs the whole table as a List in memory. PagingDataAdapter
+ * receives the hotels page by page from Room, so only the rows near the visible window
+ * (plus a prefetch buffer) are loaded, no matter how large the table is.
+ *
+ * Feed it with {@code adapter.submitData(lifecycle, pagingData)}.
+ *
+ * NO stable ids: PagingDataAdapter refuses setHasStableIds(true), because placeholder
+ * rows (null items) have no id. HotelDiffCallback already keys rows by id.
+ */
+public class HotelPagingAdapter extends PagingDataAdapter<HotelSummary, HotelViewHolder>
+        implements ImagePreloader.Source {
+
+    @Nullable
+    private final HotelRowInflater rowInflater;
+
+    public HotelPagingAdapter() {
+        this(null);
+    }
+
+    /**
+     * @param rowInflater Source of pre-inflated rows, or null to inflate each row when
+     *                    it's created
+     */
+    public HotelPagingAdapter(@Nullable HotelRowInflater rowInflater) {
+        super(new HotelDiffCallback());
+        this.rowInflater = rowInflater;
+    }
+
+    @NonNull
+    @Override
+    public HotelViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        HotelItemBinding binding = rowInflater != null
+                ? rowInflater.obtain(parent)
+                : HotelRowInflater.inflate(parent);
+        return new HotelViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull HotelViewHolder holder, int position) {
+        // getItem() also tells Paging which position is visible, triggering prefetch
+        HotelSummary hotel = getItem(position);
+        if (hotel != null) {
+            holder.bind(hotel);
+        } else {
+            holder.bindPlaceholder();
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull HotelViewHolder holder) {
+        holder.recycle();
+    }
+
+    /** WHY peek()? Unlike getItem() it doesn't count as an access, so it never triggers a page load. */
+    @Override
+    public String getPhotoUri(int position) {
+        HotelSummary hotel = peek(position);
+        return hotel != null ? hotel.getPhotoUri() : null;
+    }
+}
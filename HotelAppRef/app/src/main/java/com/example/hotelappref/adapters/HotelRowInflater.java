@@ -0,0 +1,110 @@
+package com.example.hotelappref.adapters;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hotelappref.R;
+import com.example.hotelappref.databinding.HotelItemBinding;
+
+import java.util.ArrayDeque;
+
+/**
+ * Inflates hotel rows on a background thread ahead of time, so the adapters' first
+ * onCreateViewHolder() calls don't inflate on the UI thread.
+ *
+ * WHY? When the list first fills the screen (and when a fling outruns the recycled
+ * rows) RecyclerView creates a ViewHolder per row, and each one parses and inflates
+ * hotel_item.xml on the UI thread: several milliseconds of a 16 ms frame each.
+ * AsyncLayoutInflater does that work on its own thread while the first page is still
+ * loading from the database.
+ *
+ * WHY hand out views instead of filling the RecycledViewPool? The pool only accepts
+ * ViewHolders the adapter created (it needs their view type), so pre-inflated views are
+ * kept here and wrapped into a ViewHolder by {@link #obtain}. {@link #sizePool} makes the
+ * pool large enough to keep a screenful of rows once they exist.
+ *
+ * WHY plain TextView/ImageView, never AppCompat's? AsyncLayoutInflater has no way to use
+ * the activity's AppCompat view factory (which isn't thread-safe anyway), so background
+ * rows get framework views. Rows inflated on the UI thread skip that factory too, so
+ * every row is the same class whichever path made it. hotel_item.xml only uses framework
+ * attributes (android:tint, drawableTint), which look the same either way.
+ */
+public final class HotelRowInflater {
+
+    private final AsyncLayoutInflater asyncInflater;
+    // Rows inflated but not handed out yet. Main thread only.
+    private final ArrayDeque<View> ready = new ArrayDeque<>();
+
+    /**
+     * @param context The activity (its theme resolves the row's attributes)
+     */
+    public HotelRowInflater(@NonNull Context context) {
+        asyncInflater = new AsyncLayoutInflater(context);
+    }
+
+    /**
+     * Rows needed to fill the screen, plus one partially visible row at each edge.
+     * Based on the estimated row height; an estimate is enough to size a cache.
+     */
+    public static int rowsPerScreen(@NonNull Context context) {
+        int screenHeight = context.getResources().getDisplayMetrics().heightPixels;
+        int rowHeight = context.getResources().getDimensionPixelSize(R.dimen.hotel_row_height_estimate);
+        return screenHeight / rowHeight + 2;
+    }
+
+    /**
+     * Let the list's RecycledViewPool keep a screenful of rows.
+     * WHY? The default keeps 5 per view type. A fast fling, or swapping between the paged
+     * list and search results, recycles more than that, and every row beyond 5 would be
+     * inflated again.
+     */
+    public static void sizePool(@NonNull RecyclerView recyclerView, int rows) {
+        recyclerView.getRecycledViewPool().setMaxRecycledViews(0, rows);
+    }
+
+    /**
+     * Start inflating rows in the background.
+     * @param parent The RecyclerView the rows will go into (used for their LayoutParams)
+     */
+    @MainThread
+    public void preInflate(@NonNull ViewGroup parent, int rows) {
+        for (int i = 0; i < rows; i++) {
+            asyncInflater.inflate(R.layout.hotel_item, parent,
+                    (view, resid, p) -> ready.add(view));
+        }
+    }
+
+    /** A pre-inflated row if one is ready, otherwise one inflated right now. */
+    @MainThread
+    @NonNull
+    public HotelItemBinding obtain(@NonNull ViewGroup parent) {
+        View row = ready.poll();
+        if (row != null) {
+            return HotelItemBinding.bind(row);
+        }
+        return inflate(parent);
+    }
+
+    /** Inflate a row on the calling (UI) thread. */
+    @NonNull
+    static HotelItemBinding inflate(@NonNull ViewGroup parent) {
+        return HotelItemBinding.inflate(plainInflater(parent.getContext()), parent, false);
+    }
+
+    /**
+     * An inflater with the theme of {@code context} but without AppCompat's view factory.
+     * AppCompat installs it on each activity's inflater only, and cloneInContext() keeps
+     * the factories of the inflater it clones: here the application's, which has none.
+     */
+    @NonNull
+    static LayoutInflater plainInflater(@NonNull Context context) {
+        return LayoutInflater.from(context.getApplicationContext()).cloneInContext(context);
+    }
+}
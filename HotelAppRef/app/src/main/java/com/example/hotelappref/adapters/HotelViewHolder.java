@@ -0,0 +1,146 @@
+package com.example.hotelappref.adapters;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.Intent;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hotelappref.HotelDetailsActivity;
+import com.example.hotelappref.databinding.HotelItemBinding;
+import com.example.hotelappref.images.ImageLoader;
+import com.example.hotelappref.models.HotelSummary;
+
+/**
+ * ViewHolder for one row of hotel_item.xml.
+ *
+ * WHY a separate class? Both HotelAdapter (plain list) and HotelPagingAdapter (paged list)
+ * show the same row, so they share the same ViewHolder and binding code.
+ *
+ * WHY does bind() allocate nothing? It runs for every row that scrolls in, on the UI
+ * thread. A lambda capturing the hotel per bind is garbage the GC has to collect in the
+ * middle of a fling. Instead:
+ * - The holder is the row's click listener, set once in the constructor. It remembers
+ *   only the bound hotel's id (a primitive) and checks the bound position on click.
+ * - Texts are the model's Strings as they are; nothing is formatted or concatenated.
+ * - The placeholder image is only set again when it changes (setImageResource creates
+ *   a new Drawable every time).
+ * HotelAdapterAllocationTest checks this with the runtime's allocation counter.
+ *
+ * PREFETCH ON TOUCH: the holder also watches touches on its row. A tap takes ~100 ms
+ * from finger down to click; the details screen's data is loaded during that time
+ * (see HotelDetailsActivity.prefetch).
+ */
+public class HotelViewHolder extends RecyclerView.ViewHolder
+        implements View.OnClickListener, View.OnTouchListener {
+
+    /** boundHotelId when the row shows a placeholder. */
+    private static final long NO_HOTEL = -1;
+
+    private final HotelItemBinding binding;
+    private final ImageLoader imageLoader;
+
+    private long boundHotelId = NO_HOTEL;
+    // What the ImageView shows: a photo, or (photo null) the placeholder resource
+    private String boundPhotoUri;
+    private int boundImageResource;
+
+    public HotelViewHolder(HotelItemBinding binding) {
+        super(binding.getRoot());
+        this.binding = binding;
+        this.imageLoader = ImageLoader.getInstance(binding.getRoot().getContext());
+        binding.getRoot().setOnClickListener(this);
+        binding.getRoot().setOnTouchListener(this);
+    }
+
+    public void bind(final HotelSummary hotel) {
+        boundHotelId = hotel.getId();
+        binding.hotelName.setText(hotel.getName());
+        binding.hotelLocation.setText(hotel.getLocation());
+        bindImage(hotel.getPhotoUri(), hotel.getDisplayImageResource());
+    }
+
+    private void bindImage(String photoUri, int imageResource) {
+        if (photoUri == null && boundPhotoUri == null && imageResource == boundImageResource) {
+            return;  // Already showing this placeholder
+        }
+        // WHY ImageLoader? The photo is decoded off the main thread at the row's 80dp size
+        imageLoader.load(photoUri, binding.hotelImage, imageResource);
+        boundPhotoUri = photoUri;
+        boundImageResource = imageResource;
+    }
+
+    /**
+     * Open the details of the bound hotel.
+     * WHY only the id? Putting the whole Hotel into the Intent copies it through the
+     * Binder transaction. The list only holds a HotelSummary anyway; the details
+     * screen loads the full row (from HotelCache or the database) by id.
+     */
+    @Override
+    public void onClick(View v) {
+        // NO_POSITION: the row is being removed (e.g. animating out); ignore the tap
+        if (boundHotelId == NO_HOTEL || getBindingAdapterPosition() == RecyclerView.NO_POSITION) {
+            return;
+        }
+        Context context = v.getContext();
+        Intent intent = new Intent(context, HotelDetailsActivity.class);
+        intent.putExtra(HotelDetailsActivity.EXTRA_HOTEL_ID, boundHotelId);
+        intent.putExtra(HotelDetailsActivity.EXTRA_TAP_UPTIME, SystemClock.uptimeMillis());
+        context.startActivity(intent);
+    }
+
+    /**
+     * Start loading the hotel's details as soon as a finger touches the row.
+     * WHY ACTION_CANCEL? The touch turned into a scroll (RecyclerView intercepted it), so
+     * the photo decode isn't needed. Returns false: clicks and ripples work as before.
+     */
+    @SuppressLint("ClickableViewAccessibility")  // Only observes; onClick handles the tap
+    @Override
+    public boolean onTouch(View v, MotionEvent event) {
+        if (boundHotelId == NO_HOTEL) {
+            return false;
+        }
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                HotelDetailsActivity.prefetch(v.getContext(), boundHotelId, boundPhotoUri);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                HotelDetailsActivity.cancelPrefetch(v.getContext(), boundPhotoUri);
+                break;
+            default:
+                break;
+        }
+        return false;
+    }
+
+    /**
+     * Show an empty row while the page containing this position is still loading.
+     * WHY? With placeholders enabled, Paging reports the full list size up front and
+     * hands us null for rows that aren't loaded yet.
+     */
+    public void bindPlaceholder() {
+        boundHotelId = NO_HOTEL;
+        binding.hotelName.setText(null);
+        binding.hotelLocation.setText(null);
+        imageLoader.cancel(binding.hotelImage);
+        binding.hotelImage.setImageDrawable(null);
+        boundPhotoUri = null;
+        boundImageResource = 0;
+    }
+
+    /**
+     * Called when the row scrolls off screen and goes back to the pool.
+     * WHY? Its photo may still be decoding; nobody will see it, so stop the work.
+     */
+    public void recycle() {
+        imageLoader.cancel(binding.hotelImage);
+        if (boundPhotoUri != null) {
+            // The view may still show the placeholder; make the next bind load again
+            boundPhotoUri = null;
+            boundImageResource = 0;
+        }
+    }
+}
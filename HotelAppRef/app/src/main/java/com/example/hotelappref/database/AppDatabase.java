@@ -1,12 +1,27 @@
 package com.example.hotelappref.database;
 
 import android.content.Context;
+import android.util.Log;
 
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 
+import com.example.hotelappref.models.GeocodeEntry;
 import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelChange;
+import com.example.hotelappref.models.HotelFts;
+import com.example.hotelappref.models.HotelTag;
+import com.example.hotelappref.models.LogCursor;
+import com.example.hotelappref.models.SyncState;
+import com.example.hotelappref.models.Tag;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Room Database class for the HotelAppRef application.
@@ -20,9 +35,26 @@ import com.example.hotelappref.models.Hotel;
  *
  * VERSION: Start with version 1. Increment this number whenever you change the schema
  * (add/remove tables or columns). You'll also need to provide a Migration object to
- * tell Room how to upgrade the database.
+ * tell Room how to upgrade the database (see {@link Migrations}).
+ *
+ * HISTORY:
+ * - 1: hotels table
+ * - 2: hotels_fts full-text index
+ * - 3: indices on hotels(name) and hotels(location, name)
+ * - 4: hotels.photoUri
+ * - 5: hotels.latitude/longitude with their index, geocode_cache
+ *   (the hotels_rtree spatial index is created outside Room, see {@link SpatialIndex})
+ * - 6: hotels.remoteId (unique) and hotels.updatedAt, sync_state
+ * - 7: hotel_changes log (its triggers are created outside Room, see
+ *   {@link ChangeLogTriggers})
+ * - 8: tags and hotel_tags (filled by {@link HotelTagIndex}), log_cursors
+ *
+ * TUNING: journal mode, read pool size and query instrumentation come from
+ * {@link DatabaseConfig}; statement latencies are collected in {@link QueryStats}.
  */
-@Database(entities = {Hotel.class}, version = 1, exportSchema = false)
+@Database(entities = {Hotel.class, HotelFts.class, GeocodeEntry.class, SyncState.class,
+        HotelChange.class, Tag.class, HotelTag.class, LogCursor.class},
+        version = 8, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
     /**
@@ -31,6 +63,30 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     public abstract HotelDao hotelDao();
 
+    /** Access to the geocode cache (see {@link OfflineGeocoder}). */
+    public abstract GeocodeDao geocodeDao();
+
+    /** Access for the backend sync (see {@link com.example.hotelappref.sync.HotelSyncEngine}). */
+    public abstract SyncDao syncDao();
+
+    /** Access to the hotels change log; use it through {@link HotelChangeLog}. */
+    public abstract ChangeLogDao changeLogDao();
+
+    /** Access to the attraction and cuisine tags (see {@link HotelTagIndex}). */
+    public abstract TagDao tagDao();
+
+    /** Name of the database file on the device. */
+    static final String DATABASE_NAME = "hotel_database";
+
+    /**
+     * Prebuilt database shipped inside the APK, generated at build time from app/seed/
+     * by the generateHotelDatabase Gradle task.
+     */
+    static final String PREPACKAGED_ASSET_DIR = "databases";
+    static final String PREPACKAGED_ASSET = PREPACKAGED_ASSET_DIR + "/hotel_database.db";
+
+    private static final String TAG = "AppDatabase";
+
     // Singleton instance
     private static volatile AppDatabase INSTANCE;
 
@@ -51,22 +107,103 @@ public abstract class AppDatabase extends RoomDatabase {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
                     // Double-checked locking: check again inside synchronized block
-                    INSTANCE = Room.databaseBuilder(
-                            context.getApplicationContext(),  // Use app context to prevent leaks
-                            AppDatabase.class,
-                            "hotel_database"  // Database file name
-                    )
-                    // WHY allowMainThreadQueries? For simplicity in this reference app.
-                    // PRODUCTION: Remove this! Always do database operations on background threads
-                    // using AsyncTask, ExecutorService, or Kotlin Coroutines.
-                    .allowMainThreadQueries()
-                    .build();
+                    INSTANCE = newBuilder(context, DATABASE_NAME, hasPrepackagedDatabase(context),
+                            DatabaseConfig.forApp(context))
+                            .build();
                 }
             }
         }
         return INSTANCE;
     }
 
+    /**
+     * Create a builder with the app's standard configuration.
+     *
+     * WHY createFromAsset? On first launch Room copies the prebuilt database file from the
+     * APK instead of creating empty tables and inserting the seed rows one statement at a
+     * time. Copying a file is much faster than running SQL, and the first frame no longer
+     * waits for seeding. Room only copies when the database file doesn't exist yet.
+     *
+     * @param usePrepackaged Copy the prebuilt asset on first open (if present in the APK)
+     */
+    static RoomDatabase.Builder<AppDatabase> newBuilder(Context context, String name,
+                                                        boolean usePrepackaged) {
+        return newBuilder(context, name, usePrepackaged, DatabaseConfig.forApp(context));
+    }
+
+    /**
+     * Same as {@link #newBuilder(Context, String, boolean)} with explicit tuning options.
+     *
+     * WHY WAL by default? In the default rollback-journal mode a write locks out every
+     * reader, so scrolling stalls while a sync or import is writing. With write-ahead
+     * logging readers keep reading the last committed state while the writer appends.
+     *
+     * @param config Journal mode, read pool size and instrumentation (see {@link DatabaseConfig})
+     */
+    static RoomDatabase.Builder<AppDatabase> newBuilder(Context context, String name,
+                                                        boolean usePrepackaged,
+                                                        DatabaseConfig config) {
+        DatabaseExecutors executors = DatabaseExecutors.getInstance();
+        executors.setQueryPoolSize(config.getQueryPoolSize());
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(
+                context.getApplicationContext(),  // Use app context to prevent leaks
+                AppDatabase.class,
+                name  // Database file name
+        )
+        // WHY no allowMainThreadQueries? Room then throws if a DAO method is called
+        // on the UI thread, so a slow query can never freeze the screen.
+        // All access goes through HotelRepository, which uses these executors.
+        .setQueryExecutor(executors.queryExecutor())
+        .setTransactionExecutor(executors.writeExecutor())
+        .setJournalMode(config.getJournalMode())
+        .addMigrations(Migrations.ALL)
+        .addCallback(SpatialIndex.CALLBACK)
+        .addCallback(ChangeLogTriggers.CALLBACK);
+
+        if (config.isInstrumented()) {
+            builder.openHelperFactory(new InstrumentedOpenHelperFactory(QueryStats.getInstance()));
+        }
+        if (config.getQueryCallback() != null) {
+            // Runs on the thread executing the statement, so the log order is the real order
+            builder.setQueryCallback(config.getQueryCallback(), Runnable::run);
+        }
+
+        if (usePrepackaged) {
+            // If the asset was built for an older schema version, Room copies it and then
+            // runs the normal migrations on the copy
+            builder.createFromAsset(PREPACKAGED_ASSET);
+        }
+        Log.i(TAG, "Opening " + name + (usePrepackaged ? " from prepackaged asset" : " (empty, seeded at runtime)"));
+        return builder;
+    }
+
+    /**
+     * An in-memory database with the same triggers and virtual tables as the app's (change
+     * log, R*Tree), for benchmarks and tests. WHY not Room.inMemoryDatabaseBuilder()
+     * directly? Without the callbacks every write skips the trigger work the app pays for,
+     * so write timings come out too low.
+     */
+    @VisibleForTesting
+    public static RoomDatabase.Builder<AppDatabase> newInMemoryBuilder(Context context) {
+        return Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(SpatialIndex.CALLBACK)
+                .addCallback(ChangeLogTriggers.CALLBACK);
+    }
+
+    /**
+     * Is the prebuilt database packaged in this APK?
+     * WHY check? Builds without the generated asset (e.g. the seed file was removed) fall
+     * back to populateInitialData(), so the app still works.
+     */
+    static boolean hasPrepackagedDatabase(Context context) {
+        try {
+            String[] files = context.getAssets().list(PREPACKAGED_ASSET_DIR);
+            return files != null && Arrays.asList(files).contains("hotel_database.db");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     /**
      * Populate the database with sample data if empty.
      * Call this when the app starts to ensure there's data to display.
@@ -74,16 +211,31 @@ public abstract class AppDatabase extends RoomDatabase {
      * WHY? For the midterm, you want the app to show data immediately without
      * requiring the user to add hotels first.
      *
+     * FALLBACK: when the APK contains the prebuilt database (see newBuilder), the table
+     * is already filled on first launch and this method only runs the COUNT(*).
+     *
+     * WHY @WorkerThread? This runs a COUNT(*) and several INSERTs. Call it through
+     * {@link HotelRepository#populateInitialData} so it runs on the write executor.
+     *
      * @param context Application context
      */
+    @WorkerThread
     public static void populateInitialData(Context context) {
-        AppDatabase db = getInstance(context);
+        populateInitialData(getInstance(context));
+    }
+
+    @WorkerThread
+    static void populateInitialData(AppDatabase db) {
         HotelDao dao = db.hotelDao();
 
         // Only populate if database is empty
         if (dao.getHotelCount() == 0) {
             // Add sample hotels (using mipmap resource for images)
-            dao.insert(createSampleHotel(
+            // WHY one insertAll() instead of six insert() calls? Each insert() is its own
+            // transaction: its own journal flush (fsync) and its own invalidation broadcast
+            // to every observer. insertAll() writes all rows in a single transaction.
+            List<Hotel> samples = new ArrayList<>();
+            samples.add(createSampleHotel(
                     "Grand Plaza Hotel",
                     "+961 1 123456",
                     "www.grandplaza.com",
@@ -92,7 +244,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Lebanese Cuisine, International Buffet, Rooftop Restaurant"
             ));
 
-            dao.insert(createSampleHotel(
+            samples.add(createSampleHotel(
                     "Seaside Resort",
                     "+961 1 234567",
                     "www.seasideresort.com",
@@ -101,7 +253,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Mediterranean Restaurant, Seafood Bar, Pool Cafe"
             ));
 
-            dao.insert(createSampleHotel(
+            samples.add(createSampleHotel(
                     "Mountain View Hotel",
                     "+961 1 345678",
                     "www.mountainview.com",
@@ -110,7 +262,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Alpine Restaurant, Chalet Bar, Après-ski Lounge"
             ));
 
-            dao.insert(createSampleHotel(
+            samples.add(createSampleHotel(
                     "City Center Hotel",
                     "+961 1 456789",
                     "www.citycenter.com",
@@ -119,7 +271,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Traditional Lebanese, Coffee Shop, Bar"
             ));
 
-            dao.insert(createSampleHotel(
+            samples.add(createSampleHotel(
                     "Luxury Inn",
                     "+961 1 567890",
                     "www.luxuryinn.com",
@@ -128,7 +280,7 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Fine Dining, Sushi Bar, Sky Lounge"
             ));
 
-            dao.insert(createSampleHotel(
+            samples.add(createSampleHotel(
                     "Beach Resort Hotel",
                     "+961 1 678901",
                     "www.beachresort.com",
@@ -136,6 +288,8 @@ public abstract class AppDatabase extends RoomDatabase {
                     "Tyre Ruins, Al-Bass Archaeological Site, Beach",
                     "Seafood Restaurant, Beach Bar, Mediterranean Grill"
             ));
+
+            dao.insertAll(samples);
         }
     }
 
@@ -145,8 +299,9 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     private static Hotel createSampleHotel(String name, String phone, String website,
                                            String location, String nearby, String food) {
-        Hotel hotel = new Hotel(name, phone, website, location, nearby, food,
-                android.R.mipmap.sym_def_app_icon);  // Default Android icon
+        // 0: no image of its own, Hotel.getDisplayImageResource() shows the default icon.
+        // WHY not store the icon's id? Resource ids can change between builds.
+        Hotel hotel = new Hotel(name, phone, website, location, nearby, food, 0);
         return hotel;
     }
 
@@ -0,0 +1,40 @@
+package com.example.hotelappref.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.hotelappref.models.HotelChange;
+
+import java.util.List;
+
+/**
+ * Data Access Object for the hotel_changes log. Use it through {@link HotelChangeLog}.
+ * There are no insert methods: the rows are written by triggers ({@link ChangeLogTriggers}).
+ */
+@Dao
+public interface ChangeLogDao {
+
+    /** Changes after afterSeq, oldest first. Reads the primary key in order, no sort. */
+    @Query("SELECT * FROM hotel_changes WHERE seq > :afterSeq ORDER BY seq LIMIT :limit")
+    List<HotelChange> getChangesSince(long afterSeq, int limit);
+
+    /** seq of the newest change, 0 if nothing was ever logged. */
+    @Query("SELECT COALESCE(MAX(seq), 0) FROM hotel_changes")
+    long getLatestSeq();
+
+    /** seq of the oldest change still logged, 0 if the log is empty. */
+    @Query("SELECT COALESCE(MIN(seq), 0) FROM hotel_changes")
+    long getOldestSeq();
+
+    /**
+     * Delete the changes logged before cutoffMillis, except the newest one.
+     * WHY keep the newest? MAX(seq) stays readable, so getLatestSeq() never goes back.
+     */
+    @Query("DELETE FROM hotel_changes WHERE changedAt < :cutoffMillis "
+            + "AND seq < (SELECT MAX(seq) FROM hotel_changes)")
+    int deleteOlderThan(long cutoffMillis);
+
+    /** Delete all but the newest keep changes. seq has no gaps, so this is a range. */
+    @Query("DELETE FROM hotel_changes WHERE seq <= (SELECT MAX(seq) FROM hotel_changes) - :keep")
+    int deleteAllButNewest(int keep);
+}
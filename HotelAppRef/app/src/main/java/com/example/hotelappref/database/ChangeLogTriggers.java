@@ -0,0 +1,51 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.hotelappref.models.HotelChange;
+
+/**
+ * The triggers that fill the hotel_changes log (see {@link HotelChange}).
+ *
+ * WHY triggers? Every writer would otherwise have to remember to log its changes, and
+ * raw SQL (migrations, HotelDao's UPDATE queries) would slip through. A trigger runs
+ * inside the writing statement's transaction: the change and its log row are committed
+ * or rolled back together.
+ *
+ * WHY installed on open, like {@link SpatialIndex}? It covers every path to the current
+ * schema - a new database, a migrated one and the prepackaged asset (whose seed rows
+ * are the baseline, not changes) - in one place. CREATE TRIGGER IF NOT EXISTS makes it
+ * a few sqlite_master lookups on later opens.
+ */
+final class ChangeLogTriggers {
+
+    /** Installs the triggers when Room opens the database. Add it to every builder. */
+    static final RoomDatabase.Callback CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            install(db);
+        }
+    };
+
+    /** The current time in epoch milliseconds, in SQL. */
+    private static final String NOW_MILLIS =
+            "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    private ChangeLogTriggers() {
+    }
+
+    static void install(SupportSQLiteDatabase db) {
+        db.execSQL(trigger("INSERT", "NEW", HotelChange.OP_INSERT));
+        db.execSQL(trigger("UPDATE", "NEW", HotelChange.OP_UPDATE));
+        db.execSQL(trigger("DELETE", "OLD", HotelChange.OP_DELETE));
+    }
+
+    private static String trigger(String event, String row, int op) {
+        return "CREATE TRIGGER IF NOT EXISTS hotel_changes_AFTER_" + event
+                + " AFTER " + event + " ON `hotels` BEGIN "
+                + "INSERT INTO `" + HotelChange.TABLE + "` (`hotelId`, `op`, `changedAt`) "
+                + "VALUES (" + row + ".`id`, " + op + ", " + NOW_MILLIS + "); END";
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+
+/**
+ * Tuning options for {@link AppDatabase}, built with {@link Builder}.
+ *
+ * OPTIONS:
+ * - Journal mode: WRITE_AHEAD_LOGGING (default) lets readers run while a write is in
+ *   progress; TRUNCATE makes every reader wait for the writer.
+ * - Query pool size: threads (and, in WAL mode, SQLite connections) serving reads in
+ *   parallel. More threads than connections only adds queueing.
+ * - Instrumentation: time every statement into {@link QueryStats}.
+ * - Query callback: Room's hook that sees every statement and its arguments,
+ *   e.g. to log SQL while debugging.
+ *
+ * Example:
+ * <pre>
+ * DatabaseConfig config = new DatabaseConfig.Builder()
+ *         .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+ *         .setQueryPoolSize(4)
+ *         .setInstrumented(true)
+ *         .build();
+ * </pre>
+ */
+public final class DatabaseConfig {
+
+    private static final String SQL_LOG_TAG = "HotelSql";
+
+    private final RoomDatabase.JournalMode journalMode;
+    private final int queryPoolSize;
+    private final boolean instrumented;
+    @Nullable
+    private final RoomDatabase.QueryCallback queryCallback;
+
+    private DatabaseConfig(Builder builder) {
+        this.journalMode = builder.journalMode;
+        this.queryPoolSize = builder.queryPoolSize;
+        this.instrumented = builder.instrumented;
+        this.queryCallback = builder.queryCallback;
+    }
+
+    /**
+     * The configuration the app runs with: WAL, the default pool size, and statement
+     * timing plus SQL logging in debuggable builds only.
+     */
+    public static DatabaseConfig forApp(Context context) {
+        boolean debuggable =
+                (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        return new Builder()
+                .setInstrumented(debuggable)
+                .setQueryCallback(debuggable ? sqlLogger() : null)
+                .build();
+    }
+
+    public RoomDatabase.JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public int getQueryPoolSize() {
+        return queryPoolSize;
+    }
+
+    /** Are statement latencies recorded into {@link QueryStats#getInstance()}? */
+    public boolean isInstrumented() {
+        return instrumented;
+    }
+
+    @Nullable
+    public RoomDatabase.QueryCallback getQueryCallback() {
+        return queryCallback;
+    }
+
+    /** Builds a {@link DatabaseConfig}. Unset options keep their defaults. */
+    public static final class Builder {
+        private RoomDatabase.JournalMode journalMode = RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING;
+        private int queryPoolSize = DatabaseExecutors.QUERY_POOL_SIZE;
+        private boolean instrumented;
+        private RoomDatabase.QueryCallback queryCallback;
+
+        /** Default: WRITE_AHEAD_LOGGING. */
+        public Builder setJournalMode(RoomDatabase.JournalMode journalMode) {
+            this.journalMode = journalMode;
+            return this;
+        }
+
+        /** Default: {@link DatabaseExecutors#QUERY_POOL_SIZE}. */
+        public Builder setQueryPoolSize(int queryPoolSize) {
+            if (queryPoolSize <= 0) {
+                throw new IllegalArgumentException("queryPoolSize must be positive: " + queryPoolSize);
+            }
+            this.queryPoolSize = queryPoolSize;
+            return this;
+        }
+
+        /** Default: false. */
+        public Builder setInstrumented(boolean instrumented) {
+            this.instrumented = instrumented;
+            return this;
+        }
+
+        /**
+         * Default: none. The callback runs synchronously on the thread executing the
+         * statement, so keep it cheap.
+         */
+        public Builder setQueryCallback(@Nullable RoomDatabase.QueryCallback queryCallback) {
+            this.queryCallback = queryCallback;
+            return this;
+        }
+
+        public DatabaseConfig build() {
+            return new DatabaseConfig(this);
+        }
+    }
+
+    /**
+     * Logs every statement under the "HotelSql" tag when enabled with
+     * {@code adb shell setprop log.tag.HotelSql VERBOSE}.
+     */
+    private static RoomDatabase.QueryCallback sqlLogger() {
+        return (sqlQuery, bindArgs) -> {
+            if (Log.isLoggable(SQL_LOG_TAG, Log.VERBOSE)) {
+                Log.v(SQL_LOG_TAG, sqlQuery + " " + bindArgs);
+            }
+        };
+    }
+}
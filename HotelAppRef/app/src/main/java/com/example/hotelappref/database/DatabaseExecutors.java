@@ -0,0 +1,141 @@
+package com.example.hotelappref.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools used for every database operation in the app.
+ *
+ * WHY? SQLite calls block the calling thread while they read/write the disk. Running them
+ * on the main (UI) thread freezes the screen and, with a large catalog, triggers
+ * "Application Not Responding" (ANR) dialogs.
+ *
+ * KEY CONCEPTS:
+ * - Query executor: a small, bounded pool for reads. Several reads can run in parallel.
+ * - Write executor: a single thread for inserts/updates/deletes. SQLite only allows one
+ *   writer at a time anyway, so one thread keeps writes ordered and avoids lock contention.
+ * - Main thread executor: posts results back to the UI thread so views can be updated.
+ *
+ * WHY bounded? An unbounded pool would happily spawn a thread per request when the user
+ * scrolls or types quickly, which wastes memory and makes SQLite fight over its locks.
+ */
+public final class DatabaseExecutors {
+
+    /** Default number of threads reading from the database at the same time. */
+    public static final int QUERY_POOL_SIZE = 4;
+
+    private static volatile DatabaseExecutors INSTANCE;
+
+    private final ThreadPoolExecutor queryExecutor;
+    private final ExecutorService writeExecutor;
+    private final Executor mainThreadExecutor;
+
+    private DatabaseExecutors() {
+        queryExecutor = newBoundedPool(QUERY_POOL_SIZE, "hotel-db-query");
+        writeExecutor = newBoundedPool(1, "hotel-db-write");
+        mainThreadExecutor = new MainThreadExecutor();
+    }
+
+    /**
+     * Get the process-wide executors.
+     * WHY singleton? Room and the repository must share the same pools, otherwise every
+     * screen would create its own threads.
+     */
+    public static DatabaseExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (DatabaseExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new DatabaseExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /** Executor for SELECT queries. */
+    public ExecutorService queryExecutor() {
+        return queryExecutor;
+    }
+
+    /**
+     * Change how many reads run in parallel (see {@link DatabaseConfig}).
+     * Already queued queries keep their place; only the number of threads changes.
+     */
+    public synchronized void setQueryPoolSize(int threads) {
+        // WHY this order? The core size may never exceed the maximum size
+        if (threads > queryExecutor.getMaximumPoolSize()) {
+            queryExecutor.setMaximumPoolSize(threads);
+            queryExecutor.setCorePoolSize(threads);
+        } else {
+            queryExecutor.setCorePoolSize(threads);
+            queryExecutor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /** Number of threads serving reads. */
+    public int getQueryPoolSize() {
+        return queryExecutor.getMaximumPoolSize();
+    }
+
+    /** Executor for INSERT/UPDATE/DELETE statements and transactions. */
+    public ExecutorService writeExecutor() {
+        return writeExecutor;
+    }
+
+    /** Executor that runs tasks on the main (UI) thread. */
+    public Executor mainThread() {
+        return mainThreadExecutor;
+    }
+
+    /**
+     * Create a fixed-size pool with named threads.
+     * WHY named threads? They show up in Android Studio's profiler and in ANR traces,
+     * which makes it obvious which work is database work.
+     */
+    private static ThreadPoolExecutor newBoundedPool(int threads, String namePrefix) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory(namePrefix));
+        // Let idle threads die so the app doesn't keep them around forever
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + count.getAndIncrement());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);  // Stay below the UI thread
+            return thread;
+        }
+    }
+
+    private static final class MainThreadExecutor implements Executor {
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mainHandler.post(command);
+        }
+    }
+}
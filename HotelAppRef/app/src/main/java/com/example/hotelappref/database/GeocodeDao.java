@@ -0,0 +1,34 @@
+package com.example.hotelappref.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.hotelappref.models.GeocodeEntry;
+
+/**
+ * Data Access Object for the geocode_cache table (see {@link OfflineGeocoder}).
+ */
+@Dao
+public interface GeocodeDao {
+
+    /**
+     * @param location A normalized location text (Gazetteer.normalize())
+     * @return The cached result, or null if this text was never geocoded
+     */
+    @Query("SELECT * FROM geocode_cache WHERE location = :location")
+    GeocodeEntry get(String location);
+
+    /**
+     * Cache a result.
+     * WHY REPLACE? The table has no triggers or foreign keys, and a newer result (e.g. a
+     * retried miss) simply overwrites the old one.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void put(GeocodeEntry entry);
+
+    /** Forget every cached result. */
+    @Query("DELETE FROM geocode_cache")
+    void clear();
+}
@@ -0,0 +1,145 @@
+package com.example.hotelappref.database;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Process-wide, size-bounded cache of Hotel rows, keyed by id.
+ *
+ * WHY? Screens pass only a hotel id to each other (not the whole object). The cache sits
+ * in front of HotelDao.getHotelById(), so opening a hotel that was just shown in the list
+ * needs no database query at all.
+ *
+ * WHY LruCache? It keeps at most {@link #MAX_ENTRIES} hotels and evicts the least
+ * recently used one when full, so memory use stays bounded however many hotels exist.
+ * LruCache is thread-safe, so the UI thread and the database executors can share it.
+ *
+ * FRESHNESS: HotelRepository keeps the cache in step with every writer - including the
+ * sync and the geocoder backfill - by following the change log (HotelChangeLog).
+ *
+ * MONITORING: {@link #hitCount()}, {@link #missCount()} and {@link #hitRate()} show how
+ * often lookups were answered from memory.
+ */
+public final class HotelCache {
+
+    /** Maximum number of hotels kept in memory. */
+    public static final int MAX_ENTRIES = 256;
+
+    private static final HotelCache INSTANCE = new HotelCache(MAX_ENTRIES);
+
+    private final LruCache<Long, Hotel> cache;
+
+    /**
+     * The cached ids, for {@link #contains} and {@link #cachedIds}. WHY not
+     * LruCache.snapshot()? It copies every entry, and contains() runs on each touch of
+     * a list row. Every change to the cache is made while holding this lock, and
+     * entryRemoved() is called on the same thread before it returns, so both stay equal.
+     */
+    private final Set<Long> ids = new HashSet<>();
+
+    HotelCache(int maxEntries) {
+        cache = new LruCache<Long, Hotel>(maxEntries) {
+            @Override
+            protected void entryRemoved(boolean evicted, Long key, Hotel oldValue,
+                                        Hotel newValue) {
+                if (newValue == null) {  // Evicted or removed, not replaced
+                    ids.remove(key);
+                }
+            }
+        };
+    }
+
+    /** The cache shared by the whole app. */
+    public static HotelCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Look up a hotel. Counts as a hit or a miss.
+     * @return The cached hotel, or null if it isn't cached
+     */
+    @Nullable
+    public Hotel get(long hotelId) {
+        return cache.get(hotelId);
+    }
+
+    /**
+     * Whether a hotel is cached. Unlike {@link #get}, doesn't count as a lookup or change
+     * the eviction order: for checks that aren't the user asking for the hotel.
+     */
+    public boolean contains(long hotelId) {
+        synchronized (ids) {
+            return ids.contains(hotelId);
+        }
+    }
+
+    /** Cache a hotel that was just read from (or written to) the database. */
+    public void put(Hotel hotel) {
+        if (hotel != null) {
+            synchronized (ids) {
+                ids.add(hotel.getId());
+                cache.put(hotel.getId(), hotel);  // May evict another: see entryRemoved
+            }
+        }
+    }
+
+    /** Forget a hotel, e.g. after it was deleted. */
+    public void remove(long hotelId) {
+        synchronized (ids) {
+            cache.remove(hotelId);
+        }
+    }
+
+    /**
+     * Ids of the cached hotels (a copy). Doesn't count as lookups and doesn't change the
+     * eviction order, so change-log patching can check what's cached without skewing
+     * the statistics.
+     */
+    public Set<Long> cachedIds() {
+        synchronized (ids) {
+            return new HashSet<>(ids);
+        }
+    }
+
+    /** Forget every hotel, e.g. after a bulk change. */
+    public void clear() {
+        synchronized (ids) {
+            cache.evictAll();
+        }
+    }
+
+    /** Number of lookups answered from memory. */
+    public int hitCount() {
+        return cache.hitCount();
+    }
+
+    /** Number of lookups that had to go to the database. */
+    public int missCount() {
+        return cache.missCount();
+    }
+
+    /** Fraction of lookups answered from memory (0 when nothing was looked up yet). */
+    public double hitRate() {
+        int hits = cache.hitCount();
+        int total = hits + cache.missCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /** Number of hotels currently cached. */
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "HotelCache{size=" + size() + "/" + cache.maxSize()
+                + ", hits=" + hitCount() + ", misses=" + missCount()
+                + ", hitRate=" + Math.round(hitRate() * 100) + "%}";
+    }
+}
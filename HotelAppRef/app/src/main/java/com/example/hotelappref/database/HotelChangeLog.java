@@ -0,0 +1,200 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+
+import com.example.hotelappref.models.HotelChange;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and compacts the hotel_changes log ({@link HotelChange}), and lets in-memory
+ * consumers follow it ({@link Follower}).
+ *
+ * READING: remember {@link #latestSeq()} after loading your copy of the data, later ask
+ * {@link #changesSince} for what happened after it. If the log was compacted past your
+ * seq in between, {@link Changes#complete} is false: load your copy again.
+ *
+ * COMPACTION ({@link #compact}): changes are kept for {@link #RETENTION_MILLIS}, and at
+ * most the newest {@link #MAX_ROWS} - a 100k-row import must not keep 100k log rows for
+ * a week. A consumer that falls further behind than that reloads.
+ */
+public final class HotelChangeLog {
+
+    /** How long changes are kept. */
+    public static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /** Most changes kept, however recent. */
+    public static final int MAX_ROWS = 10_000;
+
+    /**
+     * Changes read per query.
+     * WHY 500? Also the most hotel ids {@link HotelDao#getHotelsByIds} takes at once.
+     */
+    static final int READ_BATCH_SIZE = 500;
+
+    /**
+     * A follower this far behind rebuilds instead of replaying the changes.
+     * WHY? Replaying means loading each changed hotel by id; past a few thousand, one
+     * sequential read of the table is cheaper.
+     */
+    static final int REPLAY_LIMIT = 2_000;
+
+    /** Changes after some seq. */
+    public static final class Changes {
+        /** Oldest first. */
+        public final List<HotelChange> changes;
+        /** seq of the last change in the list, or the requested seq if there is none. */
+        public final long lastSeq;
+        /** False if changes after the requested seq were compacted away. */
+        public final boolean complete;
+
+        Changes(List<HotelChange> changes, long lastSeq, boolean complete) {
+            this.changes = changes;
+            this.lastSeq = lastSeq;
+            this.complete = complete;
+        }
+    }
+
+    private final AppDatabase database;
+    private final ChangeLogDao dao;
+
+    public HotelChangeLog(AppDatabase database) {
+        this.database = database;
+        this.dao = database.changeLogDao();
+    }
+
+    /** seq of the newest change; 0 if there is none yet. */
+    @WorkerThread
+    public long latestSeq() {
+        return dao.getLatestSeq();
+    }
+
+    /**
+     * The changes after afterSeq, oldest first.
+     * @param limit Max changes returned; ask again from {@link Changes#lastSeq} for more
+     */
+    @WorkerThread
+    public Changes changesSince(long afterSeq, int limit) {
+        List<HotelChange> changes = dao.getChangesSince(afterSeq, limit);
+        // seq has no gaps: a first change later than afterSeq + 1 means rows were deleted
+        boolean complete = changes.isEmpty() || changes.get(0).getSeq() == afterSeq + 1;
+        long lastSeq = changes.isEmpty() ? afterSeq : changes.get(changes.size() - 1).getSeq();
+        return new Changes(changes, lastSeq, complete);
+    }
+
+    /**
+     * Delete the changes older than {@link #RETENTION_MILLIS} and all but the newest
+     * {@link #MAX_ROWS}. Run it on the write executor.
+     * @return Number of changes deleted
+     */
+    @WorkerThread
+    public int compact() {
+        return compact(System.currentTimeMillis());
+    }
+
+    @WorkerThread
+    int compact(long nowMillis) {
+        return database.runInTransaction(() ->
+                dao.deleteOlderThan(nowMillis - RETENTION_MILLIS) + dao.deleteAllButNewest(MAX_ROWS));
+    }
+
+    /**
+     * Keeps an in-memory copy of some hotels in step with the table by replaying the
+     * change log, instead of re-reading everything after each write.
+     *
+     * Register it with {@code database.getInvalidationTracker().addObserver()}: Room calls
+     * it on a background thread after each transaction that wrote to hotel_changes, and
+     * it calls {@link #onHotelsChanged} with what changed since the last call. If it can't
+     * tell - the first time, after compaction, or when very far behind - it calls
+     * {@link #onReset} instead.
+     *
+     * Callbacks may see a change twice (e.g. a reset races with a write), so they must be
+     * idempotent: "hotel 7 changed, read it again", not "increment a counter".
+     */
+    public abstract static class Follower extends InvalidationTracker.Observer {
+
+        private static final long UNKNOWN = -1;
+
+        private final HotelChangeLog log;
+        private long seq = UNKNOWN;  // Guarded by this
+
+        protected Follower(HotelChangeLog log) {
+            super(HotelChange.TABLE);
+            this.log = log;
+        }
+
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            catchUp();
+        }
+
+        /**
+         * Apply every change logged since the last call. Called on invalidation; call it
+         * yourself (on a background thread) to start following.
+         */
+        @WorkerThread
+        public synchronized void catchUp() {
+            if (seq == UNKNOWN || log.latestSeq() - seq > REPLAY_LIMIT) {
+                reset();
+                return;
+            }
+            Set<Long> changed = new LinkedHashSet<>();
+            Set<Long> deleted = new LinkedHashSet<>();
+            Changes batch;
+            do {
+                batch = log.changesSince(seq, READ_BATCH_SIZE);
+                if (!batch.complete) {
+                    reset();
+                    return;
+                }
+                for (HotelChange change : batch.changes) {
+                    // Only the last operation on a hotel matters
+                    if (change.getOp() == HotelChange.OP_DELETE) {
+                        changed.remove(change.getHotelId());
+                        deleted.add(change.getHotelId());
+                    } else {
+                        deleted.remove(change.getHotelId());
+                        changed.add(change.getHotelId());
+                    }
+                }
+                seq = batch.lastSeq;
+            } while (batch.changes.size() == READ_BATCH_SIZE);
+
+            if (!changed.isEmpty() || !deleted.isEmpty()) {
+                onHotelsChanged(changed, deleted);
+            }
+        }
+
+        /** Forget the position: the next {@link #catchUp} starts with {@link #onReset}. */
+        public synchronized void forget() {
+            seq = UNKNOWN;
+        }
+
+        /**
+         * WHY read seq before onReset()? A change committed in between is then both in
+         * the reloaded data and replayed later - harmless for idempotent callbacks. The
+         * other order could miss it.
+         */
+        private void reset() {
+            seq = log.latestSeq();
+            onReset();
+        }
+
+        /**
+         * Hotels were inserted, updated or deleted.
+         * @param changedIds Hotels inserted or updated (they exist, unless deleted since)
+         * @param deletedIds Hotels deleted
+         */
+        @WorkerThread
+        protected abstract void onHotelsChanged(Set<Long> changedIds, Set<Long> deletedIds);
+
+        /** The changes are unknown: rebuild the copy from the table. */
+        @WorkerThread
+        protected abstract void onReset();
+    }
+}
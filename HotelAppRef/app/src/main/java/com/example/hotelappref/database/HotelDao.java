@@ -1,12 +1,21 @@
 package com.example.hotelappref.database;
 
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.room.Upsert;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelNearby;
+import com.example.hotelappref.models.HotelSearchResult;
+import com.example.hotelappref.models.HotelSummary;
 
 import java.util.List;
 
@@ -22,6 +31,13 @@ import java.util.List;
 @Dao
 public interface HotelDao {
 
+    /**
+     * Columns selected by the list (HotelSummary) queries.
+     * WHY a constant? The projection must match HotelSummary's fields; keeping it in one
+     * place means adding a list column is a one-line change.
+     */
+    String HOTEL_SUMMARY_COLUMNS = "id, name, location, imageResource, photoUri";
+
     /**
      * Insert a new hotel into the database.
      * @param hotel The hotel to insert
@@ -33,6 +49,44 @@ public interface HotelDao {
     @Insert
     long insert(Hotel hotel);
 
+    /**
+     * Insert many hotels in a single transaction.
+     * @param hotels The hotels to insert
+     * @return The row IDs of the inserted hotels, in the same order
+     *
+     * WHY a List? Calling insert() in a loop runs one transaction per row - one journal
+     * flush and one invalidation broadcast each. Room wraps a List insert in ONE
+     * transaction and reuses the same compiled INSERT statement for every row.
+     */
+    @Insert
+    List<Long> insertAll(List<Hotel> hotels);
+
+    /**
+     * Insert hotels that are new and update the ones that already exist (matched by id).
+     * @param hotels The hotels to insert or update
+     *
+     * WHY @Upsert instead of @Insert(onConflict = REPLACE)? REPLACE deletes the old row and
+     * inserts a new one, which fires delete triggers (e.g. the FTS index) and breaks
+     * foreign keys. Upsert updates the existing row in place.
+     */
+    @Upsert
+    void upsertAll(List<Hotel> hotels);
+
+    /**
+     * Bulk-import entry point: write one chunk of imported hotels atomically.
+     * @param chunk The hotels to insert (ids are generated)
+     * @return Number of rows written
+     *
+     * WHY @Transaction on a default method? Everything inside runs in one transaction, so a
+     * chunk is either fully imported or not at all. HotelImporter calls this once per chunk
+     * so a 100k-row file is written in a few hundred transactions instead of 100k.
+     */
+    @Transaction
+    default int importChunk(List<Hotel> chunk) {
+        insertAll(chunk);
+        return chunk.size();
+    }
+
     /**
      * Update an existing hotel in the database.
      * @param hotel The hotel to update (must have valid ID)
@@ -61,6 +115,54 @@ public interface HotelDao {
     @Query("SELECT * FROM hotels ORDER BY name ASC")
     List<Hotel> getAllHotels();
 
+    /**
+     * Get the list columns of all hotels, ordered by name.
+     * @return One HotelSummary per hotel
+     *
+     * WHY not getAllHotels()? The list only shows name, location and image. Selecting just
+     * those columns skips copying phone, website, nearby and food out of SQLite, which is
+     * most of each row's bytes.
+     */
+    @Query("SELECT " + HOTEL_SUMMARY_COLUMNS + " FROM hotels ORDER BY name ASC")
+    List<HotelSummary> getAllHotelSummaries();
+
+    /**
+     * Get the list columns of all hotels as a paged source, ordered by name.
+     * @return A PagingSource that loads the hotel summaries one page at a time
+     *
+     * WHY PagingSource? getAllHotels() loads the whole table into one List, so memory and
+     * load time grow with the number of hotels. Room generates a PagingSource that runs
+     * LIMIT/OFFSET queries for just the pages the list needs, and invalidates itself
+     * whenever the hotels table changes.
+     *
+     * COST: OFFSET skips its rows one by one, so deep pages get slower. Lists that only
+     * ever load the next page should use {@link HotelKeysetPager} instead.
+     */
+    @Query("SELECT " + HOTEL_SUMMARY_COLUMNS + " FROM hotels ORDER BY name ASC")
+    PagingSource<Integer, HotelSummary> getHotelSummariesPaged();
+
+    /**
+     * One page of hotel summaries, in a sort order.
+     * @param query Built by {@link HotelKeysetPager}; use its page() method
+     *
+     * WHY @RawQuery? A page after a given row takes one to three index ranges, and which
+     * conditions each has depends on the order and on NULLs in the row's key.
+     */
+    @RawQuery
+    List<HotelSummary> getHotelSummaries(SupportSQLiteQuery query);
+
+    /**
+     * Get the list columns of the hotels at one location, ordered by name.
+     * @param location The exact location, e.g. "Beirut, Lebanon"
+     * @return The hotels at that location
+     *
+     * WHY exact match? It's answered from the (location, name) index: SQLite jumps to the
+     * location and reads its hotels already in name order - no scan, no sort.
+     */
+    @Query("SELECT " + HOTEL_SUMMARY_COLUMNS + " FROM hotels WHERE location = :location "
+            + "ORDER BY name ASC")
+    List<HotelSummary> getHotelSummariesByLocation(String location);
+
     /**
      * Get a specific hotel by ID.
      * @param hotelId The hotel's unique identifier
@@ -69,6 +171,16 @@ public interface HotelDao {
     @Query("SELECT * FROM hotels WHERE id = :hotelId")
     Hotel getHotelById(long hotelId);
 
+    /**
+     * Get several hotels by id, in no particular order. Missing ids are skipped.
+     * @param hotelIds At most 500 ids (older SQLite allows 999 bound variables)
+     *
+     * WHY? Consumers of the change log (see HotelChangeLog.Follower) reload just the
+     * hotels that changed, in one query per batch instead of one per hotel.
+     */
+    @Query("SELECT * FROM hotels WHERE id IN (:hotelIds)")
+    List<Hotel> getHotelsByIds(List<Long> hotelIds);
+
     /**
      * Search hotels by name (case-insensitive).
      * @param searchQuery The search term
@@ -76,10 +188,102 @@ public interface HotelDao {
      *
      * WHY LIKE? Enables partial text matching for search functionality.
      * The % wildcards match any characters before/after the search term.
+     * NOTE: a leading % can't seek in an index, so every row is still tested - but rows are
+     * read in name-index order, so there is no sort. For fast search use searchHotelsFts().
      */
     @Query("SELECT * FROM hotels WHERE name LIKE '%' || :searchQuery || '%' ORDER BY name ASC")
     List<Hotel> searchHotelsByName(String searchQuery);
 
+    /**
+     * Full-text search over name, location, nearby and food.
+     * @param matchQuery An FTS MATCH expression, e.g. "beir* hot*" (see HotelSearch.toMatchQuery)
+     * @param limit Read at most this many matches (usually HotelSearch.MAX_CANDIDATES)
+     * @return The list columns of matching hotels with their matchinfo() statistics,
+     *         in no particular order
+     *
+     * WHY FTS instead of LIKE? MATCH looks the words up in the hotels_fts inverted index,
+     * so only matching rows are read. Rank the results with HotelSearch.rank().
+     * WHY LIMIT? Ranking needs every row's matchinfo() in Java (FTS4 can't ORDER BY
+     * relevance), so a broad prefix would otherwise copy thousands of rows out of SQLite
+     * to keep a few hundred. SQLite stops reading at the limit.
+     */
+    @Query("SELECT hotels.id, hotels.name, hotels.location, hotels.imageResource, hotels.photoUri, "
+            + "matchinfo(hotels_fts, 'pcx') AS match_info "
+            + "FROM hotels_fts JOIN hotels ON hotels.id = hotels_fts.rowid "
+            + "WHERE hotels_fts MATCH :matchQuery LIMIT :limit")
+    List<HotelSearchResult> searchHotelsFts(String matchQuery, int limit);
+
+    // ---------------------------------------------------------------------
+    // Spatial queries
+    // ---------------------------------------------------------------------
+
+    /**
+     * The hotels inside a latitude/longitude box, with their positions, in no particular
+     * order.
+     * @param query Built by {@link SpatialIndex#boxQuery}
+     *
+     * WHY @RawQuery? The SQL depends on the device: it reads the hotels_rtree R*Tree when
+     * SQLite supports it, the (latitude, longitude) index otherwise. Room can't check a
+     * table it doesn't manage at compile time. Use {@link HotelSpatialSearch} for radius
+     * and nearest-hotel searches.
+     */
+    @RawQuery
+    List<HotelNearby> findHotelsInBox(SupportSQLiteQuery query);
+
+    /**
+     * Hotels without a position, in id order, for OfflineGeocoder's backfill.
+     * @param afterId Only hotels with a larger id (the last id of the previous batch)
+     * @param limit Batch size
+     *
+     * WHY test both coordinates? With both pinned to NULL, the (latitude, longitude) index
+     * lists these hotels in id order, so each batch starts right after afterId. On
+     * latitude alone SQLite would sort every remaining hotel again for each batch.
+     */
+    @Query("SELECT " + HOTEL_SUMMARY_COLUMNS + " FROM hotels "
+            + "WHERE latitude IS NULL AND longitude IS NULL AND id > :afterId "
+            + "ORDER BY id LIMIT :limit")
+    List<HotelSummary> getHotelsWithoutPosition(long afterId, int limit);
+
+    /**
+     * Set a hotel's position.
+     * WHY not update()? It rewrites every column of the row; this touches only two.
+     */
+    @Query("UPDATE hotels SET latitude = :latitude, longitude = :longitude WHERE id = :hotelId")
+    void setPosition(long hotelId, double latitude, double longitude);
+
+    // ---------------------------------------------------------------------
+    // Observable queries
+    // ---------------------------------------------------------------------
+    //
+    // WHY LiveData? Room registers these queries with its InvalidationTracker. Whenever a
+    // write touches the hotels table - from any screen, the repository or a background
+    // worker - Room re-runs the query on its query executor and pushes the fresh result to
+    // active observers. While the table is unchanged the query is NOT re-run, and several
+    // invalidations that arrive close together are coalesced into one re-query.
+
+    /**
+     * Observe all hotels, ordered by name.
+     * @return LiveData that emits the full list after every change to the hotels table
+     */
+    @Query("SELECT * FROM hotels ORDER BY name ASC")
+    LiveData<List<Hotel>> observeAllHotels();
+
+    /**
+     * Observe a specific hotel.
+     * @param hotelId The hotel's unique identifier
+     * @return LiveData that emits the hotel (or null once it's deleted)
+     */
+    @Query("SELECT * FROM hotels WHERE id = :hotelId")
+    LiveData<Hotel> observeHotelById(long hotelId);
+
+    /**
+     * Observe the hotels whose name matches the search term.
+     * @param searchQuery The search term
+     * @return LiveData that emits the matching hotels after every change
+     */
+    @Query("SELECT * FROM hotels WHERE name LIKE '%' || :searchQuery || '%' ORDER BY name ASC")
+    LiveData<List<Hotel>> observeHotelsByName(String searchQuery);
+
     /**
      * Delete all hotels from the database.
      *
@@ -0,0 +1,318 @@
+package com.example.hotelappref.database;
+
+import android.os.SystemClock;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams hotels from a CSV or JSON file into the database in fixed-size chunks.
+ *
+ * WHY stream? Reading the whole file into a List first would need memory proportional
+ * to the file size; a 100k-row catalog would not fit on low-end devices. The importer
+ * holds at most one chunk of hotels in memory at any time, whatever the file size.
+ *
+ * WHY chunks? Each chunk is written with {@link HotelDao#importChunk}, i.e. one
+ * transaction per chunk. One transaction per row would be ~100x slower (one journal
+ * flush each); one transaction for the whole file would block every other writer
+ * until the import finishes.
+ *
+ * FORMATS:
+ * - CSV: a header line followed by one hotel per line. Columns are matched by header
+ *   name: name, phone, website, location, nearby, food and the optional photo (a URI,
+ *   see Hotel.getPhotoUri()), latitude and longitude (decimal degrees; hotels without
+ *   them are positioned from their location by OfflineGeocoder). Fields containing
+ *   commas must be quoted ("Pigeon Rocks, Corniche"); a quote inside a quoted field is
+ *   written "".
+ * - JSON: an array of objects with the same keys, e.g.
+ *   [{"name": "...", "phone": "...", ...}, ...]
+ */
+public class HotelImporter {
+
+    /** Rows written per transaction. */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /** Input file format. */
+    public enum Format { CSV, JSON }
+
+    /** Outcome of an import, including throughput. */
+    public static final class Result {
+        public final int rows;
+        public final int chunks;
+        public final long elapsedMs;
+
+        Result(int rows, int chunks, long elapsedMs) {
+            this.rows = rows;
+            this.chunks = chunks;
+            this.elapsedMs = elapsedMs;
+        }
+
+        /** Rows imported per second. */
+        public double rowsPerSecond() {
+            return elapsedMs > 0 ? rows * 1000.0 / elapsedMs : rows;
+        }
+
+        @Override
+        public String toString() {
+            return "Import{rows=" + rows + ", chunks=" + chunks + ", elapsedMs=" + elapsedMs
+                    + ", rowsPerSecond=" + Math.round(rowsPerSecond()) + '}';
+        }
+    }
+
+    private static final String[] COLUMNS = {"name", "phone", "website", "location", "nearby",
+            "food", "photo", "latitude", "longitude"};
+
+    private final HotelDao hotelDao;
+    private final int chunkSize;
+
+    public HotelImporter(HotelDao hotelDao) {
+        this(hotelDao, DEFAULT_CHUNK_SIZE);
+    }
+
+    public HotelImporter(HotelDao hotelDao, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.hotelDao = hotelDao;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import every hotel in the stream. The stream is closed when done.
+     * @throws IOException If the file can't be read or is malformed. Chunks written
+     *                     before the error stay in the database.
+     */
+    @WorkerThread
+    public Result importHotels(InputStream input, Format format) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        ChunkWriter writer = new ChunkWriter();
+        try (InputStreamReader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                readCsv(new BufferedReader(reader), writer);
+            } else {
+                readJson(new JsonReader(reader), writer);
+            }
+        }
+        writer.flush();
+        return new Result(writer.rows, writer.chunks, SystemClock.elapsedRealtime() - start);
+    }
+
+    // ---------------------------------------------------------------------
+    // CSV
+    // ---------------------------------------------------------------------
+
+    private void readCsv(BufferedReader reader, ChunkWriter writer) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;  // Empty file
+        }
+        int[] columnIndex = mapHeader(parseCsvLine(stripBom(headerLine)));
+
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            fields.clear();
+            parseCsvLine(line, fields);
+            String name = field(fields, columnIndex[0]);
+            if (name == null || name.isEmpty()) {
+                throw new IOException("Line " + lineNumber + ": hotel name is required");
+            }
+            Hotel hotel = new Hotel(
+                    name,
+                    field(fields, columnIndex[1]),
+                    field(fields, columnIndex[2]),
+                    field(fields, columnIndex[3]),
+                    field(fields, columnIndex[4]),
+                    field(fields, columnIndex[5]),
+                    0);  // No image: Hotel.getDisplayImageResource() shows the default icon
+            hotel.setPhotoUri(emptyToNull(field(fields, columnIndex[6])));
+            setPosition(hotel, parseCoordinate(field(fields, columnIndex[7]), lineNumber),
+                    parseCoordinate(field(fields, columnIndex[8]), lineNumber));
+            writer.add(hotel);
+        }
+    }
+
+    /** Find where each known column sits in the header. Missing columns map to -1. */
+    private static int[] mapHeader(List<String> header) throws IOException {
+        int[] index = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            index[i] = header.indexOf(COLUMNS[i]);
+        }
+        if (index[0] < 0) {
+            throw new IOException("CSV header has no 'name' column: " + header);
+        }
+        return index;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static Double parseCoordinate(String value, int lineNumber) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Line " + lineNumber + ": bad coordinate '" + value + "'", e);
+        }
+    }
+
+    /** Only a complete position is kept; half of one is as good as none. */
+    private static void setPosition(Hotel hotel, Double latitude, Double longitude) {
+        if (latitude != null && longitude != null) {
+            hotel.setLatitude(latitude);
+            hotel.setLongitude(longitude);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    /** Split one CSV line into trimmed fields. */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        parseCsvLine(line, fields);
+        return fields;
+    }
+
+    /**
+     * Split one CSV line into trimmed fields, honouring double-quoted fields.
+     * WHY reuse the list? It's called once per row; reusing one list avoids an
+     * allocation per row during large imports.
+     */
+    static void parseCsvLine(String line, List<String> out) {
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');  // Escaped quote
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                out.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        out.add(field.toString().trim());
+    }
+
+    // ---------------------------------------------------------------------
+    // JSON
+    // ---------------------------------------------------------------------
+
+    /**
+     * WHY JsonReader? It's a pull parser: it reads one token at a time from the stream,
+     * so only the current hotel object is in memory (unlike new JSONArray(wholeFile)).
+     */
+    private void readJson(JsonReader reader, ChunkWriter writer) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            writer.add(readJsonHotel(reader));
+        }
+        reader.endArray();
+    }
+
+    private Hotel readJsonHotel(JsonReader reader) throws IOException {
+        String name = null;
+        String phone = null;
+        String website = null;
+        String location = null;
+        String nearby = null;
+        String food = null;
+        String photo = null;
+        Double latitude = null;
+        Double longitude = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (key) {
+                case "name": name = reader.nextString(); break;
+                case "phone": phone = reader.nextString(); break;
+                case "website": website = reader.nextString(); break;
+                case "location": location = reader.nextString(); break;
+                case "nearby": nearby = reader.nextString(); break;
+                case "food": food = reader.nextString(); break;
+                case "photo": photo = reader.nextString(); break;
+                case "latitude": latitude = reader.nextDouble(); break;
+                case "longitude": longitude = reader.nextDouble(); break;
+                default: reader.skipValue(); break;  // Ignore unknown keys
+            }
+        }
+        reader.endObject();
+
+        if (name == null || name.isEmpty()) {
+            throw new IOException("Hotel without a name near " + reader);
+        }
+        Hotel hotel = new Hotel(name, phone, website, location, nearby, food, 0);  // Default icon
+        hotel.setPhotoUri(emptyToNull(photo));
+        setPosition(hotel, latitude, longitude);
+        return hotel;
+    }
+
+    // ---------------------------------------------------------------------
+    // Chunking
+    // ---------------------------------------------------------------------
+
+    /** Collects parsed hotels and writes them one transaction per full chunk. */
+    private final class ChunkWriter {
+        private final List<Hotel> chunk = new ArrayList<>(chunkSize);
+        int rows;
+        int chunks;
+
+        void add(Hotel hotel) {
+            chunk.add(hotel);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            rows += hotelDao.importChunk(chunk);
+            chunks++;
+            chunk.clear();  // Release the written hotels for garbage collection
+        }
+    }
+}
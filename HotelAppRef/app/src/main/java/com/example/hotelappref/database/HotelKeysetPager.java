@@ -0,0 +1,158 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.example.hotelappref.models.HotelSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages through all hotels in one of several orders, each page starting right after the
+ * last row of the previous one (keyset or "seek" pagination).
+ *
+ * WHY not LIMIT/OFFSET? OFFSET n makes SQLite step over n rows before returning any:
+ * page 1000 of 30 reads 30,000 index entries to return 30. A keyset page searches the
+ * index for the previous page's last key and reads only its own rows, so page 1000
+ * costs what page 1 costs. (Paging's placeholder list, {@link HotelDao#getHotelSummariesPaged},
+ * still uses OFFSET: jumping to a scrollbar position needs one.)
+ *
+ * HOW: "after (name N, id I)" is split into index ranges read in order until the page
+ * is full - the rest of the hotels named N (name = N AND id > I), then the later names
+ * (name > N). Each range is one index search that stops after at most limit rows.
+ * WHY not one WHERE (name, id) > (N, I)? Row values need SQLite 3.15 (Android 8.0; this
+ * app supports 7.0). And neither that nor the spelled-out OR form works after a NULL
+ * name: NULLs sort first, but nothing compares greater than NULL. Split, "after NULL"
+ * is simply IS NOT NULL.
+ */
+public final class HotelKeysetPager {
+
+    /** The orders hotels can be paged in, with the index that serves each. */
+    public enum Order {
+        /**
+         * A to Z, hotels without a name first. index_hotels_name: an SQLite index ends
+         * with the rowid, so it is (name, id).
+         */
+        BY_NAME("name"),
+        /** By location, then name. index_hotels_location_name: (location, name, id). */
+        BY_LOCATION("location", "name"),
+        /**
+         * Most recently added first. The primary key: ids are AUTOINCREMENT, so they
+         * grow in insertion order and are never reused.
+         */
+        NEWEST_FIRST();
+
+        final String[] columns;  // Sort columns before id
+        final String orderBy;
+
+        Order(String... columns) {
+            this.columns = columns;
+            StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+            for (String column : columns) {
+                orderBy.append(column).append(", ");
+            }
+            this.orderBy = orderBy.append(columns.length == 0 ? "id DESC" : "id").toString();
+        }
+
+        /** The sort key of a row, without its id. */
+        private Object[] keyOf(HotelSummary hotel) {
+            switch (this) {
+                case BY_NAME:
+                    return new Object[]{hotel.getName()};
+                case BY_LOCATION:
+                    return new Object[]{hotel.getLocation(), hotel.getName()};
+                default:
+                    return new Object[0];
+            }
+        }
+    }
+
+    private final HotelDao hotelDao;
+
+    public HotelKeysetPager(AppDatabase database) {
+        this.hotelDao = database.hotelDao();
+    }
+
+    /**
+     * The page after a row.
+     * @param after Last row of the previous page; null for the first page
+     * @return Up to limit hotels; fewer only at the end
+     */
+    @WorkerThread
+    public List<HotelSummary> page(Order order, @Nullable HotelSummary after, int limit) {
+        List<HotelSummary> page = new ArrayList<>(limit);
+        for (Range range : ranges(order, after)) {
+            page.addAll(hotelDao.getHotelSummaries(range.query(limit - page.size())));
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /** The index ranges that follow a row, in order. One range for the first page. */
+    static List<Range> ranges(Order order, @Nullable HotelSummary after) {
+        List<Range> ranges = new ArrayList<>();
+        if (order == Order.NEWEST_FIRST) {
+            Range range = new Range(order);
+            range.where("id < ?", after != null ? after.getId() : Long.MAX_VALUE);
+            ranges.add(range);
+            return ranges;
+        }
+        if (after == null) {
+            ranges.add(new Range(order));
+            return ranges;
+        }
+        Object[] key = order.keyOf(after);
+        // Longest shared prefix first: same key with a larger id, then each column larger
+        for (int equal = key.length; equal >= 0; equal--) {
+            Range range = new Range(order);
+            for (int i = 0; i < equal; i++) {
+                if (key[i] == null) {
+                    range.where(order.columns[i] + " IS NULL");
+                } else {
+                    range.where(order.columns[i] + " = ?", key[i]);
+                }
+            }
+            if (equal == key.length) {
+                range.where("id > ?", after.getId());
+            } else if (key[equal] == null) {
+                range.where(order.columns[equal] + " IS NOT NULL");  // Every value sorts after NULL
+            } else {
+                range.where(order.columns[equal] + " > ?", key[equal]);
+            }
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /** One index range: a SELECT in the order's ORDER BY. */
+    static final class Range {
+        private final Order order;
+        private final StringBuilder where = new StringBuilder();
+        private final List<Object> args = new ArrayList<>();
+
+        Range(Order order) {
+            this.order = order;
+        }
+
+        void where(String condition, Object... conditionArgs) {
+            where.append(where.length() == 0 ? " WHERE " : " AND ").append(condition);
+            for (Object arg : conditionArgs) {
+                args.add(arg);
+            }
+        }
+
+        /** The SELECT for at most limit rows of this range. */
+        SupportSQLiteQuery query(int limit) {
+            Object[] bound = args.toArray(new Object[args.size() + 1]);
+            bound[args.size()] = limit;
+            return new SimpleSQLiteQuery(
+                    "SELECT " + HotelDao.HOTEL_SUMMARY_COLUMNS + " FROM hotels" + where
+                            + order.orderBy + " LIMIT ?", bound);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hotelappref.database;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * One hotel, re-read only when the change log says that hotel changed.
+ *
+ * WHY not Room's observable query ({@link HotelDao#observeHotelById})? It reads the row
+ * once when first observed - a second read right after the screen loaded it - and again
+ * after every write to the hotels table, whichever hotel it touched. This one starts
+ * from the hotel the caller already has (cache or saved state) without any read, loads
+ * it once if there's none, and then follows the change log
+ * ({@link HotelChangeLog.Follower}).
+ *
+ * A change committed between reading the known hotel and the first catch-up isn't
+ * seen. The cache follows the change log too, so that window is short.
+ *
+ * Emits null once the hotel is deleted.
+ */
+final class HotelLiveData extends LiveData<Hotel> {
+
+    private static final String TAG = "HotelLiveData";
+
+    private final AppDatabase database;
+    private final long hotelId;
+    private final Executor executor;
+    private final HotelChangeLog.Follower follower;
+
+    private final Callable<Hotel> firstLoad;
+
+    // Only touched in the constructor and inside follower callbacks (one at a time)
+    private Hotel hotel;  // Last value emitted
+    private boolean emitted;
+    private boolean started;  // The first catch-up is done
+
+    private boolean following;  // Guarded by this
+
+    /**
+     * @param known The hotel as the caller has it already; null to load it first
+     * @param firstLoad Loads the hotel when known is null (e.g. waiting for a prefetch);
+     *                  later changes are read by id
+     * @param executor Starts and stops following, and runs the loads; any database executor
+     */
+    HotelLiveData(AppDatabase database, HotelChangeLog changeLog, Executor executor,
+                  long hotelId, @Nullable Hotel known, Callable<Hotel> firstLoad) {
+        this.database = database;
+        this.hotelId = hotelId;
+        this.executor = executor;
+        this.firstLoad = firstLoad;
+        if (known != null) {
+            setValue(known);  // Delivered to the first observer without a thread hop
+            hotel = known;
+            emitted = true;
+        }
+        this.follower = new HotelChangeLog.Follower(changeLog) {
+            @Override
+            protected void onHotelsChanged(Set<Long> changedIds, Set<Long> deletedIds) {
+                if (deletedIds.contains(hotelId)) {
+                    publish(null);
+                } else if (changedIds.contains(hotelId)) {
+                    publish(database.hotelDao().getHotelById(hotelId));
+                }
+            }
+
+            /**
+             * The first catch-up lands here. WHY not read the hotel then, when it's known?
+             * That read is the one this class exists to avoid; changes from here on are
+             * replayed. Any later reset means too many changes to replay, which may
+             * include this hotel.
+             */
+            @Override
+            protected void onReset() {
+                if (!started && !emitted) {
+                    load(firstLoad);
+                } else if (started) {
+                    load(() -> database.hotelDao().getHotelById(hotelId));
+                }
+                started = true;
+            }
+        };
+    }
+
+    @Override
+    protected void onActive() {
+        executor.execute(this::updateFollowing);
+    }
+
+    @Override
+    protected void onInactive() {
+        executor.execute(this::updateFollowing);
+    }
+
+    /**
+     * WHY look at hasActiveObservers() here instead of trusting the callback? The tasks
+     * may run out of order on a pool; the current state is what counts.
+     */
+    @WorkerThread
+    private synchronized void updateFollowing() {
+        boolean active = hasActiveObservers();
+        if (active && !following) {
+            database.getInvalidationTracker().addObserver(follower);
+            following = true;
+            follower.catchUp();
+        } else if (!active && following) {
+            database.getInvalidationTracker().removeObserver(follower);
+            following = false;
+        }
+    }
+
+    @WorkerThread
+    private void load(Callable<Hotel> load) {
+        try {
+            publish(load.call());
+        } catch (Exception e) {
+            Log.e(TAG, "Can't load hotel " + hotelId, e);
+        }
+    }
+
+    private void publish(@Nullable Hotel updated) {
+        if (emitted && Objects.equals(updated, hotel)) {
+            return;  // e.g. an UPDATE that changed nothing: don't redraw
+        }
+        hotel = updated;
+        emitted = true;
+        postValue(updated);
+    }
+}
@@ -0,0 +1,655 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.example.hotelappref.geo.GeoPoint;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelNearby;
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+import com.example.hotelappref.sync.HotelSyncEngine;
+import com.example.hotelappref.sync.SyncClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repository - the single entry point the UI uses to read and write hotels.
+ *
+ * WHY a repository? Activities should not know WHICH thread a query runs on. The
+ * repository runs every HotelDao call on a background executor and hands the result
+ * back on the main thread, so UI code stays simple and can never block on SQLite.
+ *
+ * KEY CONCEPTS:
+ * - Reads go to the bounded query executor (see {@link DatabaseExecutors}).
+ * - Writes go to the single write executor so they happen one at a time, in order.
+ * - Results are delivered through {@link Callback} on the main thread.
+ * - Lists load {@link HotelSummary} rows (only the columns a list row shows); full
+ *   {@link Hotel} rows are loaded one at a time, for the details screen.
+ * - {@link #getHotelPage} pages by name, location or newest first; every page costs the
+ *   same however deep ({@link HotelKeysetPager}).
+ * - Hotels written without a position get one from their location text
+ *   ({@link OfflineGeocoder}); {@link HotelSpatialSearch} answers "hotels near X".
+ * - Hotels from the backend arrive through {@link #createSyncEngine}.
+ * - Attraction and cuisine filters read the tag tables ({@link HotelTagSearch}), which
+ *   {@link HotelTagIndex} keeps up to date in the background.
+ */
+public class HotelRepository {
+
+    /**
+     * Receives the result of a background database operation on the main thread.
+     * @param <T> Type of the result
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+
+        /**
+         * The operation failed (the exception is already logged); onResult isn't called.
+         * Override it where the user is waiting, e.g. to re-enable a Save button.
+         */
+        default void onError(Exception error) {
+        }
+    }
+
+    private static final String TAG = "HotelRepository";
+
+    /** Hotels loaded per page by {@link #getPagedHotels()}. */
+    public static final int DEFAULT_PAGE_SIZE = 30;
+
+    /** How many rows ahead of the visible window Paging starts loading the next page. */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 30;
+
+    private static volatile HotelRepository INSTANCE;
+
+    private final AppDatabase database;
+    private final HotelDao hotelDao;
+    private final ExecutorService queryExecutor;
+    private final ExecutorService writeExecutor;
+    private final Executor mainThread;
+    private final HotelCache hotelCache;
+    private final HotelSpatialSearch spatialSearch;
+    private final HotelChangeLog changeLog;
+    private final HotelTagSearch tagSearch;
+    private final HotelKeysetPager keysetPager;
+    @Nullable
+    private final OfflineGeocoder geocoder;
+
+    // Hotels being loaded by prefetchHotel(), by id; getHotelById() waits for these
+    private final Map<Long, Future<Hotel>> prefetches = new ConcurrentHashMap<>();
+
+    HotelRepository(AppDatabase database, DatabaseExecutors executors) {
+        this(database, executors, null);
+    }
+
+    /**
+     * @param geocoder Positions hotels written without one; null stores them as they are
+     */
+    HotelRepository(AppDatabase database, DatabaseExecutors executors,
+                    @Nullable OfflineGeocoder geocoder) {
+        this.database = database;
+        this.hotelDao = database.hotelDao();
+        this.queryExecutor = executors.queryExecutor();
+        this.writeExecutor = executors.writeExecutor();
+        this.mainThread = executors.mainThread();
+        this.hotelCache = HotelCache.getInstance();
+        this.spatialSearch = new HotelSpatialSearch(database);
+        this.geocoder = geocoder;
+        this.changeLog = new HotelChangeLog(database);
+        this.keysetPager = new HotelKeysetPager(database);
+
+        HotelChangeLog.Follower cacheFollower = new CacheFollower();
+        queryExecutor.execute(() -> {
+            database.getInvalidationTracker().addObserver(cacheFollower);
+            cacheFollower.catchUp();  // Starts following from the current seq
+        });
+
+        this.tagSearch = new HotelTagSearch(database);
+        HotelTagIndex tagIndex = new HotelTagIndex(database, changeLog, writeExecutor);
+        writeExecutor.execute(() -> {
+            database.getInvalidationTracker().addObserver(tagIndex);
+            tagIndex.catchUp();  // Applies what was written while the app wasn't running
+        });
+    }
+
+    /**
+     * Get the singleton repository.
+     * @param context Any context; the application context is used internally
+     */
+    public static HotelRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (HotelRepository.class) {
+                if (INSTANCE == null) {
+                    AppDatabase database = AppDatabase.getInstance(context);
+                    INSTANCE = new HotelRepository(
+                            database,
+                            DatabaseExecutors.getInstance(),
+                            new OfflineGeocoder(context, database));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /** The database this repository reads from. */
+    public AppDatabase getDatabase() {
+        return database;
+    }
+
+    /**
+     * Start notifying an observer of table changes.
+     *
+     * WHY not InvalidationTracker.addObserver() directly? Once the database is open,
+     * adding and removing observers runs SQL (it creates or drops the tracking triggers),
+     * so neither may run on the main thread. Both happen on the query executor here.
+     *
+     * @return Stops the notifications; safe to run before the observer was even added
+     */
+    public Runnable observeTables(InvalidationTracker.Observer observer) {
+        InvalidationTracker tracker = database.getInvalidationTracker();
+        // WHY a flag? The query executor has several threads, so removal can overtake
+        // the add; the add then sees the flag and doesn't register an observer for good
+        AtomicBoolean removed = new AtomicBoolean();
+        queryExecutor.execute(() -> {
+            synchronized (removed) {
+                if (!removed.get()) {
+                    tracker.addObserver(observer);
+                }
+            }
+        });
+        return () -> queryExecutor.execute(() -> {
+            synchronized (removed) {
+                removed.set(true);
+                tracker.removeObserver(observer);
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------------
+    // Reads
+    // ---------------------------------------------------------------------
+
+    /**
+     * Page through all hotels, ordered by name, with the default page and prefetch sizes.
+     */
+    public LiveData<PagingData<HotelSummary>> getPagedHotels() {
+        return getPagedHotels(DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * Page through all hotels, ordered by name.
+     *
+     * WHY maxSize? Without it Paging keeps every page it ever loaded. Capping it makes
+     * Paging drop pages far from the visible window, so memory stays bounded by
+     * pageSize + 2 * prefetchDistance rows instead of growing with the table.
+     *
+     * WHY placeholders? The list knows its full size up front, so the scrollbar is stable
+     * and dropped pages can be reloaded when the user scrolls back.
+     *
+     * @param pageSize Rows per page (per LIMIT/OFFSET query)
+     * @param prefetchDistance Rows ahead of the visible window to start loading
+     */
+    public LiveData<PagingData<HotelSummary>> getPagedHotels(int pageSize, int prefetchDistance) {
+        PagingConfig config = new PagingConfig(
+                pageSize,
+                prefetchDistance,
+                true,                                   // enablePlaceholders
+                pageSize * 2,                           // initialLoadSize
+                pageSize + prefetchDistance * 2);       // maxSize
+        Pager<Integer, HotelSummary> pager = new Pager<>(config, hotelDao::getHotelSummariesPaged);
+        return PagingLiveData.getLiveData(pager);
+    }
+
+    /**
+     * Load the page of hotels after a given row, in one of several orders (see
+     * {@link HotelKeysetPager}). Every page costs the same, however deep.
+     * @param after Last hotel of the previous page; null for the first page
+     */
+    public Future<?> getHotelPage(HotelKeysetPager.Order order, @Nullable HotelSummary after,
+                                  int limit, Callback<List<HotelSummary>> callback) {
+        return query(() -> keysetPager.page(order, after, limit), callback);
+    }
+
+    /**
+     * Load one hotel by id. The callback receives null if it doesn't exist.
+     *
+     * WHY the cache? Hotels the user just saw in the list are usually cached already, so
+     * the callback is posted right away without touching the database.
+     */
+    public Future<?> getHotelById(long hotelId, Callback<Hotel> callback) {
+        Hotel cached = hotelCache.get(hotelId);
+        if (cached != null) {
+            mainThread.execute(() -> callback.onResult(cached));
+            return null;
+        }
+        return query(() -> loadOrAwaitPrefetch(hotelId), callback);
+    }
+
+    /**
+     * WHY wait for a prefetch? It's the same query, already running or queued ahead.
+     */
+    @WorkerThread
+    private Hotel loadOrAwaitPrefetch(long hotelId) throws InterruptedException {
+        Future<Hotel> prefetch = prefetches.get(hotelId);
+        return prefetch != null ? awaitPrefetch(prefetch, hotelId) : loadHotel(hotelId);
+    }
+
+    /**
+     * Start loading a hotel into the cache, without a callback. Safe on the main thread.
+     *
+     * WHY? Called when the user touches a hotel row: by the time the finger lifts and the
+     * details screen starts, the row is usually in memory and the screen draws it on its
+     * first frame. Does nothing if the hotel is cached or already being loaded.
+     */
+    public void prefetchHotel(long hotelId) {
+        if (hotelCache.contains(hotelId)) {
+            return;
+        }
+        FutureTask<Hotel> prefetch = new FutureTask<>(() -> {
+            try {
+                return loadHotel(hotelId);
+            } finally {
+                prefetches.remove(hotelId);
+            }
+        });
+        // WHY register before running? A fast query could otherwise finish (and try to
+        // unregister) before it was registered, leaving a stale entry behind
+        if (prefetches.putIfAbsent(hotelId, prefetch) == null) {
+            queryExecutor.execute(prefetch);
+        }
+    }
+
+    @WorkerThread
+    private Hotel loadHotel(long hotelId) {
+        Hotel hotel = hotelDao.getHotelById(hotelId);
+        hotelCache.put(hotel);
+        return hotel;
+    }
+
+    @WorkerThread
+    private Hotel awaitPrefetch(Future<Hotel> prefetch, long hotelId) throws InterruptedException {
+        try {
+            return prefetch.get();
+        } catch (ExecutionException e) {
+            return loadHotel(hotelId);  // The prefetch failed; try once more
+        }
+    }
+
+    /**
+     * Return the cached hotel without querying the database.
+     * Safe on the main thread; use it to draw the first frame of a screen instantly.
+     * @return The hotel, or null if it isn't cached (then use observeHotelById)
+     */
+    public Hotel getCachedHotel(long hotelId) {
+        return hotelCache.get(hotelId);
+    }
+
+    /**
+     * Full-text search over name, location, nearby and food, best matches first.
+     * Every word the user typed is prefix-matched ("sea res" finds "Seaside Resort").
+     * The callback receives an empty list if the text contains no searchable words.
+     */
+    public Future<?> searchHotels(String userInput, Callback<List<HotelSummary>> callback) {
+        return searchHotels(userInput, Integer.MAX_VALUE, callback);
+    }
+
+    /**
+     * Same as {@link #searchHotels(String, Callback)}, but keeps only the best
+     * {@code maxResults} matches. Ranks at most max(maxResults,
+     * {@link HotelSearch#MAX_CANDIDATES}) matches, so a broad prefix stays cheap.
+     */
+    public Future<?> searchHotels(String userInput, int maxResults,
+                                  Callback<List<HotelSummary>> callback) {
+        return query(() -> {
+            String matchQuery = HotelSearch.toMatchQuery(userInput);
+            if (matchQuery == null) {
+                return Collections.<HotelSummary>emptyList();
+            }
+            List<HotelSummary> ranked = HotelSearch.rank(hotelDao.searchHotelsFts(matchQuery,
+                    Math.max(maxResults, HotelSearch.MAX_CANDIDATES)));
+            return ranked.size() > maxResults
+                    ? new ArrayList<>(ranked.subList(0, maxResults))
+                    : ranked;
+        }, callback);
+    }
+
+    /**
+     * The hotels within radiusMeters of a position, nearest first.
+     * @param maxResults Keep at most this many (the nearest ones)
+     */
+    public Future<?> findHotelsNear(double latitude, double longitude, double radiusMeters,
+                                    int maxResults, Callback<List<HotelNearby>> callback) {
+        return query(() -> spatialSearch.withinRadius(
+                new GeoPoint(latitude, longitude), radiusMeters, maxResults), callback);
+    }
+
+    /** The count hotels closest to a position, nearest first. */
+    public Future<?> findNearestHotels(double latitude, double longitude, int count,
+                                       Callback<List<HotelNearby>> callback) {
+        return query(() -> spatialSearch.nearest(new GeoPoint(latitude, longitude), count),
+                callback);
+    }
+
+    /**
+     * Resolve a place name ("Jounieh", "Hamra, Beirut") offline, e.g. to search near it.
+     * The callback receives null if the place is unknown.
+     * WHY the write executor? A new result is stored in the geocode cache.
+     */
+    public void geocode(String location, Callback<GeoPoint> callback) {
+        write(() -> geocoder != null ? geocoder.geocode(location) : null, callback);
+    }
+
+    /**
+     * Read the change log: which hotels were inserted, updated or deleted after afterSeq
+     * (see {@link HotelChangeLog#changesSince}). For consumers outside this process's
+     * memory, e.g. an exporter; in-memory copies use a {@link HotelChangeLog.Follower}.
+     */
+    public Future<?> getChangesSince(long afterSeq, int limit,
+                                     Callback<HotelChangeLog.Changes> callback) {
+        return query(() -> changeLog.changesSince(afterSeq, limit), callback);
+    }
+
+    /**
+     * The most common tags of one kind (Tag.KIND_ATTRACTION or Tag.KIND_CUISINE), with
+     * their hotel counts over the whole catalog, most first.
+     */
+    public Future<?> getTopTags(int kind, int limit, Callback<List<Tag>> callback) {
+        return query(() -> tagSearch.topTags(kind, limit), callback);
+    }
+
+    /** The tags of one hotel. */
+    public Future<?> getTagsOfHotel(long hotelId, Callback<List<Tag>> callback) {
+        return query(() -> database.tagDao().getTagsOfHotel(hotelId), callback);
+    }
+
+    /**
+     * One page of the hotels that have ALL the given tags, in id order
+     * (see {@link HotelTagSearch#hotelsWithTags}).
+     * @param afterHotelId Id of the last hotel of the previous page, 0 for the first page
+     */
+    public Future<?> findHotelsWithTags(List<Long> tagIds, long afterHotelId, int limit,
+                                        Callback<List<HotelSummary>> callback) {
+        return query(() -> tagSearch.hotelsWithTags(tagIds, afterHotelId, limit), callback);
+    }
+
+    /**
+     * Facet counts for a tag filter: the most common tags of one kind among the hotels
+     * that have all of tagIds, with how many of them have each.
+     */
+    public Future<?> getTagFacets(List<Long> tagIds, int kind, int limit,
+                                  Callback<List<Tag>> callback) {
+        return query(() -> tagSearch.facets(tagIds, kind, limit), callback);
+    }
+
+    /**
+     * Facet counts for a list of hotels, e.g. the search results on screen: their tags
+     * with how many of them have each, most first.
+     */
+    public Future<?> getTagFacetsOf(List<Long> hotelIds, Callback<List<Tag>> callback) {
+        return query(() -> tagSearch.facetsOf(hotelIds), callback);
+    }
+
+    /** Count the hotels in the database. */
+    public Future<?> getHotelCount(Callback<Integer> callback) {
+        return query(hotelDao::getHotelCount, callback);
+    }
+
+    // ---------------------------------------------------------------------
+    // Observable reads
+    // ---------------------------------------------------------------------
+    //
+    // WHY distinctUntilChanged? Room re-runs the query whenever the hotels table changes,
+    // even if the change didn't affect these rows. Dropping equal results means observers
+    // only redraw when their data really changed.
+
+    /**
+     * Observe one hotel. Emits null once the hotel is deleted.
+     *
+     * Reads the hotel only when it's not known yet, and again only when the change log
+     * shows it changed (see {@link HotelLiveData}); other writes don't re-query it.
+     * @param known The hotel as the caller has it (from {@link #getCachedHotel} or saved
+     *              state): emitted right away, with no read. Null: it's loaded first,
+     *              from a pending {@link #prefetchHotel} if there is one.
+     */
+    @MainThread
+    public LiveData<Hotel> observeHotelById(long hotelId, @Nullable Hotel known) {
+        return new HotelLiveData(database, changeLog, queryExecutor, hotelId, known,
+                () -> loadOrAwaitPrefetch(hotelId));
+    }
+
+    /** Observe the hotels whose name contains the given text. */
+    public LiveData<List<Hotel>> observeHotelsByName(String searchQuery) {
+        return Transformations.distinctUntilChanged(hotelDao.observeHotelsByName(searchQuery));
+    }
+
+    // ---------------------------------------------------------------------
+    // Writes
+    // ---------------------------------------------------------------------
+
+    /**
+     * Insert a hotel. The callback receives the new row id.
+     * @param callback May be null if the caller doesn't need the id
+     */
+    public void insert(Hotel hotel, Callback<Long> callback) {
+        write(() -> {
+            locate(hotel);
+            return hotelDao.insert(hotel);
+        }, callback);
+    }
+
+    /**
+     * Update an existing hotel (matched by id). If its location text changed but its
+     * position didn't, the position is looked up again for the new location.
+     */
+    public void update(Hotel hotel, Callback<Void> callback) {
+        write(() -> {
+            forgetStalePosition(hotel);
+            locate(hotel);
+            hotelDao.update(hotel);
+            hotelCache.put(hotel);
+            return null;
+        }, callback);
+    }
+
+    /** Delete a hotel (matched by id). */
+    public void delete(Hotel hotel, Callback<Void> callback) {
+        write(() -> {
+            hotelDao.delete(hotel);
+            hotelCache.remove(hotel.getId());
+            return null;
+        }, callback);
+    }
+
+    /**
+     * Seed the sample hotels if the table is empty.
+     * WHY on the write executor? The COUNT(*) and the inserts must not run on the UI thread,
+     * and queuing them on the single writer guarantees they finish before any later write.
+     */
+    public void populateInitialData(Callback<Void> callback) {
+        write(() -> {
+            AppDatabase.populateInitialData(database);
+            return null;
+        }, callback);
+    }
+
+    /**
+     * Give every hotel stored without a position one from its location text, if the
+     * gazetteer knows it (see {@link OfflineGeocoder#locateMissing}).
+     * @param callback Receives the number of hotels positioned; may be null
+     */
+    public void locateMissingHotels(Callback<Integer> callback) {
+        write(() -> geocoder != null ? geocoder.locateMissing() : 0, callback);
+    }
+
+    /**
+     * Drop old entries from the change log (see {@link HotelChangeLog#compact}).
+     * @param callback Receives the number of entries deleted; may be null
+     */
+    public void compactChangeLog(Callback<Integer> callback) {
+        write(changeLog::compact, callback);
+    }
+
+    /**
+     * Clear the position of a hotel whose location text was edited, so {@link #locate}
+     * finds the new one. WHY compare with the stored row? An edit form passes the old
+     * position back unchanged; a caller that set a new position itself keeps it.
+     */
+    @WorkerThread
+    private void forgetStalePosition(Hotel hotel) {
+        Hotel stored = hotelDao.getHotelById(hotel.getId());
+        if (stored != null
+                && !Objects.equals(stored.getLocation(), hotel.getLocation())
+                && Objects.equals(stored.getLatitude(), hotel.getLatitude())
+                && Objects.equals(stored.getLongitude(), hotel.getLongitude())) {
+            hotel.setLatitude(null);
+            hotel.setLongitude(null);
+        }
+    }
+
+    /** Fill in the hotel's position before it's written, if it has none. */
+    @WorkerThread
+    private void locate(Hotel hotel) {
+        if (geocoder != null) {
+            geocoder.locate(hotel);
+        }
+    }
+
+    /**
+     * Bulk-import hotels from a CSV or JSON stream (see {@link HotelImporter} for the format).
+     * Runs on the write executor; the stream is closed when done. The imported hotels
+     * are positioned afterwards, see {@link #locateMissingHotels}.
+     * @param callback Receives the row count and throughput, or null if the file couldn't
+     *                 be read or parsed (the error is logged)
+     */
+    public void importHotels(InputStream input, HotelImporter.Format format,
+                             Callback<HotelImporter.Result> callback) {
+        write(() -> {
+            try {
+                HotelImporter.Result result = new HotelImporter(hotelDao).importHotels(input, format);
+                // Queued behind this write; the callback doesn't wait for it
+                locateMissingHotels(null);
+                return result;
+            } catch (IOException e) {
+                // WHY not rethrow? A bad file is a user error, not a bug - don't crash the app
+                Log.w(TAG, "Hotel import failed", e);
+                return null;
+            }
+        }, callback);
+    }
+
+    // ---------------------------------------------------------------------
+    // Sync
+    // ---------------------------------------------------------------------
+
+    /**
+     * A sync engine that writes into this repository's database, positions synced hotels
+     * with its geocoder and keeps its cache fresh. See {@link HotelSyncEngine}.
+     * WHY no callback variant? Sync runs in a background job (HotelSyncWorker) that
+     * already has its own thread and must wait for the result.
+     */
+    public HotelSyncEngine createSyncEngine(SyncClient client) {
+        return new HotelSyncEngine(database, client, geocoder, hotelCache);
+    }
+
+    /**
+     * Keeps {@link #hotelCache} in step with writes made anywhere - the sync, the
+     * geocoder backfill, imports: changed hotels that are cached are reloaded (one query),
+     * deleted ones dropped. Nothing else in the cache is touched.
+     */
+    private final class CacheFollower extends HotelChangeLog.Follower {
+        CacheFollower() {
+            super(changeLog);
+        }
+
+        @Override
+        protected void onHotelsChanged(Set<Long> changedIds, Set<Long> deletedIds) {
+            for (long hotelId : deletedIds) {
+                hotelCache.remove(hotelId);
+            }
+            List<Long> stale = new ArrayList<>();
+            for (long hotelId : hotelCache.cachedIds()) {
+                if (changedIds.contains(hotelId)) {
+                    stale.add(hotelId);
+                }
+            }
+            if (!stale.isEmpty()) {
+                for (long hotelId : stale) {
+                    hotelCache.remove(hotelId);  // In case it was deleted since
+                }
+                // At most HotelCache.MAX_ENTRIES ids: within the bound-variable limit
+                for (Hotel hotel : hotelDao.getHotelsByIds(stale)) {
+                    hotelCache.put(hotel);
+                }
+            }
+        }
+
+        @Override
+        protected void onReset() {
+            hotelCache.clear();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Threading helpers
+    // ---------------------------------------------------------------------
+
+    private <T> Future<?> query(Callable<T> work, Callback<T> callback) {
+        return queryExecutor.submit(() -> deliver(work, callback));
+    }
+
+    private <T> void write(Callable<T> work, Callback<T> callback) {
+        writeExecutor.execute(() -> deliver(work, callback));
+    }
+
+    /**
+     * Run the work on the current (background) thread and post the result, or the
+     * failure, to the main thread.
+     *
+     * WHY not rethrow? On the write executor an uncaught exception kills the process;
+     * inside a query's Future it disappears silently. Either way the caller never hears
+     * about it. So failures are logged and reported through {@link Callback#onError}.
+     */
+    private <T> void deliver(Callable<T> work, Callback<T> callback) {
+        final T result;
+        try {
+            result = work.call();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                return;  // Cancelled by the caller, which no longer wants an answer
+            }
+            Log.e(TAG, "Database operation failed", e);
+            if (callback != null) {
+                mainThread.execute(() -> callback.onError(e));
+            }
+            return;
+        }
+        if (callback != null && !Thread.currentThread().isInterrupted()) {
+            mainThread.execute(() -> callback.onResult(result));
+        }
+    }
+}
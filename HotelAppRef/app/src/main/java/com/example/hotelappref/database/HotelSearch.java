@@ -0,0 +1,135 @@
+package com.example.hotelappref.database;
+
+import com.example.hotelappref.models.HotelSearchResult;
+import com.example.hotelappref.models.HotelSummary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Helpers for full-text search over the hotels_fts index.
+ *
+ * - {@link #toMatchQuery} turns what the user typed into a safe FTS prefix query.
+ * - {@link #rank} orders matches by relevance using SQLite's matchinfo() statistics.
+ */
+public final class HotelSearch {
+
+    /**
+     * Relevance weight of each FTS column, in the order they're declared in HotelFts:
+     * name, location, nearby, food.
+     * WHY weights? A hit in the hotel's name is a much better match than a hit in the
+     * list of restaurants.
+     */
+    static final double[] COLUMN_WEIGHTS = {4.0, 2.0, 1.0, 1.0};
+
+    /**
+     * Shorter words are not searched. WHY? "h*" matches nearly every hotel, and each
+     * match costs a row plus its matchinfo() blob; one letter says too little to rank by.
+     */
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * At most this many matches are read and ranked per search (see
+     * {@link HotelDao#searchHotelsFts}). A prefix that matches more hotels than this is
+     * too broad for the ranking to mean much; the user narrows it by typing on.
+     */
+    public static final int MAX_CANDIDATES = 1000;
+
+    private HotelSearch() {
+    }
+
+    /**
+     * Build an FTS MATCH expression that prefix-matches every word the user typed.
+     * Example: {@code "Beir hot"} becomes {@code "beir* hot*"} (both words must match).
+     *
+     * WHY strip punctuation? Characters like quotes, '-' or ':' are FTS operators; keeping
+     * only letters and digits means user input can never produce a syntax error.
+     * Words shorter than {@link #MIN_PREFIX_LENGTH} are dropped.
+     *
+     * @return The MATCH expression, or null if the input contains no searchable words
+     */
+    public static String toMatchQuery(String userInput) {
+        if (userInput == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        String text = userInput.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (word.length() >= MIN_PREFIX_LENGTH) {
+                    if (query.length() > 0) {
+                        query.append(' ');
+                    }
+                    query.append(word).append('*');
+                }
+                word.setLength(0);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Sort search results by relevance (best first) and unwrap the hotels.
+     * Ties keep SQLite's order.
+     */
+    public static List<HotelSummary> rank(List<HotelSearchResult> results) {
+        final int size = results.size();
+        final double[] scores = new double[size];
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(results.get(i).matchInfo);
+            order.add(i);
+        }
+        Collections.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<HotelSummary> hotels = new ArrayList<>(size);
+        for (int index : order) {
+            hotels.add(results.get(index).hotel);
+        }
+        return hotels;
+    }
+
+    /**
+     * Compute a relevance score from a matchinfo(hotels_fts, 'pcx') blob.
+     *
+     * The blob is a list of 32-bit integers in native byte order:
+     * [phraseCount, columnCount, then for each phrase and column:
+     *  hitsInThisRow, hitsInAllRows, rowsWithHits].
+     *
+     * Score = sum over phrases and columns of weight * hitsInThisRow / hitsInAllRows.
+     * WHY divide by hitsInAllRows? A word that appears everywhere ("hotel") says little
+     * about relevance; a rare word that appears in this row says a lot.
+     */
+    static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int offset = 4 * (2 + 3 * (phrase * columnCount + column));
+                if (offset + 8 > matchInfo.length) {
+                    return score;
+                }
+                int hitsInRow = buffer.getInt(offset);
+                int hitsInAllRows = buffer.getInt(offset + 4);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                    score += weight * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+}
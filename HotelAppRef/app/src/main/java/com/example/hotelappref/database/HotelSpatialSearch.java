@@ -0,0 +1,92 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.geo.GeoMath;
+import com.example.hotelappref.geo.GeoPoint;
+import com.example.hotelappref.models.HotelNearby;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * "Hotels near X": radius and k-nearest searches over the hotels' positions.
+ *
+ * - {@link #withinRadius}: ask the spatial index for the circle's bounding box(es),
+ *   then keep the hotels whose exact distance is within the radius, nearest first.
+ * - {@link #nearest}: a radius search that grows the radius until it holds k hotels.
+ *   WHY is that exact? Every hotel within radius r is in r's box, so once k hotels lie
+ *   within r, no hotel outside r can be nearer than the k-th one.
+ *
+ * The index is the hotels_rtree R*Tree where available (see {@link SpatialIndex}), so
+ * the cost depends on the number of hotels near the center, not on the table size.
+ */
+public final class HotelSpatialSearch {
+
+    /** First radius {@link #nearest} tries. */
+    static final double FIRST_RADIUS_METERS = 2_000;
+
+    /**
+     * Factor the radius grows by when it holds too few hotels.
+     * WHY 4? The box area grows 16x per step, so sparse areas need few steps (~7 from
+     * 2 km to the whole Earth); dense areas stop in the first step or two anyway.
+     */
+    static final double RADIUS_GROWTH = 4;
+
+    private final AppDatabase database;
+    private final HotelDao hotelDao;
+    private volatile Boolean useRTree;  // Looked up on first use
+
+    public HotelSpatialSearch(AppDatabase database) {
+        this.database = database;
+        this.hotelDao = database.hotelDao();
+    }
+
+    /**
+     * The hotels within radiusMeters of center, nearest first.
+     * @param limit Keep at most this many (the nearest ones)
+     */
+    @WorkerThread
+    public List<HotelNearby> withinRadius(GeoPoint center, double radiusMeters, int limit) {
+        List<HotelNearby> found = new ArrayList<>();
+        for (GeoMath.Bounds box : GeoMath.boundingBoxes(center, radiusMeters)) {
+            for (HotelNearby candidate
+                    : hotelDao.findHotelsInBox(SpatialIndex.boxQuery(useRTree(), box))) {
+                candidate.distanceMeters = GeoMath.distanceMeters(
+                        center.latitude, center.longitude, candidate.latitude, candidate.longitude);
+                // The box's corners lie outside the circle
+                if (candidate.distanceMeters <= radiusMeters) {
+                    found.add(candidate);
+                }
+            }
+        }
+        Collections.sort(found, (a, b) -> Double.compare(a.distanceMeters, b.distanceMeters));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * The count hotels nearest to center, nearest first. Fewer if fewer hotels have a
+     * position.
+     */
+    @WorkerThread
+    public List<HotelNearby> nearest(GeoPoint center, int count) {
+        double radius = FIRST_RADIUS_METERS;
+        while (true) {
+            List<HotelNearby> found = withinRadius(center, radius, count);
+            if (found.size() >= count || radius >= GeoMath.MAX_DISTANCE_METERS) {
+                return found;
+            }
+            radius = Math.min(radius * RADIUS_GROWTH, GeoMath.MAX_DISTANCE_METERS);
+        }
+    }
+
+    private boolean useRTree() {
+        Boolean rtree = useRTree;
+        if (rtree == null) {
+            rtree = SpatialIndex.isInstalled(database.getOpenHelper().getReadableDatabase());
+            useRTree = rtree;
+        }
+        return rtree;
+    }
+}
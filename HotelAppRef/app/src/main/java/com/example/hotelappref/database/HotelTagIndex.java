@@ -0,0 +1,310 @@
+package com.example.hotelappref.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.example.hotelappref.models.HotelChange;
+import com.example.hotelappref.models.HotelTag;
+import com.example.hotelappref.models.LogCursor;
+import com.example.hotelappref.models.Tag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the tags and hotel_tags tables ({@link Tag}, {@link HotelTag}) in step with
+ * Hotel.nearby and Hotel.food.
+ *
+ * WHY follow the change log instead of tagging in HotelDao? Hotels are written by the
+ * repository, the importer, the sync and raw UPDATE queries; the log (see
+ * {@link HotelChangeLog}) sees all of them. After each write this replays the logged
+ * changes: each changed hotel's text is split again ({@link TagSplitter}) and only the
+ * links that differ are written, with the tags' hotelCount adjusted to match.
+ *
+ * DURABLE: the position in the log is stored in log_cursors ({@link LogCursor}) in the
+ * same transaction as the tags, so the two always agree, across restarts too. Without a
+ * position, or when the changes it needs were compacted away, all hotels are tagged
+ * again ({@link #rebuild}) - keeping the tag ids.
+ *
+ * CONSISTENCY: tags follow a hotel write by one invalidation round, not within its
+ * transaction: a filter run right after a write may not see it yet.
+ */
+final class HotelTagIndex extends InvalidationTracker.Observer {
+
+    /** Its row in log_cursors. */
+    static final String CONSUMER = "hotel_tags";
+
+    private final AppDatabase database;
+    private final HotelChangeLog changeLog;
+    private final Executor writeExecutor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param writeExecutor Runs {@link #catchUp}; the single write executor, so tagging
+     *                      never competes with another writer for the write lock
+     */
+    HotelTagIndex(AppDatabase database, HotelChangeLog changeLog, Executor writeExecutor) {
+        super(HotelChange.TABLE);
+        this.database = database;
+        this.changeLog = changeLog;
+        this.writeExecutor = writeExecutor;
+    }
+
+    @Override
+    public void onInvalidated(@NonNull Set<String> tables) {
+        schedule();
+    }
+
+    /**
+     * Run {@link #catchUp} on the write executor, unless it's already queued.
+     * WHY coalesce? An import commits many batches; one queued catch-up covers them all.
+     */
+    void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            writeExecutor.execute(() -> {
+                scheduled.set(false);
+                catchUp();
+            });
+        }
+    }
+
+    /**
+     * Apply every hotel change logged since the stored position, in one transaction.
+     * @return Number of hotels retagged, or -1 if everything was rebuilt
+     */
+    @WorkerThread
+    synchronized int catchUp() {
+        return database.runInTransaction(() -> {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            long seq = readCursor(db);
+            if (seq < 0 || changeLog.latestSeq() - seq > HotelChangeLog.REPLAY_LIMIT) {
+                rebuild(db);
+                return -1;
+            }
+            Set<Long> hotelIds = new LinkedHashSet<>();
+            HotelChangeLog.Changes batch;
+            do {
+                batch = changeLog.changesSince(seq, HotelChangeLog.READ_BATCH_SIZE);
+                if (!batch.complete) {
+                    rebuild(db);
+                    return -1;
+                }
+                // Deleted or not, a hotel is retagged from what the table holds now
+                for (HotelChange change : batch.changes) {
+                    hotelIds.add(change.getHotelId());
+                }
+                seq = batch.lastSeq;
+            } while (batch.changes.size() == HotelChangeLog.READ_BATCH_SIZE);
+
+            if (!hotelIds.isEmpty()) {
+                retag(db, new ArrayList<>(hotelIds));
+            }
+            writeCursor(db, seq);
+            return hotelIds.size();
+        });
+    }
+
+    /**
+     * Tag every hotel again from scratch and move the position to the end of the log.
+     * Run inside a transaction. Also used by {@link Migrations#MIGRATION_7_8}.
+     *
+     * WHY keep the tags rows? Their ids may be held by a screen (a selected filter);
+     * only the links and counts are rebuilt.
+     */
+    @WorkerThread
+    static void rebuild(SupportSQLiteDatabase db) {
+        db.execSQL("DELETE FROM `hotel_tags`");
+        db.execSQL("UPDATE `tags` SET `hotelCount` = 0");
+        Writer writer = new Writer(db);
+        try (Cursor cursor = db.query("SELECT `id`, `nearby`, `food` FROM `hotels`")) {
+            while (cursor.moveToNext()) {
+                writer.link(cursor.getLong(0), writer.tagIdsOf(cursor.getString(1), cursor.getString(2)));
+            }
+        }
+        writer.flushCounts();
+        writeCursor(db, latestSeq(db));
+    }
+
+    /**
+     * WHY diff instead of unlink-all and relink? Most updates (a new phone number, a
+     * position) leave the tags alone: then nothing is written at all.
+     */
+    private static void retag(SupportSQLiteDatabase db, List<Long> hotelIds) {
+        Writer writer = new Writer(db);
+        for (int from = 0; from < hotelIds.size(); from += HotelChangeLog.READ_BATCH_SIZE) {
+            List<Long> chunk = hotelIds.subList(from,
+                    Math.min(from + HotelChangeLog.READ_BATCH_SIZE, hotelIds.size()));
+            Map<Long, Set<Long>> current = new HashMap<>();
+            try (Cursor cursor = db.query("SELECT `id`, `nearby`, `food` FROM `hotels` "
+                    + "WHERE `id` IN (" + placeholders(chunk.size()) + ")", chunk.toArray())) {
+                while (cursor.moveToNext()) {
+                    current.put(cursor.getLong(0),
+                            writer.tagIdsOf(cursor.getString(1), cursor.getString(2)));
+                }
+            }
+            for (long hotelId : chunk) {
+                Set<Long> wanted = current.containsKey(hotelId)
+                        ? current.get(hotelId)
+                        : new HashSet<>();  // Deleted
+                Set<Long> linked = writer.linkedTagIds(hotelId);
+                Set<Long> added = new HashSet<>(wanted);
+                added.removeAll(linked);
+                linked.removeAll(wanted);
+                writer.unlink(hotelId, linked);
+                writer.link(hotelId, added);
+            }
+        }
+        writer.flushCounts();
+    }
+
+    /** Stored position, or -1 if there is none. */
+    private static long readCursor(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT `seq` FROM `log_cursors` WHERE `consumer` = ?",
+                new Object[]{CONSUMER})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+
+    private static void writeCursor(SupportSQLiteDatabase db, long seq) {
+        ContentValues values = new ContentValues();
+        values.put("consumer", CONSUMER);
+        values.put("seq", seq);
+        db.insert("log_cursors", SQLiteDatabase.CONFLICT_REPLACE, values);
+    }
+
+    /** Same as {@link HotelChangeLog#latestSeq()}, for callers without a Room database. */
+    private static long latestSeq(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT COALESCE(MAX(`seq`), 0) FROM `hotel_changes`")) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Writes links through compiled statements and interns tag names, for one
+     * transaction.
+     *
+     * WHY collect the hotelCount changes? A rebuild links 100k+ hotels to a few hundred
+     * tags; one UPDATE per tag at the end instead of one per link.
+     */
+    private static final class Writer {
+        private final SupportSQLiteDatabase db;
+        private final SupportSQLiteStatement insertTag;
+        private final SupportSQLiteStatement insertLink;
+        private final SupportSQLiteStatement deleteLink;
+        private final Map<String, Long> tagIds = new HashMap<>();  // kind:normalized -> id
+        private final Map<Long, Integer> countDeltas = new HashMap<>();
+
+        Writer(SupportSQLiteDatabase db) {
+            this.db = db;
+            this.insertTag = db.compileStatement("INSERT INTO `tags` "
+                    + "(`kind`, `normalized`, `name`, `hotelCount`) VALUES (?, ?, ?, 0)");
+            this.insertLink = db.compileStatement(
+                    "INSERT OR IGNORE INTO `hotel_tags` (`tagId`, `hotelId`) VALUES (?, ?)");
+            this.deleteLink = db.compileStatement(
+                    "DELETE FROM `hotel_tags` WHERE `tagId` = ? AND `hotelId` = ?");
+        }
+
+        /** The ids of the tags in a hotel's nearby and food text, created if new. */
+        Set<Long> tagIdsOf(String nearby, String food) {
+            Set<Long> ids = new HashSet<>();
+            intern(Tag.KIND_ATTRACTION, TagSplitter.split(nearby), ids);
+            intern(Tag.KIND_CUISINE, TagSplitter.split(food), ids);
+            return ids;
+        }
+
+        private void intern(int kind, Map<String, String> names, Set<Long> into) {
+            for (Map.Entry<String, String> name : names.entrySet()) {
+                String key = kind + ":" + name.getKey();
+                Long id = tagIds.get(key);
+                if (id == null) {
+                    id = findTag(kind, name.getKey());
+                    if (id == null) {
+                        insertTag.bindLong(1, kind);
+                        insertTag.bindString(2, name.getKey());
+                        insertTag.bindString(3, name.getValue());
+                        id = insertTag.executeInsert();
+                    }
+                    tagIds.put(key, id);
+                }
+                into.add(id);
+            }
+        }
+
+        private Long findTag(int kind, String normalized) {
+            try (Cursor cursor = db.query("SELECT `id` FROM `tags` "
+                    + "WHERE `kind` = ? AND `normalized` = ?", new Object[]{kind, normalized})) {
+                return cursor.moveToFirst() ? cursor.getLong(0) : null;
+            }
+        }
+
+        Set<Long> linkedTagIds(long hotelId) {
+            Set<Long> ids = new HashSet<>();
+            try (Cursor cursor = db.query("SELECT `tagId` FROM `hotel_tags` WHERE `hotelId` = ?",
+                    new Object[]{hotelId})) {
+                while (cursor.moveToNext()) {
+                    ids.add(cursor.getLong(0));
+                }
+            }
+            return ids;
+        }
+
+        void link(long hotelId, Set<Long> tagIds) {
+            for (long tagId : tagIds) {
+                insertLink.bindLong(1, tagId);
+                insertLink.bindLong(2, hotelId);
+                insertLink.executeInsert();
+                addCount(tagId, 1);
+            }
+        }
+
+        void unlink(long hotelId, Set<Long> tagIds) {
+            for (long tagId : tagIds) {
+                deleteLink.bindLong(1, tagId);
+                deleteLink.bindLong(2, hotelId);
+                deleteLink.executeUpdateDelete();
+                addCount(tagId, -1);
+            }
+        }
+
+        private void addCount(long tagId, int delta) {
+            Integer count = countDeltas.get(tagId);
+            countDeltas.put(tagId, (count != null ? count : 0) + delta);
+        }
+
+        void flushCounts() {
+            SupportSQLiteStatement update = db.compileStatement(
+                    "UPDATE `tags` SET `hotelCount` = `hotelCount` + ? WHERE `id` = ?");
+            for (Map.Entry<Long, Integer> delta : countDeltas.entrySet()) {
+                if (delta.getValue() != 0) {
+                    update.bindLong(1, delta.getValue());
+                    update.bindLong(2, delta.getKey());
+                    update.executeUpdateDelete();
+                }
+            }
+            countDeltas.clear();
+        }
+    }
+}
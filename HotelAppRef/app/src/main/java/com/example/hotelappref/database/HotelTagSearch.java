@@ -0,0 +1,159 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.WorkerThread;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Hotels with Seafood AND near Jeita Grotto", and the facet counts shown next to each
+ * tag (how many of the current results have it).
+ *
+ * HOW: the selected tag with the fewest hotels drives the query - its links are read
+ * in hotel id order from the hotel_tags primary key - and every other tag is one
+ * primary-key probe per candidate, rarest first so misses are found early. The cost
+ * depends on the rarest tag's hotel count, never on the table size, and a page stops
+ * after limit matches.
+ *
+ * Tags lag hotel writes slightly (see {@link HotelTagIndex}).
+ */
+public final class HotelTagSearch {
+
+    private static final String SUMMARY_COLUMNS =
+            "h.id, h.name, h.location, h.imageResource, h.photoUri";
+
+    private final TagDao tagDao;
+
+    public HotelTagSearch(AppDatabase database) {
+        this.tagDao = database.tagDao();
+    }
+
+    /**
+     * The most common tags of one kind over all hotels, most first.
+     * Reads the stored counts: a few index rows, whatever the catalog size.
+     */
+    @WorkerThread
+    public List<Tag> topTags(int kind, int limit) {
+        return tagDao.getTopTags(kind, limit);
+    }
+
+    /**
+     * One page of the hotels that have all the given tags, in id order.
+     * @param tagIds Selected tags; no tags (or an unknown one) matches no hotels
+     * @param afterHotelId Last id of the previous page, 0 for the first page
+     */
+    @WorkerThread
+    public List<HotelSummary> hotelsWithTags(List<Long> tagIds, long afterHotelId, int limit) {
+        List<Tag> tags = rarestFirst(tagIds);
+        if (tags == null) {
+            return Collections.emptyList();
+        }
+        return tagDao.getHotelsWithTags(withTagsQuery(tags, afterHotelId, limit));
+    }
+
+    /**
+     * Facet counts for the hotels that have all the given tags: their most common tags
+     * of one kind, with {@link Tag#getHotelCount()} = how many of those hotels have it.
+     * With no tags selected these are the counts over all hotels ({@link #topTags}).
+     */
+    @WorkerThread
+    public List<Tag> facets(List<Long> tagIds, int kind, int limit) {
+        if (tagIds.isEmpty()) {
+            return topTags(kind, limit);
+        }
+        List<Tag> tags = rarestFirst(tagIds);
+        if (tags == null) {
+            return Collections.emptyList();
+        }
+        return tagDao.countTags(facetsQuery(tags, kind, limit));
+    }
+
+    /**
+     * Facet counts for any list of hotels, e.g. a page of search results: each of their
+     * tags with {@link Tag#getHotelCount()} = how many of the hotels have it, most first.
+     */
+    @WorkerThread
+    public List<Tag> facetsOf(List<Long> hotelIds) {
+        Map<Long, Tag> merged = new HashMap<>();
+        for (int from = 0; from < hotelIds.size(); from += HotelChangeLog.READ_BATCH_SIZE) {
+            for (Tag tag : tagDao.countTagsOfHotels(hotelIds.subList(from,
+                    Math.min(from + HotelChangeLog.READ_BATCH_SIZE, hotelIds.size())))) {
+                Tag seen = merged.get(tag.getId());
+                merged.put(tag.getId(), seen == null ? tag : new Tag(tag.getId(), tag.getKind(),
+                        tag.getNormalized(), tag.getName(), seen.getHotelCount() + tag.getHotelCount()));
+            }
+        }
+        List<Tag> facets = new ArrayList<>(merged.values());
+        Collections.sort(facets, (a, b) -> Integer.compare(b.getHotelCount(), a.getHotelCount()));
+        return facets;
+    }
+
+    /** The tags, fewest hotels first; null if there are none or one doesn't exist. */
+    @WorkerThread
+    private List<Tag> rarestFirst(List<Long> tagIds) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(tagIds));
+        if (distinct.isEmpty() || distinct.size() > HotelChangeLog.READ_BATCH_SIZE) {
+            return null;
+        }
+        List<Tag> tags = tagDao.getTags(distinct);
+        if (tags.size() != distinct.size()) {
+            return null;
+        }
+        Collections.sort(tags, (a, b) -> Integer.compare(a.getHotelCount(), b.getHotelCount()));
+        return tags;
+    }
+
+    /** @param tags Fewest hotels first; the first one drives the query */
+    static SupportSQLiteQuery withTagsQuery(List<Tag> tags, long afterHotelId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT " + SUMMARY_COLUMNS
+                + " FROM hotel_tags d JOIN hotels h ON h.id = d.hotelId"
+                + " WHERE d.tagId = ? AND d.hotelId > ?");
+        args.add(tags.get(0).getId());
+        args.add(afterHotelId);
+        appendHasTags(sql, args, tags);
+        sql.append(" ORDER BY d.hotelId LIMIT ?");
+        args.add(limit);
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    /**
+     * @param tags Fewest hotels first; the first one drives the query
+     *
+     * WHY a GROUP BY over the matching hotels' links, not stored counts? The counts
+     * depend on the selection. The work is one read of each matching hotel's tags.
+     */
+    static SupportSQLiteQuery facetsQuery(List<Tag> tags, int kind, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.kind, t.normalized, t.name, COUNT(*) AS hotelCount"
+                        + " FROM hotel_tags d JOIN hotel_tags o ON o.hotelId = d.hotelId"
+                        + " JOIN tags t ON t.id = o.tagId"
+                        + " WHERE d.tagId = ? AND t.kind = ?");
+        args.add(tags.get(0).getId());
+        args.add(kind);
+        appendHasTags(sql, args, tags);
+        sql.append(" GROUP BY o.tagId ORDER BY hotelCount DESC LIMIT ?");
+        args.add(limit);
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    /** One primary-key probe per tag after the driving one. */
+    private static void appendHasTags(StringBuilder sql, List<Object> args, List<Tag> tags) {
+        for (int i = 1; i < tags.size(); i++) {
+            sql.append(" AND EXISTS (SELECT 1 FROM hotel_tags x").append(i)
+                    .append(" WHERE x").append(i).append(".tagId = ? AND x").append(i)
+                    .append(".hotelId = d.hotelId)");
+            args.add(tags.get(i).getId());
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.hotelappref.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.os.CancellationSignal;
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link SupportSQLiteDatabase} that forwards every call and records statement latency.
+ *
+ * WHAT is measured?
+ * - Queries: from the query() call until the cursor is closed. SQLite steps through the
+ *   rows lazily while the cursor is read, so timing query() alone would miss most of
+ *   the work. Room closes the cursor at the end of every DAO method.
+ * - execSQL / insert / update / delete: the call itself.
+ * - Compiled statements (Room's @Insert/@Update/@Delete): each execute*() call, see
+ *   {@link InstrumentedStatement}.
+ *
+ * Transactions and configuration calls are forwarded without timing.
+ */
+final class InstrumentedDatabase implements SupportSQLiteDatabase {
+
+    private final SupportSQLiteDatabase delegate;
+    private final QueryStats stats;
+
+    InstrumentedDatabase(SupportSQLiteDatabase delegate, QueryStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    boolean wraps(SupportSQLiteDatabase db) {
+        return delegate == db;
+    }
+
+    // ---------------------------------------------------------------------
+    // Timed statements
+    // ---------------------------------------------------------------------
+
+    @NonNull
+    @Override
+    public SupportSQLiteStatement compileStatement(@NonNull String sql) {
+        return new InstrumentedStatement(delegate.compileStatement(sql), sql, stats);
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull String query) {
+        long start = System.nanoTime();
+        return new TimedCursor(delegate.query(query), query, start, stats);
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull String query, @NonNull Object[] bindArgs) {
+        long start = System.nanoTime();
+        return new TimedCursor(delegate.query(query, bindArgs), query, start, stats);
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull SupportSQLiteQuery query) {
+        long start = System.nanoTime();
+        return new TimedCursor(delegate.query(query), query.getSql(), start, stats);
+    }
+
+    @NonNull
+    @Override
+    public Cursor query(@NonNull SupportSQLiteQuery query, CancellationSignal cancellationSignal) {
+        long start = System.nanoTime();
+        return new TimedCursor(delegate.query(query, cancellationSignal), query.getSql(), start, stats);
+    }
+
+    @Override
+    public long insert(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values)
+            throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return delegate.insert(table, conflictAlgorithm, values);
+        } finally {
+            stats.record("INSERT INTO " + table + " " + values.keySet(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int delete(@NonNull String table, String whereClause, Object[] whereArgs) {
+        long start = System.nanoTime();
+        try {
+            return delegate.delete(table, whereClause, whereArgs);
+        } finally {
+            stats.record("DELETE FROM " + table + (whereClause != null ? " WHERE " + whereClause : ""),
+                    System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int update(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values,
+                      String whereClause, Object[] whereArgs) {
+        long start = System.nanoTime();
+        try {
+            return delegate.update(table, conflictAlgorithm, values, whereClause, whereArgs);
+        } finally {
+            stats.record("UPDATE " + table + " SET " + values.keySet()
+                            + (whereClause != null ? " WHERE " + whereClause : ""),
+                    System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void execSQL(@NonNull String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            delegate.execSQL(sql);
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void execSQL(@NonNull String sql, @NonNull Object[] bindArgs) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            delegate.execSQL(sql, bindArgs);
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Forwarded as-is
+    // ---------------------------------------------------------------------
+
+    @Override
+    public void beginTransaction() {
+        delegate.beginTransaction();
+    }
+
+    @Override
+    public void beginTransactionNonExclusive() {
+        delegate.beginTransactionNonExclusive();
+    }
+
+    @Override
+    public void beginTransactionWithListener(@NonNull SQLiteTransactionListener transactionListener) {
+        delegate.beginTransactionWithListener(transactionListener);
+    }
+
+    @Override
+    public void beginTransactionWithListenerNonExclusive(
+            @NonNull SQLiteTransactionListener transactionListener) {
+        delegate.beginTransactionWithListenerNonExclusive(transactionListener);
+    }
+
+    @Override
+    public void endTransaction() {
+        delegate.endTransaction();
+    }
+
+    @Override
+    public void setTransactionSuccessful() {
+        delegate.setTransactionSuccessful();
+    }
+
+    @Override
+    public boolean inTransaction() {
+        return delegate.inTransaction();
+    }
+
+    @Override
+    public boolean isDbLockedByCurrentThread() {
+        return delegate.isDbLockedByCurrentThread();
+    }
+
+    @Override
+    public boolean yieldIfContendedSafely() {
+        return delegate.yieldIfContendedSafely();
+    }
+
+    @Override
+    public boolean yieldIfContendedSafely(long sleepAfterYieldDelayMillis) {
+        return delegate.yieldIfContendedSafely(sleepAfterYieldDelayMillis);
+    }
+
+    @Override
+    public boolean isExecPerConnectionSQLSupported() {
+        return delegate.isExecPerConnectionSQLSupported();
+    }
+
+    @Override
+    public void execPerConnectionSQL(@NonNull String sql, Object[] bindArgs) {
+        delegate.execPerConnectionSQL(sql, bindArgs);
+    }
+
+    @Override
+    public int getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void setVersion(int version) {
+        delegate.setVersion(version);
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return delegate.getMaximumSize();
+    }
+
+    @Override
+    public long setMaximumSize(long numBytes) {
+        return delegate.setMaximumSize(numBytes);
+    }
+
+    @Override
+    public long getPageSize() {
+        return delegate.getPageSize();
+    }
+
+    @Override
+    public void setPageSize(long numBytes) {
+        delegate.setPageSize(numBytes);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return delegate.isReadOnly();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public boolean needUpgrade(int newVersion) {
+        return delegate.needUpgrade(newVersion);
+    }
+
+    @Override
+    public String getPath() {
+        return delegate.getPath();
+    }
+
+    @Override
+    public void setLocale(@NonNull Locale locale) {
+        delegate.setLocale(locale);
+    }
+
+    @Override
+    public void setMaxSqlCacheSize(int cacheSize) {
+        delegate.setMaxSqlCacheSize(cacheSize);
+    }
+
+    @Override
+    public void setForeignKeyConstraintsEnabled(boolean enabled) {
+        delegate.setForeignKeyConstraintsEnabled(enabled);
+    }
+
+    @Override
+    public boolean enableWriteAheadLogging() {
+        return delegate.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void disableWriteAheadLogging() {
+        delegate.disableWriteAheadLogging();
+    }
+
+    @Override
+    public boolean isWriteAheadLoggingEnabled() {
+        return delegate.isWriteAheadLoggingEnabled();
+    }
+
+    @Override
+    public List<Pair<String, String>> getAttachedDbs() {
+        return delegate.getAttachedDbs();
+    }
+
+    @Override
+    public boolean isDatabaseIntegrityOk() {
+        return delegate.isDatabaseIntegrityOk();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /** Records the query's latency when it's closed (once). */
+    private static final class TimedCursor extends CursorWrapper {
+        private final String sql;
+        private final long start;
+        private final QueryStats stats;
+        private boolean recorded;
+
+        TimedCursor(Cursor cursor, String sql, long start, QueryStats stats) {
+            super(cursor);
+            this.sql = sql;
+            this.start = start;
+            this.stats = stats;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            if (!recorded) {
+                recorded = true;
+                stats.record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
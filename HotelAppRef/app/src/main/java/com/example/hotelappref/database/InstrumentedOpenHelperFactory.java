@@ -0,0 +1,86 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+
+/**
+ * SQLite open helper factory that times every statement into {@link QueryStats}.
+ *
+ * WHY not only Room's QueryCallback? The callback is told which SQL is about to run,
+ * but not how long it took. This wrapper sits between Room and the framework SQLite
+ * driver, so it sees when each statement starts and when its cursor is closed.
+ *
+ * Installed by {@link AppDatabase#newBuilder} with openHelperFactory() when
+ * {@link DatabaseConfig#isInstrumented()} is on. Costs one System.nanoTime() pair and
+ * one histogram update per statement.
+ */
+final class InstrumentedOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+    private final QueryStats stats;
+
+    InstrumentedOpenHelperFactory(QueryStats stats) {
+        this(new FrameworkSQLiteOpenHelperFactory(), stats);
+    }
+
+    InstrumentedOpenHelperFactory(SupportSQLiteOpenHelper.Factory delegate, QueryStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        return new Helper(delegate.create(configuration), stats);
+    }
+
+    private static final class Helper implements SupportSQLiteOpenHelper {
+        private final SupportSQLiteOpenHelper delegate;
+        private final QueryStats stats;
+        // Wrapped once; the framework also hands out the same database object every time
+        private volatile InstrumentedDatabase database;
+
+        Helper(SupportSQLiteOpenHelper delegate, QueryStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public String getDatabaseName() {
+            return delegate.getDatabaseName();
+        }
+
+        @Override
+        public void setWriteAheadLoggingEnabled(boolean enabled) {
+            delegate.setWriteAheadLoggingEnabled(enabled);
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getWritableDatabase() {
+            return wrap(delegate.getWritableDatabase());
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getReadableDatabase() {
+            return wrap(delegate.getReadableDatabase());
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        private SupportSQLiteDatabase wrap(SupportSQLiteDatabase db) {
+            InstrumentedDatabase wrapped = database;
+            if (wrapped == null || !wrapped.wraps(db)) {
+                wrapped = new InstrumentedDatabase(db, stats);
+                database = wrapped;
+            }
+            return wrapped;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.hotelappref.database;
+
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.io.IOException;
+
+/**
+ * {@link SupportSQLiteStatement} that records the latency of every execution.
+ *
+ * Room compiles each @Insert/@Update/@Delete statement once and executes it per row,
+ * so a 500-row chunk shows up as 500 samples of the same shape.
+ */
+final class InstrumentedStatement implements SupportSQLiteStatement {
+
+    private final SupportSQLiteStatement delegate;
+    private final String sql;
+    private final QueryStats stats;
+
+    InstrumentedStatement(SupportSQLiteStatement delegate, String sql, QueryStats stats) {
+        this.delegate = delegate;
+        this.sql = sql;
+        this.stats = stats;
+    }
+
+    @Override
+    public void execute() {
+        long start = System.nanoTime();
+        try {
+            delegate.execute();
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdateDelete() {
+        long start = System.nanoTime();
+        try {
+            return delegate.executeUpdateDelete();
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeInsert() {
+        long start = System.nanoTime();
+        try {
+            return delegate.executeInsert();
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long simpleQueryForLong() {
+        long start = System.nanoTime();
+        try {
+            return delegate.simpleQueryForLong();
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String simpleQueryForString() {
+        long start = System.nanoTime();
+        try {
+            return delegate.simpleQueryForString();
+        } finally {
+            stats.record(sql, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void bindNull(int index) {
+        delegate.bindNull(index);
+    }
+
+    @Override
+    public void bindLong(int index, long value) {
+        delegate.bindLong(index, value);
+    }
+
+    @Override
+    public void bindDouble(int index, double value) {
+        delegate.bindDouble(index, value);
+    }
+
+    @Override
+    public void bindString(int index, String value) {
+        delegate.bindString(index, value);
+    }
+
+    @Override
+    public void bindBlob(int index, byte[] value) {
+        delegate.bindBlob(index, value);
+    }
+
+    @Override
+    public void clearBindings() {
+        delegate.clearBindings();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
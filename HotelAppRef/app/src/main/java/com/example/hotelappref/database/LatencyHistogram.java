@@ -0,0 +1,92 @@
+package com.example.hotelappref.database;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory latency histogram with log-scaled buckets.
+ *
+ * WHY buckets instead of keeping every sample? A busy query shape runs thousands of
+ * times; storing each latency would grow without bound. Each bucket here covers a
+ * range {@value #GROWTH}x wider than the previous one, so percentiles are accurate to
+ * within ~20% from 1 microsecond up to minutes, in {@value #BUCKETS} counters.
+ *
+ * Thread-safe: record() and the readers synchronize on the histogram.
+ */
+public final class LatencyHistogram {
+
+    /** Each bucket's upper bound is this many times the previous one. */
+    static final double GROWTH = 1.2;
+
+    /** Enough buckets to reach 1.2^128 microseconds (far beyond any real query). */
+    static final int BUCKETS = 128;
+
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sumMicros;
+    private long maxMicros;
+
+    /** Add one sample. */
+    public synchronized void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        counts[bucketOf(micros)]++;
+        total++;
+        sumMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /** Number of samples recorded. */
+    public synchronized long count() {
+        return total;
+    }
+
+    /** Mean latency in milliseconds, or 0 if empty. */
+    public synchronized double meanMs() {
+        return total == 0 ? 0 : sumMicros / 1000.0 / total;
+    }
+
+    /** Slowest sample in milliseconds, or 0 if empty. */
+    public synchronized double maxMs() {
+        return maxMicros / 1000.0;
+    }
+
+    /**
+     * Latency in milliseconds below which the given fraction of samples fall.
+     * @param percentile Between 0 and 100, e.g. 95 for p95
+     * @return The upper bound of the bucket holding that sample (never above the max),
+     *         or 0 if empty
+     */
+    public synchronized double percentileMs(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        rank = Math.max(1, Math.min(total, rank));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(bucket), maxMicros) / 1000.0;
+            }
+        }
+        return maxMs();
+    }
+
+    /** Drop every sample. */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sumMicros = 0;
+        maxMicros = 0;
+    }
+
+    static int bucketOf(long micros) {
+        int bucket = (int) Math.ceil(Math.log(micros) / LOG_GROWTH);
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+
+    static long upperBoundMicros(int bucket) {
+        return (long) Math.ceil(Math.pow(GROWTH, bucket));
+    }
+}
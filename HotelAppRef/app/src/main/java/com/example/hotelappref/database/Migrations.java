@@ -0,0 +1,164 @@
+package com.example.hotelappref.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Schema migrations for {@link AppDatabase}.
+ *
+ * WHY migrations? When the schema version goes up, Room needs to know how to turn an
+ * existing database into the new shape. Without a Migration, users who update the app
+ * would crash (or, with fallbackToDestructiveMigration, lose all their hotels).
+ *
+ * RULE: the SQL here must produce exactly the schema Room expects for the new version.
+ * Room validates the result when it opens the database.
+ */
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    /**
+     * Version 1 -> 2: add the hotels_fts full-text index.
+     *
+     * The triggers mirror the ones Room generates for {@code @Fts4(contentEntity = ...)}
+     * so the index stays in sync. 'rebuild' fills the index from the existing hotels.
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `hotels_fts` USING FTS4("
+                    + "`name` TEXT, `location` TEXT, `nearby` TEXT, `food` TEXT, "
+                    + "content=`hotels`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `hotels` BEGIN "
+                    + "DELETE FROM `hotels_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `hotels` BEGIN "
+                    + "DELETE FROM `hotels_fts` WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `hotels` BEGIN "
+                    + "INSERT INTO `hotels_fts`(`docid`, `name`, `location`, `nearby`, `food`) "
+                    + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`location`, NEW.`nearby`, NEW.`food`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_hotels_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `hotels` BEGIN "
+                    + "INSERT INTO `hotels_fts`(`docid`, `name`, `location`, `nearby`, `food`) "
+                    + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`location`, NEW.`nearby`, NEW.`food`); END");
+            db.execSQL("INSERT INTO `hotels_fts`(`hotels_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    /**
+     * Version 2 -> 3: index hotels by name and by (location, name).
+     * Index names follow Room's index_<table>_<columns> convention.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hotels_name` ON `hotels` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hotels_location_name` "
+                    + "ON `hotels` (`location`, `name`)");
+        }
+    };
+
+    /**
+     * Version 3 -> 4: add the nullable hotels.photoUri column.
+     * Existing hotels get NULL, i.e. they keep showing their imageResource.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `hotels` ADD COLUMN `photoUri` TEXT");
+        }
+    };
+
+    /**
+     * Version 4 -> 5: hotel positions and the geocode cache.
+     * Existing hotels get NULL coordinates until OfflineGeocoder resolves them. The
+     * hotels_rtree index isn't part of the Room schema; {@link SpatialIndex} creates and
+     * fills it when the database is opened.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `hotels` ADD COLUMN `latitude` REAL");
+            db.execSQL("ALTER TABLE `hotels` ADD COLUMN `longitude` REAL");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hotels_latitude_longitude` "
+                    + "ON `hotels` (`latitude`, `longitude`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `geocode_cache` ("
+                    + "`location` TEXT NOT NULL, `latitude` REAL, `longitude` REAL, "
+                    + "`gazetteerVersion` INTEGER NOT NULL, PRIMARY KEY(`location`))");
+        }
+    };
+
+    /**
+     * Version 5 -> 6: backend ids for synced hotels, and the sync_state table.
+     * Existing hotels were created on the device: remoteId NULL, updatedAt 0.
+     * WHY is the remoteId index unique? SQLite allows any number of NULLs in a unique
+     * index, so local hotels don't collide, but one backend hotel can't appear twice.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `hotels` ADD COLUMN `remoteId` TEXT");
+            db.execSQL("ALTER TABLE `hotels` ADD COLUMN `updatedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_hotels_remoteId` "
+                    + "ON `hotels` (`remoteId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_state` ("
+                    + "`feed` TEXT NOT NULL, `token` TEXT, `etag` TEXT, "
+                    + "`lastSyncAt` INTEGER NOT NULL, PRIMARY KEY(`feed`))");
+        }
+    };
+
+    /**
+     * Version 6 -> 7: the hotel_changes log. It starts empty: the existing hotels are the
+     * baseline its consumers load first. The triggers are installed on open
+     * ({@link ChangeLogTriggers}).
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `hotel_changes` ("
+                    + "`seq` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `hotelId` INTEGER NOT NULL, "
+                    + "`op` INTEGER NOT NULL, `changedAt` INTEGER NOT NULL)");
+        }
+    };
+
+    /**
+     * Version 7 -> 8: attraction and cuisine tags (tags, hotel_tags) and log_cursors.
+     * The existing nearby and food text is split into tags right here, so filters work
+     * on the first open; {@link HotelTagIndex} keeps them up to date from then on.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `tags` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `kind` INTEGER NOT NULL, "
+                    + "`normalized` TEXT NOT NULL, `name` TEXT NOT NULL, `hotelCount` INTEGER NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_tags_kind_normalized` "
+                    + "ON `tags` (`kind`, `normalized`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tags_kind_hotelCount` "
+                    + "ON `tags` (`kind`, `hotelCount`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `hotel_tags` ("
+                    + "`tagId` INTEGER NOT NULL, `hotelId` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`tagId`, `hotelId`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hotel_tags_hotelId_tagId` "
+                    + "ON `hotel_tags` (`hotelId`, `tagId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `log_cursors` ("
+                    + "`consumer` TEXT NOT NULL, `seq` INTEGER NOT NULL, PRIMARY KEY(`consumer`))");
+            HotelTagIndex.rebuild(db);
+        }
+    };
+
+    /** Every migration, in order. Pass this to Room's addMigrations(). */
+    public static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+    };
+}
@@ -0,0 +1,191 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.geo.Gazetteer;
+import com.example.hotelappref.geo.GeoPoint;
+import com.example.hotelappref.models.GeocodeEntry;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Turns hotels' free-text locations into positions, without network access.
+ *
+ * LOOKUP for one location text (normalized, see Gazetteer.normalize()):
+ * 1. Memory: an LruCache of recent results.
+ * 2. The geocode_cache table ({@link GeocodeDao}): every text resolved before, also
+ *    across app restarts.
+ * 3. The bundled gazetteer (assets/gazetteer.csv, see {@link Gazetteer}). It is only
+ *    read on the first cache miss, then kept in memory. The result goes into both caches.
+ *
+ * BACKFILL: {@link #locateMissing} gives positions to hotels stored without one (the
+ * prepackaged seed rows, imports, databases migrated from version 4), in batches.
+ * The last checked hotel id is remembered, so each hotel is looked at once per
+ * gazetteer version rather than on every launch.
+ */
+public final class OfflineGeocoder {
+
+    /** The gazetteer file in the APK's assets. */
+    public static final String GAZETTEER_ASSET = "gazetteer.csv";
+
+    /**
+     * Bump whenever gazetteer.csv changes: cached misses of older versions are retried,
+     * and the backfill checks every hotel without a position again.
+     */
+    static final int GAZETTEER_VERSION = 1;
+
+    /** Hotels positioned per backfill transaction. */
+    static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final int MEMORY_CACHE_ENTRIES = 256;
+
+    private static final String PREFS_NAME = "offline_geocoder";
+    private static final String KEY_CHECKED_ID = "checked_id";
+    private static final String KEY_CHECKED_VERSION = "checked_version";
+
+    private static final String TAG = "OfflineGeocoder";
+
+    /** Opens the gazetteer file. */
+    interface GazetteerSource {
+        InputStream open() throws IOException;
+    }
+
+    private final AppDatabase database;
+    private final GeocodeDao cache;
+    private final GazetteerSource gazetteerSource;
+    private final SharedPreferences progress;
+    private final LruCache<String, GeocodeEntry> memoryCache = new LruCache<>(MEMORY_CACHE_ENTRIES);
+
+    private Gazetteer gazetteer;  // Guarded by this; loaded on first use
+    private boolean gazetteerFailed;  // Guarded by this
+
+    public OfflineGeocoder(Context context, AppDatabase database) {
+        this(database, () -> context.getApplicationContext().getAssets().open(GAZETTEER_ASSET),
+                context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE));
+    }
+
+    OfflineGeocoder(AppDatabase database, GazetteerSource gazetteerSource,
+                    SharedPreferences progress) {
+        this.database = database;
+        this.cache = database.geocodeDao();
+        this.gazetteerSource = gazetteerSource;
+        this.progress = progress;
+    }
+
+    /**
+     * The position of a location text, or null if it names no known place.
+     */
+    @Nullable
+    @WorkerThread
+    public GeoPoint geocode(@Nullable String location) {
+        if (location == null) {
+            return null;
+        }
+        String key = Gazetteer.normalize(location);
+        if (key.isEmpty()) {
+            return null;
+        }
+        GeocodeEntry entry = memoryCache.get(key);
+        if (entry == null) {
+            entry = cache.get(key);
+            if (entry != null && !entry.isFound() && entry.getGazetteerVersion() != GAZETTEER_VERSION) {
+                entry = null;  // A miss of an older gazetteer: try again
+            }
+        }
+        if (entry == null) {
+            Gazetteer places = gazetteer();
+            if (places == null) {
+                return null;  // Don't cache: the text may well be resolvable
+            }
+            GeoPoint found = places.resolve(location);
+            entry = new GeocodeEntry(key,
+                    found != null ? found.latitude : null,
+                    found != null ? found.longitude : null,
+                    GAZETTEER_VERSION);
+            cache.put(entry);
+        }
+        memoryCache.put(key, entry);
+        return entry.isFound() ? new GeoPoint(entry.getLatitude(), entry.getLongitude()) : null;
+    }
+
+    /**
+     * Give the hotel a position from its location text, unless it already has one.
+     * @return true if the hotel has a position now
+     */
+    @WorkerThread
+    public boolean locate(Hotel hotel) {
+        if (hotel.hasPosition()) {
+            return true;
+        }
+        GeoPoint position = geocode(hotel.getLocation());
+        if (position == null) {
+            return false;
+        }
+        hotel.setLatitude(position.latitude);
+        hotel.setLongitude(position.longitude);
+        return true;
+    }
+
+    /**
+     * Position the hotels stored without a position, in batches of
+     * {@link #BACKFILL_BATCH_SIZE} (one transaction each). Run it on the write executor.
+     * @return Number of hotels that got a position
+     */
+    @WorkerThread
+    public int locateMissing() {
+        HotelDao hotelDao = database.hotelDao();
+        long afterId = progress.getInt(KEY_CHECKED_VERSION, 0) == GAZETTEER_VERSION
+                ? progress.getLong(KEY_CHECKED_ID, 0)
+                : 0;
+        int located = 0;
+        List<HotelSummary> batch;
+        while (!(batch = hotelDao.getHotelsWithoutPosition(afterId, BACKFILL_BATCH_SIZE)).isEmpty()) {
+            if (gazetteer() == null) {
+                break;  // Keep the progress: these hotels must be checked again
+            }
+            final List<HotelSummary> hotels = batch;
+            located += database.runInTransaction(() -> {
+                int count = 0;
+                for (HotelSummary hotel : hotels) {
+                    GeoPoint position = geocode(hotel.getLocation());
+                    if (position != null) {
+                        hotelDao.setPosition(hotel.getId(), position.latitude, position.longitude);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            afterId = hotels.get(hotels.size() - 1).getId();
+            progress.edit()
+                    .putLong(KEY_CHECKED_ID, afterId)
+                    .putInt(KEY_CHECKED_VERSION, GAZETTEER_VERSION)
+                    .apply();
+        }
+        return located;
+    }
+
+    @Nullable
+    private synchronized Gazetteer gazetteer() {
+        if (gazetteer == null && !gazetteerFailed) {
+            try {
+                gazetteer = Gazetteer.read(gazetteerSource.open());
+                Log.i(TAG, "Gazetteer loaded: " + gazetteer.size() + " places");
+            } catch (IOException e) {
+                // Only retried in a new process: a broken asset won't fix itself
+                Log.e(TAG, "Can't read the gazetteer", e);
+                gazetteerFailed = true;
+            }
+        }
+        return gazetteer;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.hotelappref.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Per-query-shape latency statistics for every SQL statement the app runs.
+ *
+ * Filled by the instrumented SQLite wrapper (see {@link InstrumentedOpenHelperFactory})
+ * when {@link DatabaseConfig#isInstrumented()} is on. Read it from the debug screen
+ * (QueryStatsActivity) or from tests with {@link #snapshot()}.
+ *
+ * WHY "shapes"? "SELECT * FROM hotels WHERE id = 4" and "... id = 9" are the same query
+ * with different arguments. Literals are replaced with '?' so both land in one
+ * histogram, and the slow DAO call stands out instead of being spread over many rows.
+ */
+public final class QueryStats {
+
+    /** Latency summary of one query shape. */
+    public static final class Entry {
+        public final String shape;
+        public final long count;
+        public final double meanMs;
+        public final double p50Ms;
+        public final double p95Ms;
+        public final double p99Ms;
+        public final double maxMs;
+
+        Entry(String shape, LatencyHistogram histogram) {
+            this.shape = shape;
+            this.count = histogram.count();
+            this.meanMs = histogram.meanMs();
+            this.p50Ms = histogram.percentileMs(50);
+            this.p95Ms = histogram.percentileMs(95);
+            this.p99Ms = histogram.percentileMs(99);
+            this.maxMs = histogram.maxMs();
+        }
+
+        /** Time spent in this shape overall; the debug screen sorts by it. */
+        public double totalMs() {
+            return meanMs * count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "n=%d p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms  %s",
+                    count, p50Ms, p95Ms, p99Ms, maxMs, shape);
+        }
+    }
+
+    /**
+     * Upper bound on distinct shapes.
+     * WHY? Code that builds SQL by string concatenation could otherwise create a new
+     * shape per call; extra shapes are counted under {@link #OTHER_SHAPE}.
+     */
+    static final int MAX_SHAPES = 200;
+
+    static final String OTHER_SHAPE = "(other)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w`])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final QueryStats INSTANCE = new QueryStats();
+
+    // Insertion-ordered; guarded by "this"
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+
+    QueryStats() {
+    }
+
+    /** The process-wide statistics the app database reports into. */
+    public static QueryStats getInstance() {
+        return INSTANCE;
+    }
+
+    /** Record that one execution of {@code sql} took {@code nanos}. */
+    public void record(String sql, long nanos) {
+        histogramFor(shapeOf(sql)).record(nanos);
+    }
+
+    /** Every shape seen so far, slowest overall (count x mean) first. */
+    public List<Entry> snapshot() {
+        List<Map.Entry<String, LatencyHistogram>> copy;
+        synchronized (this) {
+            copy = new ArrayList<>(histograms.entrySet());
+        }
+        List<Entry> entries = new ArrayList<>(copy.size());
+        for (Map.Entry<String, LatencyHistogram> e : copy) {
+            entries.add(new Entry(e.getKey(), e.getValue()));
+        }
+        Collections.sort(entries, (a, b) -> Double.compare(b.totalMs(), a.totalMs()));
+        return entries;
+    }
+
+    /**
+     * Statistics of one shape.
+     * @param sql Any statement of that shape (it's normalized the same way)
+     * @return The entry, or null if no statement of that shape ran yet
+     */
+    public Entry get(String sql) {
+        String shape = shapeOf(sql);
+        LatencyHistogram histogram;
+        synchronized (this) {
+            histogram = histograms.get(shape);
+        }
+        return histogram != null ? new Entry(shape, histogram) : null;
+    }
+
+    /** Forget all samples, e.g. before measuring one scenario. */
+    public synchronized void reset() {
+        histograms.clear();
+    }
+
+    private synchronized LatencyHistogram histogramFor(String shape) {
+        LatencyHistogram histogram = histograms.get(shape);
+        if (histogram == null) {
+            if (histograms.size() >= MAX_SHAPES) {
+                shape = OTHER_SHAPE;
+                histogram = histograms.get(shape);
+            }
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                histograms.put(shape, histogram);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Normalize a statement to its shape: literals become '?', "IN (?, ?, ?)" becomes
+     * "IN (?)", whitespace is collapsed.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
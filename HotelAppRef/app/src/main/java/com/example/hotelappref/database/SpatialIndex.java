@@ -0,0 +1,121 @@
+package com.example.hotelappref.database;
+
+import android.database.Cursor;
+import android.database.SQLException;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.example.hotelappref.geo.GeoMath;
+
+/**
+ * The hotels_rtree spatial index: an SQLite R*Tree over the hotels' positions.
+ *
+ * WHY an R*Tree? A B-tree on (latitude, longitude) can only narrow a box query down to
+ * a latitude band - a band through a city still crosses every hotel at that latitude
+ * around the world. An R*Tree indexes both dimensions at once, so a box query reads
+ * only the tree nodes that overlap the box: a few pages, even with 100k+ hotels.
+ *
+ * WHY outside Room? Room can't declare R*Tree tables, and not every device's SQLite is
+ * built with the rtree module. {@link #CALLBACK} creates the table, its sync triggers and
+ * its contents when the database is opened, if the module exists. Otherwise
+ * {@link #boxQuery} falls back to the index_hotels_latitude_longitude B-tree.
+ *
+ * SYNC: triggers copy every insert, position change and delete on hotels into the
+ * R*Tree, so writers don't need to know it exists. Each hotel is a zero-size box
+ * (minLat = maxLat). R*Tree stores 32-bit floats rounded outward, so a stored box always
+ * contains the exact position; HotelSpatialSearch filters by exact distance afterwards.
+ */
+final class SpatialIndex {
+
+    static final String TABLE = "hotels_rtree";
+
+    private static final String TAG = "SpatialIndex";
+
+    private static final String SELECT_COLUMNS =
+            "h.id, h.name, h.location, h.imageResource, h.photoUri, h.latitude, h.longitude";
+
+    /** Installs the R*Tree when Room opens the database. Add it to every builder. */
+    static final RoomDatabase.Callback CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            install(db);
+        }
+    };
+
+    private SpatialIndex() {
+    }
+
+    /**
+     * Create and fill the R*Tree unless it exists.
+     * WHY here and not in a Migration? It's needed on every path to the current schema:
+     * a new database, a migrated one and the prepackaged asset (which must not contain it,
+     * in case this device's SQLite can't read it).
+     * @return false if this SQLite has no rtree module
+     */
+    static boolean install(SupportSQLiteDatabase db) {
+        if (isInstalled(db)) {
+            return true;
+        }
+        db.beginTransaction();
+        try {
+            db.execSQL("CREATE VIRTUAL TABLE `" + TABLE + "` USING rtree("
+                    + "`id`, `minLat`, `maxLat`, `minLng`, `maxLng`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS hotels_rtree_AFTER_INSERT "
+                    + "AFTER INSERT ON `hotels` "
+                    + "WHEN NEW.`latitude` IS NOT NULL AND NEW.`longitude` IS NOT NULL BEGIN "
+                    + "INSERT INTO `" + TABLE + "` VALUES (NEW.`id`, "
+                    + "NEW.`latitude`, NEW.`latitude`, NEW.`longitude`, NEW.`longitude`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS hotels_rtree_AFTER_UPDATE "
+                    + "AFTER UPDATE OF `latitude`, `longitude` ON `hotels` BEGIN "
+                    + "DELETE FROM `" + TABLE + "` WHERE `id` = OLD.`id`; "
+                    + "INSERT INTO `" + TABLE + "` SELECT NEW.`id`, "
+                    + "NEW.`latitude`, NEW.`latitude`, NEW.`longitude`, NEW.`longitude` "
+                    + "WHERE NEW.`latitude` IS NOT NULL AND NEW.`longitude` IS NOT NULL; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS hotels_rtree_AFTER_DELETE "
+                    + "AFTER DELETE ON `hotels` BEGIN "
+                    + "DELETE FROM `" + TABLE + "` WHERE `id` = OLD.`id`; END");
+            db.execSQL("INSERT INTO `" + TABLE + "` "
+                    + "SELECT `id`, `latitude`, `latitude`, `longitude`, `longitude` FROM `hotels` "
+                    + "WHERE `latitude` IS NOT NULL AND `longitude` IS NOT NULL");
+            db.setTransactionSuccessful();
+            return true;
+        } catch (SQLException e) {
+            // "no such module: rtree" - the transaction is rolled back, no trigger is left
+            Log.i(TAG, "R*Tree not available, using the latitude/longitude index", e);
+            return false;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /** Does the database have the R*Tree? */
+    static boolean isInstalled(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?",
+                new Object[]{TABLE})) {
+            return cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * The query for {@link HotelDao#findHotelsInBox}: hotels whose position lies in box.
+     * @param useRTree Read hotels_rtree (see {@link #isInstalled}); otherwise read the
+     *                 latitude/longitude B-tree, which narrows by latitude only
+     */
+    static SupportSQLiteQuery boxQuery(boolean useRTree, GeoMath.Bounds box) {
+        if (useRTree) {
+            return new SimpleSQLiteQuery("SELECT " + SELECT_COLUMNS
+                    + " FROM " + TABLE + " r JOIN hotels h ON h.id = r.id"
+                    + " WHERE r.maxLat >= ? AND r.minLat <= ? AND r.maxLng >= ? AND r.minLng <= ?",
+                    new Object[]{box.south, box.north, box.west, box.east});
+        }
+        return new SimpleSQLiteQuery("SELECT " + SELECT_COLUMNS + " FROM hotels h"
+                + " WHERE h.latitude BETWEEN ? AND ? AND h.longitude BETWEEN ? AND ?",
+                new Object[]{box.south, box.north, box.west, box.east});
+    }
+}
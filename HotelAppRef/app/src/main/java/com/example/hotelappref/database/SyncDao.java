@@ -0,0 +1,149 @@
+package com.example.hotelappref.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.SyncState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for the backend sync: the sync_state table and writes of synced
+ * hotels, matched by their remoteId.
+ *
+ * WHY a separate DAO? A @Transaction default method can only call methods of its own
+ * DAO. {@link #applyPage} must look up, write and delete hotels and save the sync token
+ * in ONE transaction, so all of those live here.
+ */
+@Dao
+public interface SyncDao {
+
+    /**
+     * Max remoteIds per IN (...) query.
+     * WHY? SQLite before 3.32 (every Android below 11) allows at most 999 bound variables.
+     */
+    int MAX_IDS_PER_QUERY = 500;
+
+    /** Local id and version of a synced hotel. */
+    class LocalVersion {
+        public long id;
+        public String remoteId;
+        public long updatedAt;
+    }
+
+    /** What {@link #applyPage} wrote. */
+    final class Applied {
+        /** Hotels inserted or updated. */
+        public final int upserted;
+        /** Hotels deleted. */
+        public final int deleted;
+        /** Changes skipped because the local row is newer. */
+        public final int stale;
+        /** Local ids of the updated and deleted hotels, to drop from caches. */
+        public final List<Long> changedIds;
+
+        Applied(int upserted, int deleted, int stale, List<Long> changedIds) {
+            this.upserted = upserted;
+            this.deleted = deleted;
+            this.stale = stale;
+            this.changedIds = changedIds;
+        }
+    }
+
+    @Query("SELECT * FROM sync_state WHERE feed = :feed")
+    SyncState getState(String feed);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void putState(SyncState state);
+
+    /**
+     * The local rows of the given backend ids (found ones only), from the unique
+     * remoteId index. At most {@link #MAX_IDS_PER_QUERY} ids.
+     */
+    @Query("SELECT id, remoteId, updatedAt FROM hotels WHERE remoteId IN (:remoteIds)")
+    List<LocalVersion> getLocalVersions(List<String> remoteIds);
+
+    @Insert
+    void insertHotels(List<Hotel> hotels);
+
+    @Update
+    void updateHotels(List<Hotel> hotels);
+
+    @Query("DELETE FROM hotels WHERE id IN (:hotelIds)")
+    int deleteHotels(List<Long> hotelIds);
+
+    /**
+     * Apply one page of backend changes and save the sync position, atomically.
+     * @param changes Changed hotels, with remoteId and updatedAt set (id is ignored)
+     * @param deletedRemoteIds Backend ids of deleted hotels; unknown ones are ignored
+     * @param state The position after this page
+     *
+     * WHY one transaction with the state? If the app dies halfway, either the whole page
+     * and its token are stored or neither is: the next sync repeats exactly this page.
+     * WHY compare updatedAt? Pages may be repeated or arrive out of order (a retried
+     * request); an older version never overwrites a newer one.
+     * WHY not @Upsert? Upsert matches by primary key, but the backend knows only remoteId.
+     */
+    @Transaction
+    default Applied applyPage(List<Hotel> changes, List<String> deletedRemoteIds, SyncState state) {
+        List<String> remoteIds = new ArrayList<>(changes.size());
+        for (Hotel hotel : changes) {
+            remoteIds.add(hotel.getRemoteId());
+        }
+        Map<String, LocalVersion> local = findLocalVersions(remoteIds);
+
+        List<Hotel> inserts = new ArrayList<>();
+        List<Hotel> updates = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        int stale = 0;
+        for (Hotel hotel : changes) {
+            LocalVersion existing = local.get(hotel.getRemoteId());
+            if (existing == null) {
+                hotel.setId(0);  // Let SQLite assign it
+                inserts.add(hotel);
+            } else if (existing.updatedAt > hotel.getUpdatedAt()) {
+                stale++;
+            } else {
+                hotel.setId(existing.id);
+                updates.add(hotel);
+                changedIds.add(existing.id);
+            }
+        }
+        insertHotels(inserts);
+        updateHotels(updates);
+
+        List<Long> deletedIds = new ArrayList<>();
+        for (LocalVersion existing : findLocalVersions(deletedRemoteIds).values()) {
+            deletedIds.add(existing.id);
+        }
+        int deleted = 0;
+        for (int from = 0; from < deletedIds.size(); from += MAX_IDS_PER_QUERY) {
+            deleted += deleteHotels(deletedIds.subList(
+                    from, Math.min(from + MAX_IDS_PER_QUERY, deletedIds.size())));
+        }
+        changedIds.addAll(deletedIds);
+
+        putState(state);
+        return new Applied(inserts.size() + updates.size(), deleted, stale, changedIds);
+    }
+
+    /** {@link #getLocalVersions} for any number of ids, by remoteId. */
+    default Map<String, LocalVersion> findLocalVersions(List<String> remoteIds) {
+        Map<String, LocalVersion> found = new HashMap<>();
+        for (int from = 0; from < remoteIds.size(); from += MAX_IDS_PER_QUERY) {
+            for (LocalVersion version : getLocalVersions(remoteIds.subList(
+                    from, Math.min(from + MAX_IDS_PER_QUERY, remoteIds.size())))) {
+                found.put(version.remoteId, version);
+            }
+        }
+        return found;
+    }
+}
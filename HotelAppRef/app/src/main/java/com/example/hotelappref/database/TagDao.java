@@ -0,0 +1,69 @@
+package com.example.hotelappref.database;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import java.util.List;
+
+/**
+ * Data Access Object for the attraction/cuisine tags ({@link Tag}) and their links to
+ * hotels. Read-only: the tables are written by {@link HotelTagIndex}.
+ *
+ * Filters and their facets are built by {@link HotelTagSearch}.
+ */
+@Dao
+public interface TagDao {
+
+    /**
+     * The tags of one kind with the most hotels, most first: facet counts over the whole
+     * catalog.
+     * WHY fast? It reads the stored hotelCount from the (kind, hotelCount) index
+     * backwards and stops after limit rows; nothing is counted.
+     */
+    @Query("SELECT * FROM tags WHERE kind = :kind AND hotelCount > 0 "
+            + "ORDER BY hotelCount DESC LIMIT :limit")
+    List<Tag> getTopTags(int kind, int limit);
+
+    /** A tag by its normalized name (see TagSplitter.normalize()), or null. */
+    @Query("SELECT * FROM tags WHERE kind = :kind AND normalized = :normalized")
+    Tag findTag(int kind, String normalized);
+
+    /** Tags by id, in no particular order. At most 500 ids. */
+    @Query("SELECT * FROM tags WHERE id IN (:tagIds)")
+    List<Tag> getTags(List<Long> tagIds);
+
+    /** The tags of one hotel, with their catalog-wide hotelCount. */
+    @Query("SELECT tags.* FROM hotel_tags JOIN tags ON tags.id = hotel_tags.tagId "
+            + "WHERE hotel_tags.hotelId = :hotelId")
+    List<Tag> getTagsOfHotel(long hotelId);
+
+    /**
+     * The hotels that have ALL the given tags, or facet counts for them.
+     * @param query Built by {@link HotelTagSearch#withTagsQuery} or
+     *              {@link HotelTagSearch#facetsQuery}
+     *
+     * WHY @RawQuery? There is one EXISTS test per selected tag, so the SQL depends on how
+     * many are selected; Room can't bind a list to a repeated clause.
+     */
+    @RawQuery
+    List<HotelSummary> getHotelsWithTags(SupportSQLiteQuery query);
+
+    /** Facet counts; see {@link #getHotelsWithTags}. */
+    @RawQuery
+    List<Tag> countTags(SupportSQLiteQuery query);
+
+    /**
+     * Facet counts for a given result set, e.g. the hotels a search returned: each of
+     * their tags with hotelCount = how many of these hotels have it.
+     * @param hotelIds At most 500 ids
+     */
+    @Query("SELECT t.id, t.kind, t.normalized, t.name, COUNT(*) AS hotelCount "
+            + "FROM hotel_tags ht JOIN tags t ON t.id = ht.tagId "
+            + "WHERE ht.hotelId IN (:hotelIds) GROUP BY ht.tagId")
+    List<Tag> countTagsOfHotels(List<Long> hotelIds);
+}
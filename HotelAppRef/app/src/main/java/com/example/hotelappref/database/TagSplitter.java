@@ -0,0 +1,43 @@
+package com.example.hotelappref.database;
+
+import com.example.hotelappref.geo.Gazetteer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits Hotel.nearby and Hotel.food text into tag names (see {@link HotelTagIndex}).
+ *
+ * "Pigeon Rocks, Corniche; Zaitunay Bay" becomes "Pigeon Rocks", "Corniche" and
+ * "Zaitunay Bay". Tags are matched by {@link #normalize}, so "Jeita Grotto" and
+ * "jeita  grotto." are the same tag; the first spelling seen is the one displayed.
+ */
+public final class TagSplitter {
+
+    private TagSplitter() {
+    }
+
+    /**
+     * The distinct tags in a comma- or semicolon-separated text, in order.
+     * @return Normalized key -> display name; empty for null or blank text
+     */
+    public static Map<String, String> split(String text) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        if (text == null) {
+            return tags;
+        }
+        for (String part : text.split("[,;]")) {
+            String name = part.trim().replaceAll("\\s+", " ");
+            String key = normalize(name);
+            if (!key.isEmpty() && !tags.containsKey(key)) {
+                tags.put(key, name);
+            }
+        }
+        return tags;
+    }
+
+    /** The matching key of a tag name: no case, accents or punctuation. */
+    public static String normalize(String name) {
+        return Gazetteer.normalize(name);
+    }
+}
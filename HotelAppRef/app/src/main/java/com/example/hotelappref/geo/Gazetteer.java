@@ -0,0 +1,150 @@
+package com.example.hotelappref.geo;
+
+import androidx.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An offline list of place names and their coordinates, used to turn a hotel's free-text
+ * location ("Tyre, South Lebanon") into a position.
+ *
+ * FILE FORMAT (assets/gazetteer.csv): one place per line, {@code name,latitude,longitude}.
+ * Lines starting with '#' are comments. Several lines may give the same coordinates
+ * under different names (aliases, transliterations).
+ *
+ * MATCHING ({@link #resolve}): the location is split at commas, most specific part
+ * first, and each part is looked up by its words - the longest run of words that is a
+ * known place wins. "Beirut Downtown, Lebanon" finds "beirut downtown" if listed, else
+ * "beirut", and only falls back to "lebanon" if no part before it matched. Names are
+ * compared without case, accents or punctuation.
+ */
+public final class Gazetteer {
+
+    private final Map<String, GeoPoint> places;
+    private final int longestName;  // In words: no run of words longer than this can match
+
+    private Gazetteer(Map<String, GeoPoint> places, int longestName) {
+        this.places = places;
+        this.longestName = longestName;
+    }
+
+    /**
+     * Read a gazetteer file (see the class comment for the format). Closes the stream.
+     * @throws IOException If a line can't be parsed or the stream can't be read
+     */
+    public static Gazetteer read(InputStream input) throws IOException {
+        Map<String, GeoPoint> places = new HashMap<>();
+        int longestName = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IOException("Line " + lineNumber + ": expected name,latitude,longitude");
+                }
+                String name = normalize(fields[0]);
+                try {
+                    places.put(name, new GeoPoint(
+                            Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim())));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Line " + lineNumber + ": bad coordinates", e);
+                }
+                longestName = Math.max(longestName, name.split(" ").length);
+            }
+        }
+        return new Gazetteer(places, longestName);
+    }
+
+    /** Number of place names (including aliases). */
+    public int size() {
+        return places.size();
+    }
+
+    /**
+     * The position of a free-text location, or null if no part of it is a known place.
+     */
+    @Nullable
+    public GeoPoint resolve(@Nullable String location) {
+        if (location == null) {
+            return null;
+        }
+        for (String part : location.split(",")) {
+            GeoPoint found = resolvePart(normalize(part));
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /** Longest run of words first; among equally long runs, the leftmost. */
+    @Nullable
+    private GeoPoint resolvePart(String part) {
+        if (part.isEmpty()) {
+            return null;
+        }
+        String[] words = part.split(" ");
+        for (int length = Math.min(words.length, longestName); length > 0; length--) {
+            for (int start = 0; start + length <= words.length; start++) {
+                GeoPoint found = places.get(join(words, start, length));
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String join(String[] words, int start, int length) {
+        if (length == 1) {
+            return words[start];
+        }
+        StringBuilder joined = new StringBuilder(words[start]);
+        for (int i = start + 1; i < start + length; i++) {
+            joined.append(' ').append(words[i]);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Lower case, accents removed, every run of non-letters/digits turned into one space.
+     * "Zahlé " and "zahle" both become "zahle". Also used as the geocode cache key.
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;  // The accent of a decomposed letter
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.hotelappref.geo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Distances and bounding boxes on the Earth's surface.
+ *
+ * WHY bounding boxes? A spatial index (the hotels_rtree R*Tree, or a plain B-tree on
+ * latitude) can only answer "which points lie inside this rectangle". A radius search
+ * therefore asks the index for the smallest latitude/longitude box that contains the
+ * circle, then keeps the candidates whose exact {@link #distanceMeters} is within the
+ * radius. The box never misses a point of the circle; the corners are the only extra
+ * candidates.
+ */
+public final class GeoMath {
+
+    /** Mean Earth radius (IUGG), in meters. */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /** Half the Earth's circumference: no two points are farther apart than this. */
+    public static final double MAX_DISTANCE_METERS = Math.PI * EARTH_RADIUS_METERS;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Great-circle distance between two points (haversine formula).
+     * WHY haversine? It stays accurate for small distances, where the spherical law of
+     * cosines loses precision. Treating the Earth as a sphere is off by at most ~0.5%.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDPhi = Math.sin((phi2 - phi1) / 2);
+        double sinDLambda = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double h = sinDPhi * sinDPhi + Math.cos(phi1) * Math.cos(phi2) * sinDLambda * sinDLambda;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    public static double distanceMeters(GeoPoint a, GeoPoint b) {
+        return distanceMeters(a.latitude, a.longitude, b.latitude, b.longitude);
+    }
+
+    /**
+     * The boxes covering every point within radiusMeters of center.
+     *
+     * Usually one box. Two when the circle crosses the 180th meridian: a box can't wrap
+     * around, so it's split into a western and an eastern part. Near a pole the circle
+     * covers every longitude, so the box spans all of them.
+     */
+    public static List<Bounds> boundingBoxes(GeoPoint center, double radiusMeters) {
+        double angular = Math.max(0, radiusMeters) / EARTH_RADIUS_METERS;
+        double lat = Math.toRadians(center.latitude);
+        double south = lat - angular;
+        double north = lat + angular;
+        if (angular >= Math.PI || south <= -Math.PI / 2 || north >= Math.PI / 2) {
+            // The circle contains a pole: every longitude is inside
+            return Collections.singletonList(new Bounds(
+                    Math.toDegrees(Math.max(south, -Math.PI / 2)),
+                    Math.toDegrees(Math.min(north, Math.PI / 2)),
+                    -180, 180));
+        }
+        double deltaLng = Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(lat)));
+        double west = center.longitude - deltaLng;
+        double east = center.longitude + deltaLng;
+        double southDeg = Math.toDegrees(south);
+        double northDeg = Math.toDegrees(north);
+
+        List<Bounds> boxes = new ArrayList<>(2);
+        if (west < -180) {
+            boxes.add(new Bounds(southDeg, northDeg, west + 360, 180));
+            boxes.add(new Bounds(southDeg, northDeg, -180, east));
+        } else if (east > 180) {
+            boxes.add(new Bounds(southDeg, northDeg, west, 180));
+            boxes.add(new Bounds(southDeg, northDeg, -180, east - 360));
+        } else {
+            boxes.add(new Bounds(southDeg, northDeg, west, east));
+        }
+        return boxes;
+    }
+
+    /** Wrap a longitude into [-180, 180]. */
+    static double wrapLongitude(double longitude) {
+        if (longitude >= -180 && longitude <= 180) {
+            return longitude;
+        }
+        double wrapped = ((longitude + 180) % 360 + 360) % 360 - 180;
+        return wrapped == -180 && longitude > 0 ? 180 : wrapped;
+    }
+
+    /** A latitude/longitude rectangle; west <= east (it never crosses the 180th meridian). */
+    public static final class Bounds {
+        public final double south;
+        public final double north;
+        public final double west;
+        public final double east;
+
+        public Bounds(double south, double north, double west, double east) {
+            this.south = south;
+            this.north = north;
+            this.west = west;
+            this.east = east;
+        }
+
+        public boolean contains(double latitude, double longitude) {
+            return latitude >= south && latitude <= north
+                    && longitude >= west && longitude <= east;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Bounds{lat %.5f..%.5f, lng %.5f..%.5f}",
+                    south, north, west, east);
+        }
+    }
+}
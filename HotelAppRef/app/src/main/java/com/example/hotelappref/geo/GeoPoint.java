@@ -0,0 +1,37 @@
+package com.example.hotelappref.geo;
+
+import java.util.Locale;
+
+/**
+ * A position on Earth in decimal degrees (WGS84, like GPS and map apps).
+ * Immutable; latitude is clamped to [-90, 90] and longitude wrapped into [-180, 180].
+ */
+public final class GeoPoint {
+
+    public final double latitude;
+    public final double longitude;
+
+    public GeoPoint(double latitude, double longitude) {
+        this.latitude = Math.max(-90, Math.min(90, latitude));
+        this.longitude = GeoMath.wrapLongitude(longitude);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeoPoint other = (GeoPoint) o;
+        return Double.compare(latitude, other.latitude) == 0
+                && Double.compare(longitude, other.longitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(latitude) + Double.hashCode(longitude);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.6f,%.6f", latitude, longitude);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.hotelappref.images;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Decodes images at (roughly) the size they are displayed at.
+ *
+ * WHY downsample? A 4000x3000 photo decodes to a 48 MB ARGB_8888 bitmap. Shown in an 80dp
+ * ImageView (~240px) almost all of those pixels are thrown away, after costing the
+ * decode time, the memory and a GC. BitmapFactory's inSampleSize decodes every n-th
+ * pixel instead, so the bitmap is only as large as it needs to be.
+ *
+ * SOURCES: content://, file:// and android.resource:// are opened through the
+ * ContentResolver; http(s):// is downloaded to a temporary file first (the image is
+ * read twice: once for its size, once to decode it).
+ */
+final class BitmapDecoder {
+
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 20_000;
+
+    private final ContentResolver contentResolver;
+    private final File tempDirectory;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    BitmapDecoder(ContentResolver contentResolver, File tempDirectory) {
+        this(contentResolver, tempDirectory, CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS);
+    }
+
+    /** Tests use short timeouts. */
+    BitmapDecoder(ContentResolver contentResolver, File tempDirectory,
+                  int connectTimeoutMs, int readTimeoutMs) {
+        this.contentResolver = contentResolver;
+        this.tempDirectory = tempDirectory;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    /**
+     * Decode the image at uri so that it still covers reqWidth x reqHeight
+     * (what centerCrop needs), using the largest power-of-two sample size that allows.
+     * @return The bitmap, or null if the data isn't an image BitmapFactory can read
+     * @throws InterruptedIOException If the load was cancelled (the thread interrupted),
+     *         or a download timed out (SocketTimeoutException)
+     */
+    @Nullable
+    @WorkerThread
+    Bitmap decode(String uri, int reqWidth, int reqHeight) throws IOException {
+        Uri parsed = Uri.parse(uri);
+        String scheme = parsed.getScheme();
+        if ("http".equals(scheme) || "https".equals(scheme)) {
+            File download = download(uri);
+            try {
+                return decode(Uri.fromFile(download), reqWidth, reqHeight);
+            } finally {
+                download.delete();
+            }
+        }
+        return decode(parsed, reqWidth, reqHeight);
+    }
+
+    private Bitmap decode(Uri uri, int reqWidth, int reqHeight) throws IOException {
+        // Pass 1: read only the header to learn the image size
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = open(uri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        checkNotCancelled();
+
+        // Pass 2: decode the pixels, skipping the ones we'd throw away anyway
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = calculateInSampleSize(
+                options.outWidth, options.outHeight, reqWidth, reqHeight);
+        try (InputStream in = open(uri)) {
+            return BitmapFactory.decodeStream(in, null, options);
+        }
+    }
+
+    private InputStream open(Uri uri) throws IOException {
+        InputStream in = contentResolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Can't open " + uri);
+        }
+        return in;
+    }
+
+    private File download(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(connectTimeoutMs);
+        connection.setReadTimeout(readTimeoutMs);
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode() + " for " + url);
+            }
+            File file = File.createTempFile("download", ".img", tempDirectory);
+            try (InputStream in = connection.getInputStream();
+                 OutputStream out = new FileOutputStream(file)) {
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    checkNotCancelled();
+                    out.write(buffer, 0, read);
+                }
+                return file;
+            } catch (IOException | RuntimeException e) {
+                file.delete();
+                throw e;
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * WHY check? Future.cancel(true) only interrupts the thread; BitmapFactory and
+     * plain streams don't notice. Checking between the steps stops a recycled row's load
+     * before its most expensive part.
+     */
+    static void checkNotCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Image load cancelled");
+        }
+    }
+
+    /**
+     * The largest power-of-two sample size that keeps both sides at least as large as
+     * requested. WHY a power of two? The JPEG decoder only samples by powers of two; it
+     * rounds other values down anyway.
+     * @return 1 (full size) if the image is already smaller than requested
+     */
+    static int calculateInSampleSize(int srcWidth, int srcHeight, int reqWidth, int reqHeight) {
+        int sampleSize = 1;
+        if (reqWidth <= 0 || reqHeight <= 0) {
+            return sampleSize;
+        }
+        while (srcWidth / (sampleSize * 2) >= reqWidth
+                && srcHeight / (sampleSize * 2) >= reqHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
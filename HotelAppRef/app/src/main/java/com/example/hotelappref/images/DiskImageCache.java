@@ -0,0 +1,179 @@
+package com.example.hotelappref.images;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte-bounded, least-recently-used file cache of encoded (already downsampled) images.
+ *
+ * WHY a disk cache? The memory cache is lost when the process dies and only holds what
+ * fits in RAM. Reading an 80dp thumbnail from this cache is far cheaper than opening
+ * and downsampling a 12 MP photo again (or downloading it).
+ *
+ * WHY an in-memory index? File timestamps have a one-second resolution on many file
+ * systems, too coarse to order recent accesses. The index is an access-ordered map of
+ * file name to size; it's rebuilt from the directory (oldest file first) on first use.
+ *
+ * Thread-safe. All methods do file I/O, so call them off the main thread.
+ */
+final class DiskImageCache {
+
+    /** Writes the encoded image for one cache entry. */
+    interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+
+    // File name -> size in bytes, least recently used first. Guarded by this.
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long size;
+    private boolean loaded;
+
+    DiskImageCache(File directory, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Look up an entry and mark it as recently used.
+     * @return The cached file, or null if there is none
+     */
+    @Nullable
+    @WorkerThread
+    synchronized File get(String key) {
+        loadIndex();
+        String name = fileName(key);
+        if (index.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.exists()) {
+            // Deleted behind our back (e.g. the system cleared the cache directory)
+            size -= index.remove(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());  // Keeps the order across restarts
+        return file;
+    }
+
+    /**
+     * Store an entry, replacing any previous one, then evict the least recently used
+     * entries until the cache fits in maxBytes again.
+     *
+     * WHY a temporary file? The encoded image only becomes visible to get() once it's
+     * complete, so a reader can never see half a file (or a file left by a crash).
+     */
+    @WorkerThread
+    void put(String key, Writer writer) throws IOException {
+        String name = fileName(key);
+        synchronized (this) {
+            loadIndex();
+        }
+        File temp = File.createTempFile(name, TEMP_SUFFIX, directory);
+        try (OutputStream out = new FileOutputStream(temp)) {
+            writer.write(out);
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        synchronized (this) {
+            File file = new File(directory, name);
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("Can't move " + temp + " to " + file);
+            }
+            Long previous = index.put(name, file.length());
+            size += file.length() - (previous != null ? previous : 0);
+            trimToSize();
+        }
+    }
+
+    /** Total size of the cached files, in bytes. */
+    synchronized long size() {
+        loadIndex();
+        return size;
+    }
+
+    /** Delete every entry. */
+    synchronized void clear() {
+        loadIndex();
+        for (String name : index.keySet()) {
+            new File(directory, name).delete();
+        }
+        index.clear();
+        size = 0;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (size > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            new File(directory, entry.getKey()).delete();
+            size -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    private void loadIndex() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                file.delete();  // Left over from a write that never finished
+                continue;
+            }
+            index.put(file.getName(), file.length());
+            size += file.length();
+        }
+        trimToSize();
+    }
+
+    /**
+     * File name for a cache key: its SHA-1 in hex.
+     * WHY hash? Keys contain URIs, whose characters (/, :, ?) aren't valid in file names.
+     */
+    static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is always available", e);
+        }
+    }
+}
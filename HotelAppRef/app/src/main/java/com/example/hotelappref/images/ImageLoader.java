@@ -0,0 +1,388 @@
+package com.example.hotelappref.images;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.R;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads hotel photos into ImageViews off the main thread.
+ *
+ * WHY? setImageResource()/setImageURI() decode the whole image on the UI thread, at full
+ * size, on every bind. With real photos that is a dropped frame (or several) per row.
+ *
+ * PIPELINE for one request (uri, width, height):
+ * 1. Memory cache: a byte-bounded LruCache of decoded bitmaps. A hit is drawn right away,
+ *    in the same frame, without any thread hop.
+ * 2. Disk cache ({@link DiskImageCache}): the downsampled image, re-encoded as JPEG.
+ * 3. Source: decoded at the target size by {@link BitmapDecoder}, then written to both
+ *    caches.
+ * Steps 2 and 3 run on a small decode pool; the result is posted back to the main thread.
+ *
+ * CANCELLATION: each ImageView remembers its current request (a view tag). Loading into a
+ * view cancels the previous load, and so does {@link #cancel(ImageView)} when a row is
+ * recycled, so a fast fling doesn't decode images for rows that are already gone.
+ * Requests for the same image share one decode.
+ *
+ * PREFETCH: {@link #prefetch} decodes into the memory cache without a target; see
+ * {@link ImagePreloader} for rows about to scroll in.
+ */
+public final class ImageLoader {
+
+    /** Size cap of the disk cache. */
+    public static final long DISK_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /** Share of the app's heap limit the memory cache may use. */
+    private static final int MEMORY_CACHE_FRACTION = 8;
+
+    /**
+     * WHY only two threads? Decoding is CPU- and memory-bound. More threads compete with
+     * the UI thread for cores and make several large decodes overlap in the heap.
+     */
+    private static final int DECODE_THREADS = 2;
+
+    private static final int JPEG_QUALITY = 85;
+
+    private static final String TAG = "ImageLoader";
+
+    private static volatile ImageLoader INSTANCE;
+
+    private final LruCache<String, Bitmap> memoryCache;
+    private final DiskImageCache diskCache;
+    private final BitmapDecoder decoder;
+    private final ExecutorService decodeExecutor;
+    private final Handler mainThread = new Handler(Looper.getMainLooper());
+
+    // Loads in progress by cache key. Main thread only.
+    private final Map<String, Load> inFlight = new HashMap<>();
+
+    ImageLoader(Context context, int memoryCacheBytes, long diskCacheBytes) {
+        this(context, memoryCacheBytes, diskCacheBytes,
+                new BitmapDecoder(context.getContentResolver(), context.getCacheDir()));
+    }
+
+    ImageLoader(Context context, int memoryCacheBytes, long diskCacheBytes, BitmapDecoder decoder) {
+        memoryCache = new LruCache<String, Bitmap>(memoryCacheBytes) {
+            @Override
+            protected int sizeOf(@NonNull String key, @NonNull Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+        File cacheDir = context.getCacheDir();
+        diskCache = new DiskImageCache(new File(cacheDir, "images"), diskCacheBytes);
+        this.decoder = decoder;
+        decodeExecutor = Executors.newFixedThreadPool(DECODE_THREADS, new DecodeThreadFactory());
+    }
+
+    /** The loader shared by the whole app. */
+    public static ImageLoader getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ImageLoader.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    ActivityManager activityManager =
+                            (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+                    int memoryCacheBytes =
+                            activityManager.getMemoryClass() * 1024 * 1024 / MEMORY_CACHE_FRACTION;
+                    INSTANCE = new ImageLoader(appContext, memoryCacheBytes, DISK_CACHE_BYTES);
+                    appContext.registerComponentCallbacks(INSTANCE.new TrimCallbacks());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Show the image at uri in the view, decoded at the view's size.
+     *
+     * The placeholder is shown while the image loads, and stays if uri is null or the
+     * image can't be loaded. WHY setImageResource for it? Placeholders are small,
+     * already cached by Resources, and may be vector or adaptive icons BitmapFactory
+     * can't decode.
+     */
+    @MainThread
+    public void load(@Nullable String uri, ImageView view, @DrawableRes int placeholder) {
+        if (uri == null) {
+            cancel(view);
+            view.setImageResource(placeholder);
+            return;
+        }
+        int width = targetWidth(view);
+        int height = targetHeight(view);
+        String key = cacheKey(uri, width, height);
+        Object pending = view.getTag(R.id.image_request);
+        if (pending instanceof Request && ((Request) pending).key.equals(key)) {
+            return;  // Re-bound to the image it's already loading
+        }
+        cancel(view);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        view.setImageResource(placeholder);
+        Request request = new Request(view, key);
+        view.setTag(R.id.image_request, request);
+        Load load = inFlight.get(key);
+        if (load == null) {
+            load = start(key, uri, width, height);
+        }
+        load.waiting.add(request);
+    }
+
+    /**
+     * Forget the view's pending request. Its decode stops unless another view (or a
+     * prefetch) is waiting for the same image. Call it when a row is recycled.
+     */
+    @MainThread
+    public void cancel(ImageView view) {
+        Object tag = view.getTag(R.id.image_request);
+        if (!(tag instanceof Request)) {
+            return;
+        }
+        view.setTag(R.id.image_request, null);
+        Request request = (Request) tag;
+        Load load = inFlight.get(request.key);
+        if (load == null) {
+            return;
+        }
+        load.waiting.remove(request);
+        if (load.waiting.isEmpty() && !load.prefetch) {
+            load.future.cancel(true);
+            inFlight.remove(request.key);
+        }
+    }
+
+    /**
+     * Decode the image into the memory cache so a later {@link #load} with the same size
+     * is drawn immediately. Does nothing if it's cached or already loading.
+     */
+    @MainThread
+    public void prefetch(@Nullable String uri, int width, int height) {
+        if (uri == null) {
+            return;
+        }
+        String key = cacheKey(uri, width, height);
+        if (inFlight.containsKey(key) || memoryCache.get(key) != null) {
+            return;
+        }
+        start(key, uri, width, height).prefetch = true;
+    }
+
+    /**
+     * Stop a {@link #prefetch} that turned out to be unnecessary, unless a view is
+     * already waiting for the same image.
+     */
+    @MainThread
+    public void cancelPrefetch(@Nullable String uri, int width, int height) {
+        if (uri == null) {
+            return;
+        }
+        String key = cacheKey(uri, width, height);
+        Load load = inFlight.get(key);
+        if (load != null && load.prefetch && load.waiting.isEmpty()) {
+            load.future.cancel(true);
+            inFlight.remove(key);
+        }
+    }
+
+    /** Drop every cached bitmap from memory (the disk cache is kept). */
+    public void clearMemory() {
+        memoryCache.evictAll();
+    }
+
+    private Load start(String key, String uri, int width, int height) {
+        Load load = new Load(key, uri, width, height);
+        inFlight.put(key, load);
+        load.future = decodeExecutor.submit(load);
+        return load;
+    }
+
+    /** Runs on the main thread once a load finished (or failed). */
+    private void finish(Load load, @Nullable Bitmap bitmap) {
+        if (inFlight.get(load.key) != load) {
+            return;  // Cancelled after the decode had already finished
+        }
+        inFlight.remove(load.key);
+        if (bitmap != null) {
+            memoryCache.put(load.key, bitmap);
+        }
+        for (Request request : load.waiting) {
+            // WHY check the tag? The view may have been re-bound to another image since
+            if (request.target.getTag(R.id.image_request) == request) {
+                // Cleared on failure too, so the next load() of the same image retries
+                request.target.setTag(R.id.image_request, null);
+                if (bitmap != null) {
+                    request.target.setImageBitmap(bitmap);
+                }
+            }
+        }
+    }
+
+    /**
+     * Disk cache first, then the source.
+     * @return The bitmap, or null if the image can't be loaded
+     */
+    @Nullable
+    @WorkerThread
+    private Bitmap loadBitmap(Load load) throws IOException {
+        File cachedFile = diskCache.get(load.key);
+        if (cachedFile != null) {
+            Bitmap bitmap = BitmapFactory.decodeFile(cachedFile.getPath());
+            if (bitmap != null) {
+                return bitmap;
+            }
+        }
+        BitmapDecoder.checkNotCancelled();
+        Bitmap bitmap = decoder.decode(load.uri, load.width, load.height);
+        if (bitmap != null) {
+            // JPEG: these are photos; the cached copy doesn't need an alpha channel
+            diskCache.put(load.key, out ->
+                    bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out));
+        }
+        return bitmap;
+    }
+
+    /**
+     * The width to decode for. WHY layout params first? Row images have a fixed size, known
+     * before the first layout pass, so the key matches what {@link ImagePreloader} used.
+     */
+    static int targetWidth(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params != null && params.width > 0) {
+            return params.width;
+        }
+        return view.getWidth() > 0
+                ? view.getWidth()
+                : view.getResources().getDisplayMetrics().widthPixels;
+    }
+
+    static int targetHeight(ImageView view) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params != null && params.height > 0) {
+            return params.height;
+        }
+        return view.getHeight() > 0
+                ? view.getHeight()
+                : view.getResources().getDisplayMetrics().heightPixels;
+    }
+
+    static String cacheKey(String uri, int width, int height) {
+        return uri + '@' + width + 'x' + height;
+    }
+
+    /** What one ImageView is waiting for. */
+    private static final class Request {
+        final ImageView target;
+        final String key;
+
+        Request(ImageView target, String key) {
+            this.target = target;
+            this.key = key;
+        }
+    }
+
+    /** One decode, shared by every request for the same key. */
+    private final class Load implements Runnable {
+        final String key;
+        final String uri;
+        final int width;
+        final int height;
+        // Main thread only
+        final List<Request> waiting = new ArrayList<>(1);
+        boolean prefetch;  // Keep decoding even when no view is waiting
+        volatile Future<?> future;
+
+        Load(String key, String uri, int width, int height) {
+            this.key = key;
+            this.uri = uri;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void run() {
+            Bitmap bitmap = null;
+            try {
+                bitmap = loadBitmap(this);
+            } catch (IOException | RuntimeException e) {
+                // WHY not catch InterruptedIOException as "cancelled"? A download timeout
+                // (SocketTimeoutException) is one too; it must still finish(), or the key
+                // stays in inFlight and every later load() joins a dead load
+                if (isCancelled()) {
+                    return;  // cancel() already removed this load
+                }
+                Log.w(TAG, "Can't load " + uri, e);
+            }
+            final Bitmap result = bitmap;
+            mainThread.post(() -> finish(this, result));
+        }
+
+        private boolean isCancelled() {
+            Future<?> started = future;  // Null if run() beat start() to the assignment
+            return Thread.currentThread().isInterrupted()
+                    || (started != null && started.isCancelled());
+        }
+    }
+
+    /** Gives memory back when the system runs low. */
+    private final class TrimCallbacks implements ComponentCallbacks2 {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_BACKGROUND) {
+                clearMemory();
+            } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                memoryCache.trimToSize(memoryCache.maxSize() / 2);
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            clearMemory();
+        }
+    }
+
+    /** Named, below-normal priority threads (see DatabaseExecutors). */
+    private static final class DecodeThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "hotel-image-decode-" + count.getAndIncrement());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);  // Stay below the UI thread
+            return thread;
+        }
+    }
+}
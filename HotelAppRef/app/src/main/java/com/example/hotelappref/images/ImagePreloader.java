@@ -0,0 +1,79 @@
+package com.example.hotelappref.images;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Starts loading the photos of the rows just past the visible window, in the direction
+ * the user scrolls.
+ *
+ * WHY? Binding a row only starts its decode when the row is about to appear, so a fast
+ * scroll still shows placeholders for a moment. Decoding a few rows ahead puts the
+ * bitmaps in the memory cache before their rows are bound.
+ *
+ * Attach with {@code recyclerView.addOnScrollListener(...)}. The adapter must implement
+ * {@link Source}; other adapters are ignored.
+ */
+public class ImagePreloader extends RecyclerView.OnScrollListener {
+
+    /** Implemented by adapters whose rows show photos. */
+    public interface Source {
+        /**
+         * The photo of the row at position, or null if it has none or isn't loaded.
+         * Must be cheap and must not trigger loading (e.g. PagingDataAdapter.peek()).
+         */
+        @Nullable
+        String getPhotoUri(int position);
+    }
+
+    private final ImageLoader imageLoader;
+    private final int width;
+    private final int height;
+    private final int distance;
+
+    // Last range handed to the loader, so scrolling within a row doesn't repeat it
+    private int lastFrom = -1;
+    private int lastTo = -1;
+
+    /**
+     * @param width Width the rows decode at (must match their ImageView exactly)
+     * @param height Height the rows decode at
+     * @param distance Rows ahead of the visible window to preload
+     */
+    public ImagePreloader(ImageLoader imageLoader, int width, int height, int distance) {
+        this.imageLoader = imageLoader;
+        this.width = width;
+        this.height = height;
+        this.distance = distance;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (dy == 0 || !(adapter instanceof Source)
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int from;
+        int to;
+        if (dy > 0) {
+            from = layoutManager.findLastVisibleItemPosition() + 1;
+            to = Math.min(from + distance, adapter.getItemCount());
+        } else {
+            to = layoutManager.findFirstVisibleItemPosition();
+            from = Math.max(0, to - distance);
+        }
+        if (from < 0 || from >= to || (from == lastFrom && to == lastTo)) {
+            return;
+        }
+        lastFrom = from;
+        lastTo = to;
+        Source source = (Source) adapter;
+        for (int position = from; position < to; position++) {
+            imageLoader.prefetch(source.getPhotoUri(position), width, height);
+        }
+    }
+}
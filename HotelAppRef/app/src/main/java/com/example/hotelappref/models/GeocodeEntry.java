@@ -0,0 +1,56 @@
+package com.example.hotelappref.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * One cached geocoding result: a location text and the position it resolved to.
+ *
+ * WHY cache? Most hotels share their location text with others ("Hamra, Beirut"), and
+ * the result never changes for a given gazetteer. Cached, each distinct text is resolved
+ * once, and later lookups don't need the gazetteer in memory at all.
+ *
+ * Misses are cached too (null coordinates), tagged with the gazetteer version that
+ * couldn't resolve them: a newer gazetteer gets another try.
+ */
+@Entity(tableName = "geocode_cache")
+public class GeocodeEntry {
+
+    @PrimaryKey
+    @NonNull
+    private final String location;  // Normalized, see Gazetteer.normalize()
+    private final Double latitude;  // Null: not found
+    private final Double longitude;
+    private final int gazetteerVersion;
+
+    public GeocodeEntry(@NonNull String location, Double latitude, Double longitude,
+                        int gazetteerVersion) {
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.gazetteerVersion = gazetteerVersion;
+    }
+
+    @NonNull
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public int getGazetteerVersion() {
+        return gazetteerVersion;
+    }
+
+    /** Did the location resolve to a position? */
+    public boolean isFound() {
+        return latitude != null && longitude != null;
+    }
+}
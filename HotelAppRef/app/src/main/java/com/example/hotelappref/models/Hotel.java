@@ -1,22 +1,62 @@
 package com.example.hotelappref.models;
 
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Hotel model class representing a hotel entity with all its properties.
- * Implements Serializable to allow passing between activities via Intent.
+ * Implements Parcelable so it can be put into a Bundle or Intent (e.g. saved instance state).
+ *
+ * WHY Parcelable instead of Serializable? Java serialization discovers fields by
+ * reflection, writes class metadata into every stream and allocates heavily. Parcelable
+ * writes the fields in a fixed order with hand-written code - no reflection, smaller
+ * output. The benchmark module (HotelMarshallingBenchmark) measures the difference.
  *
  * @Entity annotation marks this as a Room database table.
  * Each field represents a column in the hotels table.
  *
  * WHY Room? Room provides compile-time verification of SQL queries and reduces boilerplate
  * for database operations. It's the recommended persistence library for Android.
+ *
+ * WHY indices? Without them every ORDER BY name sorts the whole table in a temporary
+ * B-tree, and every location filter reads every row.
+ * - name: lists are read in index order, so no sort is needed.
+ * - (location, name): finds one location's hotels directly, already sorted by name.
+ *   It also serves lookups by location alone, so no separate location index is needed.
+ * QueryPlanTest checks the DAO queries against these indices with EXPLAIN QUERY PLAN.
+ *
+ * IMAGES: photoUri (content://, file:// or http(s)://) is the hotel's photo, loaded by
+ * ImageLoader. Hotels without one show imageResource instead.
+ *
+ * POSITION: latitude/longitude (null until known) are filled from the location text by
+ * OfflineGeocoder, unless the hotel came with coordinates. The hotels_rtree spatial index
+ * (see SpatialIndex) mirrors them; the (latitude, longitude) index serves the same
+ * queries on devices whose SQLite lacks R*Tree support.
+ *
+ * SYNC: remoteId is the backend's id of a synced hotel (null for hotels created on this
+ * device) and updatedAt the backend's modification time. The unique remoteId index lets
+ * HotelSyncEngine match incoming changes to local rows without a scan.
  */
-@Entity(tableName = "hotels")
-public class Hotel implements Serializable {
+@Entity(tableName = "hotels",
+        indices = {
+                @Index(value = "name"),
+                @Index(value = {"location", "name"}),
+                @Index(value = {"latitude", "longitude"}),
+                @Index(value = "remoteId", unique = true)
+        })
+public class Hotel implements Parcelable {
+
+    /** Image shown for hotels without their own image (imageResource == 0). */
+    public static final int DEFAULT_IMAGE_RESOURCE = android.R.mipmap.sym_def_app_icon;
 
     @PrimaryKey(autoGenerate = true)
     private long id;  // Primary key for database
@@ -28,6 +68,12 @@ public class Hotel implements Serializable {
     private String nearby;
     private String food;
     private int imageResource;
+    private String photoUri;  // Null if the hotel has no photo
+    private Double latitude;  // Null until geocoded
+    private Double longitude;
+    private String remoteId;  // Null if the hotel was created on this device
+    @ColumnInfo(defaultValue = "0")
+    private long updatedAt;  // Backend modification time (epoch ms), 0 for local hotels
 
     /**
      * Constructor to create a Hotel object
@@ -50,6 +96,74 @@ public class Hotel implements Serializable {
         this.imageResource = imageResource;
     }
 
+    /**
+     * Recreate a Hotel from a Parcel.
+     * WHY @Ignore? Tells Room to use the other constructor when reading rows.
+     * RULE: read the fields in EXACTLY the order writeToParcel() wrote them.
+     */
+    @Ignore
+    protected Hotel(Parcel in) {
+        id = in.readLong();
+        name = in.readString();
+        phone = in.readString();
+        website = in.readString();
+        location = in.readString();
+        nearby = in.readString();
+        food = in.readString();
+        imageResource = in.readInt();
+        photoUri = in.readString();
+        latitude = readNullableDouble(in);
+        longitude = readNullableDouble(in);
+        remoteId = in.readString();
+        updatedAt = in.readLong();
+    }
+
+    public static final Creator<Hotel> CREATOR = new Creator<Hotel>() {
+        @Override
+        public Hotel createFromParcel(Parcel in) {
+            return new Hotel(in);
+        }
+
+        @Override
+        public Hotel[] newArray(int size) {
+            return new Hotel[size];
+        }
+    };
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        dest.writeLong(id);
+        dest.writeString(name);
+        dest.writeString(phone);
+        dest.writeString(website);
+        dest.writeString(location);
+        dest.writeString(nearby);
+        dest.writeString(food);
+        dest.writeInt(imageResource);
+        dest.writeString(photoUri);
+        writeNullableDouble(dest, latitude);
+        writeNullableDouble(dest, longitude);
+        dest.writeString(remoteId);
+        dest.writeLong(updatedAt);
+    }
+
+    // WHY a flag byte? Parcel has no nullable double; writeValue() would also write a type tag
+    private static void writeNullableDouble(Parcel dest, Double value) {
+        dest.writeByte((byte) (value != null ? 1 : 0));
+        if (value != null) {
+            dest.writeDouble(value);
+        }
+    }
+
+    private static Double readNullableDouble(Parcel in) {
+        return in.readByte() != 0 ? in.readDouble() : null;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
     // Getters
     public long getId() {
         return id;
@@ -83,6 +197,40 @@ public class Hotel implements Serializable {
         return imageResource;
     }
 
+    public String getPhotoUri() {
+        return photoUri;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getRemoteId() {
+        return remoteId;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** Does the hotel have a position (both coordinates)? */
+    public boolean hasPosition() {
+        return latitude != null && longitude != null;
+    }
+
+    /**
+     * The image to display: imageResource, or the default icon if it's 0.
+     * WHY? Rows from the prebuilt database can't know this APK's resource ids, so
+     * they store 0.
+     */
+    public int getDisplayImageResource() {
+        return imageResource != 0 ? imageResource : DEFAULT_IMAGE_RESOURCE;
+    }
+
     // Setters
     public void setId(long id) {
         this.id = id;
@@ -116,6 +264,56 @@ public class Hotel implements Serializable {
         this.imageResource = imageResource;
     }
 
+    public void setPhotoUri(String photoUri) {
+        this.photoUri = photoUri;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public void setRemoteId(String remoteId) {
+        this.remoteId = remoteId;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Two hotels are equal when every column matches.
+     * WHY? Lets LiveData.distinctUntilChanged() skip re-query results that didn't change.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Hotel other = (Hotel) o;
+        return id == other.id
+                && imageResource == other.imageResource
+                && updatedAt == other.updatedAt
+                && Objects.equals(name, other.name)
+                && Objects.equals(phone, other.phone)
+                && Objects.equals(website, other.website)
+                && Objects.equals(location, other.location)
+                && Objects.equals(nearby, other.nearby)
+                && Objects.equals(food, other.food)
+                && Objects.equals(photoUri, other.photoUri)
+                && Objects.equals(latitude, other.latitude)
+                && Objects.equals(longitude, other.longitude)
+                && Objects.equals(remoteId, other.remoteId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, phone, website, location, nearby, food, imageResource,
+                photoUri, latitude, longitude, remoteId, updatedAt);
+    }
+
     @Override
     public String toString() {
         return "Hotel{" +
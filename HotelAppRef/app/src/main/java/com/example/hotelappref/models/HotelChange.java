@@ -0,0 +1,60 @@
+package com.example.hotelappref.models;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * One row of the hotels change log: hotel hotelId was inserted, updated or deleted.
+ *
+ * WHY a log? Without it a consumer (a cached list, HotelCache, an exporter) can only
+ * find out what changed by re-reading the whole table. With it, a consumer remembers the
+ * last seq it has seen and reads just the rows after it (see
+ * {@link com.example.hotelappref.database.HotelChangeLog}).
+ *
+ * Rows are written by triggers on the hotels table, never by app code, so every write
+ * is logged - DAO methods, raw SQL, imports and sync alike - in the same transaction.
+ * seq is AUTOINCREMENT: it only grows, even after old rows are compacted away.
+ */
+@Entity(tableName = HotelChange.TABLE)
+public class HotelChange {
+
+    public static final String TABLE = "hotel_changes";
+
+    public static final int OP_INSERT = 1;
+    public static final int OP_UPDATE = 2;
+    public static final int OP_DELETE = 3;
+
+    @PrimaryKey(autoGenerate = true)
+    private final long seq;
+    private final long hotelId;
+    private final int op;  // OP_INSERT, OP_UPDATE or OP_DELETE
+    private final long changedAt;  // Epoch ms, for compaction
+
+    public HotelChange(long seq, long hotelId, int op, long changedAt) {
+        this.seq = seq;
+        this.hotelId = hotelId;
+        this.op = op;
+        this.changedAt = changedAt;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getHotelId() {
+        return hotelId;
+    }
+
+    public int getOp() {
+        return op;
+    }
+
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "HotelChange{" + seq + ": hotel " + hotelId + " op " + op + "}";
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.hotelappref.models;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text search index over the searchable text columns of {@link Hotel}.
+ *
+ * WHY FTS4? A query like {@code name LIKE '%beach%'} can't use an index, so SQLite reads
+ * every row of the hotels table on every keystroke. An FTS4 table keeps an inverted
+ * index (word -> rows), so a MATCH query only touches the rows that contain the words.
+ *
+ * WHY contentEntity? The index doesn't store its own copy of the text. Room creates
+ * triggers that keep it in sync with the hotels table on every insert, update and
+ * delete, and the FTS rowid is the hotel's id.
+ */
+@Fts4(contentEntity = Hotel.class)
+@Entity(tableName = "hotels_fts")
+public class HotelFts {
+
+    private String name;
+    private String location;
+    private String nearby;
+    private String food;
+
+    public HotelFts(String name, String location, String nearby, String food) {
+        this.name = name;
+        this.location = location;
+        this.nearby = nearby;
+        this.food = food;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getNearby() {
+        return nearby;
+    }
+
+    public String getFood() {
+        return food;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hotelappref.models;
+
+import androidx.room.Embedded;
+import androidx.room.Ignore;
+
+/**
+ * One result of a spatial search: the hotel's list columns, its position and its
+ * distance from the search center.
+ *
+ * Room fills the hotel and the position; the distance is computed in Java
+ * (see {@link com.example.hotelappref.database.HotelSpatialSearch}) because SQLite on
+ * older Android versions has no trigonometric functions.
+ */
+public class HotelNearby {
+
+    @Embedded
+    public HotelSummary hotel;
+
+    public double latitude;
+    public double longitude;
+
+    /** Great-circle distance from the search center, in meters. */
+    @Ignore
+    public double distanceMeters;
+}
@@ -0,0 +1,21 @@
+package com.example.hotelappref.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * One row returned by a full-text search: the hotel's list columns plus SQLite's match
+ * statistics.
+ *
+ * WHY matchInfo? FTS4 has no built-in relevance ranking. matchinfo(..., 'pcx') returns
+ * how often each search term appears in each column of this row and in the whole table,
+ * which {@link com.example.hotelappref.database.HotelSearch} turns into a score.
+ */
+public class HotelSearchResult {
+
+    @Embedded
+    public HotelSummary hotel;
+
+    @ColumnInfo(name = "match_info")
+    public byte[] matchInfo;
+}
@@ -0,0 +1,92 @@
+package com.example.hotelappref.models;
+
+import androidx.room.Ignore;
+
+import java.util.Objects;
+
+/**
+ * The columns one row of the hotel list needs: id, name, location and image.
+ *
+ * WHY not Hotel? A full Hotel row also carries phone, website and the long nearby/food
+ * descriptions. The list never shows them, yet SELECT * copies them out of SQLite into a
+ * Java String for every row. Loading HotelSummary instead keeps list memory (and the
+ * CursorWindow traffic) proportional to what's on screen.
+ *
+ * Room fills it from queries that select exactly these columns of the hotels table;
+ * the details screen loads the full {@link Hotel} by id.
+ */
+public class HotelSummary {
+
+    private final long id;
+    private final String name;
+    private final String location;
+    private final int imageResource;
+    private final String photoUri;
+
+    public HotelSummary(long id, String name, String location, int imageResource,
+                        String photoUri) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.imageResource = imageResource;
+        this.photoUri = photoUri;
+    }
+
+    /** A summary without a photo. WHY @Ignore? Room must use the constructor above. */
+    @Ignore
+    public HotelSummary(long id, String name, String location, int imageResource) {
+        this(id, name, location, imageResource, null);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public int getImageResource() {
+        return imageResource;
+    }
+
+    /** The hotel's photo (see {@link Hotel#getPhotoUri()}), or null. */
+    public String getPhotoUri() {
+        return photoUri;
+    }
+
+    /** The image to display: imageResource, or the default icon if it's 0. */
+    public int getDisplayImageResource() {
+        return imageResource != 0 ? imageResource : Hotel.DEFAULT_IMAGE_RESOURCE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HotelSummary other = (HotelSummary) o;
+        return id == other.id
+                && imageResource == other.imageResource
+                && Objects.equals(name, other.name)
+                && Objects.equals(location, other.location)
+                && Objects.equals(photoUri, other.photoUri);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, location, imageResource, photoUri);
+    }
+
+    @Override
+    public String toString() {
+        return "HotelSummary{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", location='" + location + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hotelappref.models;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Links a hotel to one of its tags (many-to-many between hotels and {@link Tag}).
+ *
+ * WHY this primary key order? (tagId, hotelId) lists a tag's hotels in id order straight
+ * from the table - the filter query pages through it without sorting. The (hotelId,
+ * tagId) index answers "which tags does this hotel have", for facet counts and retagging.
+ *
+ * WHY no foreign keys? Rows are only written by HotelTagIndex, which also removes the
+ * links of deleted hotels. Room would otherwise turn on foreign_keys for every
+ * connection, which makes each hotel delete look up its links even when nobody cares.
+ */
+@Entity(tableName = "hotel_tags",
+        primaryKeys = {"tagId", "hotelId"},
+        indices = {@Index(value = {"hotelId", "tagId"})})
+public class HotelTag {
+
+    private final long tagId;
+    private final long hotelId;
+
+    public HotelTag(long tagId, long hotelId) {
+        this.tagId = tagId;
+        this.hotelId = hotelId;
+    }
+
+    public long getTagId() {
+        return tagId;
+    }
+
+    public long getHotelId() {
+        return hotelId;
+    }
+}
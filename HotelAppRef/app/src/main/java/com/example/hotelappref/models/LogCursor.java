@@ -0,0 +1,35 @@
+package com.example.hotelappref.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * How far a durable consumer of the change log ({@link HotelChange}) has read.
+ *
+ * WHY in the database? A consumer that writes derived tables (e.g. HotelTagIndex) saves
+ * its position in the same transaction as what it derived, so after a crash the two
+ * still agree and it resumes where it stopped, instead of rebuilding on every start.
+ */
+@Entity(tableName = "log_cursors")
+public class LogCursor {
+
+    @PrimaryKey
+    @NonNull
+    private final String consumer;
+    private final long seq;  // Last HotelChange.seq applied
+
+    public LogCursor(@NonNull String consumer, long seq) {
+        this.consumer = consumer;
+        this.seq = seq;
+    }
+
+    @NonNull
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+}
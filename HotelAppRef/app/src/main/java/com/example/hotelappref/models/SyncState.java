@@ -0,0 +1,47 @@
+package com.example.hotelappref.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * How far this device has synced one feed from the backend.
+ *
+ * WHY in the database? The token is saved in the same transaction as the changes it
+ * covers (see HotelSyncEngine). If the app dies mid-sync, the token and the hotels can't
+ * disagree: the next sync resumes exactly after the last page that was applied.
+ */
+@Entity(tableName = "sync_state")
+public class SyncState {
+
+    @PrimaryKey
+    @NonNull
+    private final String feed;
+    private final String token;  // Null: never synced, the next sync downloads everything
+    private final String etag;  // Of the last response for token, if it had one
+    private final long lastSyncAt;  // Epoch ms of the last successful sync
+
+    public SyncState(@NonNull String feed, String token, String etag, long lastSyncAt) {
+        this.feed = feed;
+        this.token = token;
+        this.etag = etag;
+        this.lastSyncAt = lastSyncAt;
+    }
+
+    @NonNull
+    public String getFeed() {
+        return feed;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastSyncAt() {
+        return lastSyncAt;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hotelappref.models;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * One distinct attraction or cuisine, e.g. "Jeita Grotto" or "Seafood".
+ *
+ * WHY a table? Hotel.nearby and Hotel.food are comma-separated text: filtering by one
+ * value needs a LIKE scan of every hotel, and "Corniche" is stored again in thousands of
+ * rows. Each value is stored here once (interned) and linked to its hotels through
+ * {@link HotelTag}, so a filter is an index lookup.
+ *
+ * hotelCount is the number of hotels with the tag, maintained by HotelTagIndex. WHY
+ * store it? Facet counts over the whole catalog are then a read of the (kind,
+ * hotelCount) index instead of counting hundreds of thousands of links. Queries that
+ * count within a result set return Tags with hotelCount set to that count.
+ */
+@Entity(tableName = "tags",
+        indices = {
+                @Index(value = {"kind", "normalized"}, unique = true),
+                @Index(value = {"kind", "hotelCount"})
+        })
+public class Tag {
+
+    /** A place near the hotel (from Hotel.nearby). */
+    public static final int KIND_ATTRACTION = 1;
+    /** A cuisine or restaurant (from Hotel.food). */
+    public static final int KIND_CUISINE = 2;
+
+    @PrimaryKey(autoGenerate = true)
+    private final long id;
+    private final int kind;  // KIND_ATTRACTION or KIND_CUISINE
+    @NonNull
+    private final String normalized;  // Matching key, see TagSplitter.normalize()
+    @NonNull
+    private final String name;  // As first written, for display
+    private final int hotelCount;
+
+    public Tag(long id, int kind, @NonNull String normalized, @NonNull String name, int hotelCount) {
+        this.id = id;
+        this.kind = kind;
+        this.normalized = normalized;
+        this.name = name;
+        this.hotelCount = hotelCount;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    @NonNull
+    public String getNormalized() {
+        return normalized;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public int getHotelCount() {
+        return hotelCount;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + hotelCount + ")";
+    }
+}
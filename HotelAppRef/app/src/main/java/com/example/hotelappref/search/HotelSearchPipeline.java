@@ -0,0 +1,171 @@
+package com.example.hotelappref.search;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.example.hotelappref.database.HotelRepository;
+import com.example.hotelappref.database.HotelSearch;
+import com.example.hotelappref.models.HotelSummary;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Search-as-you-type pipeline: turns keystrokes into at most one query at a time.
+ *
+ * WHY? Wiring a TextWatcher straight to the database would start one query per keystroke.
+ * Typing "seaside" would queue 7 full-text searches, and the list would flicker through
+ * 6 stale results before showing the right one.
+ *
+ * KEY STEPS:
+ * 1. Debounce: wait {@link #DEBOUNCE_MS} after the last keystroke before querying.
+ * 2. Cancel: when the text changes, the in-flight query is cancelled and its result,
+ *    if it still arrives, is ignored (checked with a generation counter).
+ * 3. Cache: results for recent queries are kept in a small LRU cache, so deleting a
+ *    character or retyping a prefix is answered instantly without touching SQLite.
+ * 4. Deliver: results go to the {@link Listener} on the main thread. Hand them to a
+ *    ListAdapter so only the rows that differ are rebound.
+ *
+ * The cache is cleared whenever the hotels table changes, so it never serves stale rows.
+ *
+ * Call everything on the main thread, and call {@link #release()} in onDestroy().
+ */
+public class HotelSearchPipeline {
+
+    /** Wait this long after the last keystroke before querying. */
+    public static final long DEBOUNCE_MS = 250;
+
+    /** Number of recent queries whose results are cached. */
+    public static final int CACHE_SIZE = 32;
+
+    /** Upper bound on results per query, so a one-letter prefix can't flood the list. */
+    public static final int MAX_RESULTS = 200;
+
+    /** Receives search results on the main thread. */
+    public interface Listener {
+        /** Results for the current query, best matches first. */
+        void onResults(String query, List<HotelSummary> hotels);
+
+        /** The search box was cleared; show the full list again. */
+        void onCleared();
+    }
+
+    private final HotelRepository repository;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, List<HotelSummary>> cache = new LruCache<>(CACHE_SIZE);
+    private final Runnable stopObserving;
+
+    private String currentQuery = "";
+    private Future<?> inFlight;
+    // Incremented for every new query; results from older generations are dropped
+    private int generation;
+    // WHY volatile? onInvalidated() reads it on Room's thread
+    private volatile boolean released;
+
+    private final Runnable runSearch = this::startQuery;
+
+    public HotelSearchPipeline(HotelRepository repository, Listener listener) {
+        this.repository = repository;
+        this.listener = listener;
+
+        // WHY observe the table? Any write can change search results, so cached
+        // results must be thrown away and the visible query re-run
+        stopObserving = repository.observeTables(new InvalidationTracker.Observer("hotels") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (released) {
+                    return;
+                }
+                cache.evictAll();
+                mainHandler.post(HotelSearchPipeline.this::rerunCurrentQuery);
+            }
+        });
+    }
+
+    /**
+     * Call this from TextWatcher.afterTextChanged() (or SearchView's onQueryTextChange).
+     */
+    public void onQueryChanged(String text) {
+        String query = normalize(text);
+        if (query.equals(currentQuery)) {
+            return;
+        }
+        currentQuery = query;
+        mainHandler.removeCallbacks(runSearch);
+        cancelInFlight();
+
+        if (!isSearchable(query)) {
+            listener.onCleared();
+            return;
+        }
+
+        // Fast path: answered from memory, no query and no debounce needed
+        List<HotelSummary> cached = cache.get(query);
+        if (cached != null) {
+            listener.onResults(query, cached);
+            return;
+        }
+
+        mainHandler.postDelayed(runSearch, DEBOUNCE_MS);
+    }
+
+    /**
+     * Stop observing the database and drop pending work.
+     * WHY the released flag as well? Room removes the observer asynchronously, so an
+     * invalidation can still arrive and post a re-run after this returns; the flag makes
+     * that and any late result a no-op, so the listener (the activity) is never called.
+     */
+    public void release() {
+        released = true;
+        mainHandler.removeCallbacksAndMessages(null);
+        cancelInFlight();
+        stopObserving.run();
+    }
+
+    private void startQuery() {
+        final String query = currentQuery;
+        final int queryGeneration = ++generation;
+        inFlight = repository.searchHotels(query, MAX_RESULTS, hotels -> {
+            if (released || queryGeneration != generation) {
+                return;  // The user kept typing; this result is stale
+            }
+            inFlight = null;
+            cache.put(query, hotels);
+            listener.onResults(query, hotels);
+        });
+    }
+
+    private void rerunCurrentQuery() {
+        if (!released && isSearchable(currentQuery)) {
+            cancelInFlight();
+            mainHandler.removeCallbacks(runSearch);
+            startQuery();
+        }
+    }
+
+    private void cancelInFlight() {
+        generation++;
+        if (inFlight != null) {
+            // WHY cancel(true)? If the query hasn't started yet it never runs; if it's
+            // running, the interrupt stops the repository from posting its result
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+
+    /** False for empty text and single letters, which show the full list instead. */
+    private static boolean isSearchable(String query) {
+        return HotelSearch.toMatchQuery(query) != null;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hotelappref.sync;
+
+import androidx.annotation.Nullable;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.util.List;
+
+/**
+ * One response of the backend's change feed (see {@link SyncClient} for the protocol).
+ */
+public final class ChangePage {
+
+    /** Hotels created or changed after the requested token, with remoteId and updatedAt. */
+    public final List<Hotel> changes;
+    /** Backend ids of hotels deleted after the requested token. */
+    public final List<String> deleted;
+    /** The token to ask for next; it covers everything in this page. */
+    public final String nextToken;
+    /** More changes are waiting: ask again with nextToken right away. */
+    public final boolean hasMore;
+    /** The response's ETag header, if any. */
+    @Nullable
+    public final String etag;
+    /** Bytes received over the network (compressed, without headers). */
+    public final long wireBytes;
+    /** Bytes of JSON after decompression. */
+    public final long decodedBytes;
+
+    ChangePage(List<Hotel> changes, List<String> deleted, String nextToken, boolean hasMore,
+               @Nullable String etag, long wireBytes, long decodedBytes) {
+        this.changes = changes;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+        this.etag = etag;
+        this.wireBytes = wireBytes;
+        this.decodedBytes = decodedBytes;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.hotelappref.sync;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelCache;
+import com.example.hotelappref.database.OfflineGeocoder;
+import com.example.hotelappref.database.SyncDao;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.SyncState;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Brings the local hotels table up to date with the backend, downloading only what
+ * changed since the last sync (offline-first: the app always reads the local table).
+ *
+ * ONE SYNC:
+ * 1. Read the saved position (token, ETag) from sync_state. No token: start from zero.
+ * 2. Fetch a page of changes after the token ({@link SyncClient}). A 304 ends the sync.
+ * 3. Position new hotels without coordinates ({@link OfflineGeocoder}), then write the
+ *    page and the new token in ONE transaction ({@link SyncDao#applyPage}).
+ * 4. Drop the changed hotels from {@link HotelCache}; Room refreshes LiveData and Paging.
+ * 5. Repeat from 2 while the backend says hasMore.
+ *
+ * WHY page by page? Each page is a short transaction: readers aren't blocked for the
+ * whole download, memory stays bounded, and a failure loses at most one page of work -
+ * the next sync resumes from the last committed token.
+ *
+ * WHY keep the ETag only for an unchanged token? An ETag describes the response to one
+ * request. When a page returns nextToken == the token it was asked with, the next
+ * request is the same one, so If-None-Match can turn it into a bodiless 304.
+ */
+public final class HotelSyncEngine {
+
+    /** sync_state key of the hotel feed. */
+    public static final String FEED = "hotels";
+
+    /**
+     * Changes requested per page.
+     * WHY 500? Large enough that the per-request overhead is small, small enough that a
+     * page's transaction stays short on a slow device.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    private static final String TAG = "HotelSyncEngine";
+
+    /** What one {@link #sync()} did. */
+    public static final class Result {
+        public int pages;
+        public int upserted;
+        public int deleted;
+        public int stale;
+        /** The backend answered 304: nothing to download. */
+        public boolean notModified;
+        /** Response body bytes received, as sent (compressed). */
+        public long wireBytes;
+        /** Response body bytes after decompression. */
+        public long decodedBytes;
+        /** Time spent writing to the database. */
+        public long applyMillis;
+        /** Time of the whole sync, network included. */
+        public long elapsedMillis;
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d pages, %d upserted, %d deleted, %d stale%s, %d bytes (%d decoded), "
+                            + "applied in %d ms, total %d ms",
+                    pages, upserted, deleted, stale, notModified ? ", not modified" : "",
+                    wireBytes, decodedBytes, applyMillis, elapsedMillis);
+        }
+    }
+
+    private final SyncDao syncDao;
+    private final SyncClient client;
+    @Nullable
+    private final OfflineGeocoder geocoder;
+    private final HotelCache hotelCache;
+    private final int pageSize;
+
+    /**
+     * @param geocoder Positions synced hotels that come without coordinates; may be null
+     */
+    public HotelSyncEngine(AppDatabase database, SyncClient client,
+                           @Nullable OfflineGeocoder geocoder, HotelCache hotelCache) {
+        this(database, client, geocoder, hotelCache, DEFAULT_PAGE_SIZE);
+    }
+
+    HotelSyncEngine(AppDatabase database, SyncClient client, @Nullable OfflineGeocoder geocoder,
+                    HotelCache hotelCache, int pageSize) {
+        this.syncDao = database.syncDao();
+        this.client = client;
+        this.geocoder = geocoder;
+        this.hotelCache = hotelCache;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Download and apply every change since the last sync.
+     * WHY synchronized? Two syncs at once would both apply the same pages; the second one
+     * waits and then usually gets a 304.
+     * @throws IOException If a request fails. The pages applied before it are kept.
+     */
+    @WorkerThread
+    public synchronized Result sync() throws IOException {
+        long start = System.nanoTime();
+        Result result = new Result();
+        SyncState state = syncDao.getState(FEED);
+        String token = state != null ? state.getToken() : null;
+        String etag = state != null ? state.getEtag() : null;
+
+        long applyNanos = 0;
+        ChangePage page;
+        do {
+            page = client.fetchChanges(token, etag, pageSize);
+            if (page == null) {
+                result.notModified = true;
+                syncDao.putState(new SyncState(FEED, token, etag, System.currentTimeMillis()));
+                break;
+            }
+            if (page.hasMore && page.nextToken.equals(token)) {
+                // Asking again would return the same page forever
+                throw new IOException("Change feed doesn't advance past " + token);
+            }
+            result.pages++;
+            result.wireBytes += page.wireBytes;
+            result.decodedBytes += page.decodedBytes;
+
+            long applyStart = System.nanoTime();
+            if (geocoder != null) {
+                for (Hotel hotel : page.changes) {
+                    geocoder.locate(hotel);
+                }
+            }
+            String nextEtag = page.nextToken.equals(token) ? page.etag : null;
+            SyncDao.Applied applied = syncDao.applyPage(page.changes, page.deleted,
+                    new SyncState(FEED, page.nextToken, nextEtag, System.currentTimeMillis()));
+            for (long hotelId : applied.changedIds) {
+                hotelCache.remove(hotelId);
+            }
+            applyNanos += System.nanoTime() - applyStart;
+            result.upserted += applied.upserted;
+            result.deleted += applied.deleted;
+            result.stale += applied.stale;
+
+            token = page.nextToken;
+            etag = nextEtag;
+        } while (page.hasMore);
+
+        result.applyMillis = applyNanos / 1_000_000;
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Log.i(TAG, "Synced: " + result);
+        return result;
+    }
+
+    /**
+     * Forget the sync position: the next {@link #sync()} downloads every hotel again.
+     * Hotels deleted on the backend meanwhile are only removed if the feed lists them.
+     */
+    @WorkerThread
+    public void reset() {
+        syncDao.putState(new SyncState(FEED, null, null, 0));
+    }
+}
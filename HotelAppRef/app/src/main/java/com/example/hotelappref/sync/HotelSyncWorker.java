@@ -0,0 +1,89 @@
+package com.example.hotelappref.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.hotelappref.R;
+import com.example.hotelappref.database.HotelRepository;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that runs {@link HotelSyncEngine#sync()} periodically.
+ *
+ * WHY WorkManager? The sync must survive process death and reboots, and must not run
+ * when it's wasteful: {@link #schedule} only lets it run on a connected network with
+ * the battery not low. A failed network request is retried with exponential backoff.
+ *
+ * The backend is R.string.sync_base_url. While it's empty (the default), nothing is
+ * scheduled and the app works from its local data only.
+ */
+public class HotelSyncWorker extends Worker {
+
+    static final String UNIQUE_WORK_NAME = "hotel-sync";
+
+    /** How often the catalog is synced. */
+    static final long SYNC_INTERVAL_HOURS = 6;
+
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+
+    private static final String TAG = "HotelSyncWorker";
+
+    public HotelSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule the periodic sync, if a backend is configured. Safe to call on every
+     * launch: an already scheduled sync is kept as it is.
+     */
+    public static void schedule(Context context) {
+        if (context.getString(R.string.sync_base_url).isEmpty()) {
+            return;
+        }
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                HotelSyncWorker.class, SYNC_INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String baseUrl = getApplicationContext().getString(R.string.sync_base_url);
+        if (baseUrl.isEmpty()) {
+            return Result.success();
+        }
+        HotelSyncEngine engine = HotelRepository.getInstance(getApplicationContext())
+                .createSyncEngine(new SyncClient(baseUrl));
+        try {
+            engine.sync();
+            return Result.success();
+        } catch (SyncClient.HttpException e) {
+            Log.w(TAG, "Sync rejected", e);
+            // A 4xx won't go away by asking again; the next period tries anyway
+            return e.isRetryable() ? Result.retry() : Result.failure();
+        } catch (IOException e) {
+            Log.w(TAG, "Sync failed, will retry", e);
+            return Result.retry();
+        }
+    }
+}
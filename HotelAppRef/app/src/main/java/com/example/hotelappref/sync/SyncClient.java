@@ -0,0 +1,261 @@
+package com.example.hotelappref.sync;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the backend's hotel change feed.
+ *
+ * PROTOCOL: {@code GET <base>/hotels/changes?limit=<n>[&since=<token>]}
+ * - No since: every hotel, from the beginning.
+ * - 200: a JSON object, optionally gzip-compressed:
+ *   <pre>
+ *   {"changes": [{"id": "h-42", "updatedAt": 1700000000000, "name": ..., "phone": ...,
+ *                 "website": ..., "location": ..., "nearby": ..., "food": ...,
+ *                 "photo": ..., "latitude": ..., "longitude": ...}, ...],
+ *    "deleted": ["h-7", ...],
+ *    "nextToken": "...", "hasMore": false}
+ *   </pre>
+ *   At most limit entries, each hotel at most once per page. The token is opaque.
+ * - 304: nothing changed since the token (the request sent the last ETag in
+ *   If-None-Match).
+ *
+ * WHY a change feed? A full download costs the whole catalog on every sync; the feed
+ * costs only what changed since the last sync. WHY gzip? Hotel JSON is repetitive
+ * text and compresses ~5-10x.
+ *
+ * WHY HttpURLConnection? It's built in; the app has no other HTTP needs that would justify
+ * a client library. Accept-Encoding is set explicitly, which makes the connection hand
+ * over the raw compressed bytes: they are counted ({@link ChangePage#wireBytes}) and
+ * decompressed here.
+ */
+public class SyncClient {
+
+    static final String CHANGES_PATH = "/hotels/changes";
+
+    private static final int CONNECT_TIMEOUT_MS = 15_000;
+    private static final int READ_TIMEOUT_MS = 30_000;
+
+    /** The backend answered with an unexpected status. */
+    public static final class HttpException extends IOException {
+        public final int code;
+
+        HttpException(int code, String message) {
+            super("HTTP " + code + " " + message);
+            this.code = code;
+        }
+
+        /** Server-side or throttling: the same request may succeed later. */
+        public boolean isRetryable() {
+            return code >= 500 || code == 429 || code == 408;
+        }
+    }
+
+    private final String baseUrl;
+
+    /** @param baseUrl e.g. "https://api.example.com/v1", without a trailing slash */
+    public SyncClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Fetch the changes after token.
+     * @param token Null to fetch everything
+     * @param etag The ETag of the last response for this token, or null
+     * @param limit Max changes plus deletions in the page
+     * @return The page, or null if the backend says nothing changed (304)
+     * @throws IOException Network error, unexpected status or malformed body
+     */
+    @Nullable
+    @WorkerThread
+    public ChangePage fetchChanges(@Nullable String token, @Nullable String etag, int limit)
+            throws IOException {
+        StringBuilder url = new StringBuilder(baseUrl).append(CHANGES_PATH)
+                .append("?limit=").append(limit);
+        if (token != null) {
+            url.append("&since=").append(URLEncoder.encode(token, "UTF-8"));
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(url.toString()).openConnection();
+        try {
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            if (etag != null) {
+                connection.setRequestProperty("If-None-Match", etag);
+            }
+
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return null;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new HttpException(code, String.valueOf(connection.getResponseMessage()));
+            }
+            CountingInputStream wire = new CountingInputStream(connection.getInputStream());
+            boolean gzip = "gzip".equalsIgnoreCase(connection.getContentEncoding());
+            CountingInputStream decoded = new CountingInputStream(
+                    gzip ? new GZIPInputStream(wire) : wire);
+            try (JsonReader reader = new JsonReader(
+                    new InputStreamReader(decoded, StandardCharsets.UTF_8))) {
+                return readPage(reader, connection.getHeaderField("ETag"), wire, decoded);
+            } catch (IllegalStateException | NumberFormatException e) {
+                // JsonReader reports unexpected tokens as IllegalStateException
+                throw new IOException("Malformed change feed", e);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static ChangePage readPage(JsonReader reader, @Nullable String etag,
+                                       CountingInputStream wire, CountingInputStream decoded)
+            throws IOException {
+        List<Hotel> changes = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        String nextToken = null;
+        boolean hasMore = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (key) {
+                case "changes":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        changes.add(readHotel(reader));
+                    }
+                    reader.endArray();
+                    break;
+                case "deleted":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        deleted.add(reader.nextString());
+                    }
+                    reader.endArray();
+                    break;
+                case "nextToken": nextToken = reader.nextString(); break;
+                case "hasMore": hasMore = reader.nextBoolean(); break;
+                default: reader.skipValue(); break;  // Ignore unknown keys
+            }
+        }
+        reader.endObject();
+
+        if (nextToken == null) {
+            throw new IOException("Change feed page without nextToken");
+        }
+        return new ChangePage(changes, deleted, nextToken, hasMore, etag,
+                wire.count, decoded.count);
+    }
+
+    /** Same fields as HotelImporter's JSON, plus id and updatedAt. */
+    private static Hotel readHotel(JsonReader reader) throws IOException {
+        String remoteId = null;
+        long updatedAt = 0;
+        String name = null;
+        String phone = null;
+        String website = null;
+        String location = null;
+        String nearby = null;
+        String food = null;
+        String photo = null;
+        Double latitude = null;
+        Double longitude = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (key) {
+                case "id": remoteId = reader.nextString(); break;  // Numbers are read as text
+                case "updatedAt": updatedAt = reader.nextLong(); break;
+                case "name": name = reader.nextString(); break;
+                case "phone": phone = reader.nextString(); break;
+                case "website": website = reader.nextString(); break;
+                case "location": location = reader.nextString(); break;
+                case "nearby": nearby = reader.nextString(); break;
+                case "food": food = reader.nextString(); break;
+                case "photo": photo = reader.nextString(); break;
+                case "latitude": latitude = reader.nextDouble(); break;
+                case "longitude": longitude = reader.nextDouble(); break;
+                default: reader.skipValue(); break;
+            }
+        }
+        reader.endObject();
+
+        if (remoteId == null || remoteId.isEmpty()) {
+            throw new IOException("Changed hotel without an id near " + reader);
+        }
+        if (name == null || name.isEmpty()) {
+            throw new IOException("Hotel " + remoteId + " without a name");
+        }
+        Hotel hotel = new Hotel(name, phone, website, location, nearby, food, 0);
+        hotel.setRemoteId(remoteId);
+        hotel.setUpdatedAt(updatedAt);
+        hotel.setPhotoUri(photo != null && !photo.isEmpty() ? photo : null);
+        // Only complete positions; the geocoder fills in the rest
+        if (latitude != null && longitude != null) {
+            hotel.setLatitude(latitude);
+            hotel.setLongitude(longitude);
+        }
+        return hotel;
+    }
+
+    /** Counts the bytes read through it. */
+    static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
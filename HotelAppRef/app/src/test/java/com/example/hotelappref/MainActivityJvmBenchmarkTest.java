@@ -0,0 +1,142 @@
+package com.example.hotelappref;
+
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelRepository;
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Host-side stand-in for the :macrobenchmark startup and scroll benchmarks.
+ *
+ * Robolectric runs MainActivity on the JVM, so this measures OUR code on those paths
+ * (inflation, adapter and repository setup, binding rows while scrolling) - not
+ * rendering, not ART, not the device. Use it for quick local before/after checks:
+ * {@code ./gradlew :app:testDebugUnitTest -PjvmBenchmarks --tests '*MainActivityJvmBenchmarkTest'}.
+ *
+ * Results go to app/build/benchmark-results/main-activity-jvm.json.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MainActivityJvmBenchmarkTest {
+
+    private static final int WARM_STARTS = 10;
+    private static final int HOTELS = 500;
+    private static final int SCROLL_STEPS = 50;
+    private static final long LOAD_TIMEOUT_MS = 10_000;
+
+    // One test method on purpose: the app's database and repository are process-wide
+    // singletons, and Robolectric gives every test method a new application
+    @Test
+    public void startupAndScroll() throws Exception {
+        List<String> results = new ArrayList<>();
+
+        // Cold: first creation in this JVM (classes loaded, database opened and seeded)
+        long coldNanos = timeStart();
+        results.add(result("startup_cold", new long[]{coldNanos}));
+
+        long[] warm = new long[WARM_STARTS];
+        for (int i = 0; i < WARM_STARTS; i++) {
+            warm[i] = timeStart();
+        }
+        results.add(result("startup_warm", warm));
+
+        results.add(result("scroll_step", timeScroll()));
+        write(results);
+    }
+
+    /** create() -> start() -> resume() -> visible(), then tear the activity down. */
+    private static long timeStart() {
+        ActivityController<MainActivity> controller = Robolectric.buildActivity(MainActivity.class);
+        long start = System.nanoTime();
+        controller.setup();
+        long elapsed = System.nanoTime() - start;
+        controller.pause().stop().destroy();
+        return elapsed;
+    }
+
+    /** Time of one screen-height scroll step (layout plus binding the new rows). */
+    private static long[] timeScroll() throws Exception {
+        ActivityController<MainActivity> controller = Robolectric.buildActivity(MainActivity.class);
+        MainActivity activity = controller.setup().get();
+        insertHotels(HotelRepository.getInstance(activity).getDatabase());
+
+        RecyclerView list = activity.findViewById(R.id.recyclerView);
+        waitForItems(list);
+
+        long[] steps = new long[SCROLL_STEPS];
+        for (int i = 0; i < SCROLL_STEPS; i++) {
+            long start = System.nanoTime();
+            list.scrollBy(0, list.getHeight());
+            shadowOf(Looper.getMainLooper()).idle();
+            steps[i] = System.nanoTime() - start;
+        }
+        controller.pause().stop().destroy();
+        return steps;
+    }
+
+    // Room refuses writes on the main thread, which is the Robolectric test thread
+    private static void insertHotels(AppDatabase database) throws InterruptedException {
+        Thread writer = new Thread(() -> {
+            List<Hotel> hotels = new ArrayList<>(HOTELS);
+            for (int i = 0; i < HOTELS; i++) {
+                hotels.add(new Hotel("Benchmark Hotel " + i, "+961 1 " + i, "www.hotel" + i + ".com",
+                        "Beirut, Lebanon", "Corniche", "Cafe", 0));
+            }
+            database.hotelDao().importChunk(hotels);
+        });
+        writer.start();
+        writer.join();
+    }
+
+    /** Drive the main looper until Paging has delivered the inserted rows. */
+    private static void waitForItems(RecyclerView list) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + LOAD_TIMEOUT_MS;
+        while (list.getAdapter().getItemCount() < HOTELS) {
+            assertTrue("Hotels never reached the list", System.currentTimeMillis() < deadline);
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(10);
+        }
+    }
+
+    private static String result(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT,
+                "    {\"name\": \"%s\", \"metrics\": {\"timeNs\": "
+                        + "{\"minimum\": %d, \"maximum\": %d, \"median\": %d}}}",
+                name, sorted[0], sorted[sorted.length - 1], sorted[sorted.length / 2]);
+    }
+
+    private static void write(List<String> results) throws IOException {
+        File dir = new File("build/benchmark-results");
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        try (Writer out = new FileWriter(new File(dir, "main-activity-jvm.json"))) {
+            out.write("{\n  \"benchmarks\": [\n");
+            for (int i = 0; i < results.size(); i++) {
+                out.write(results.get(i));
+                out.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            out.write("  ]\n}\n");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hotelappref.adapters;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that HotelDiffCallback produces the minimal change set for list updates.
+ */
+public class HotelDiffCallbackTest {
+
+    @Test
+    public void insert_dispatchesSingleInsert() {
+        List<HotelSummary> before = Arrays.asList(hotel(1, "A"), hotel(2, "C"));
+        List<HotelSummary> after = Arrays.asList(hotel(1, "A"), hotel(3, "B"), hotel(2, "C"));
+
+        RecordingCallback updates = diff(before, after);
+
+        assertEquals(Arrays.asList("insert 1,1"), updates.events);
+    }
+
+    @Test
+    public void fieldChange_dispatchesSingleChange() {
+        HotelSummary original = hotel(1, "A");
+        HotelSummary edited = new HotelSummary(1, "A", "Byblos", 0);
+
+        RecordingCallback updates = diff(
+                Arrays.asList(original, hotel(2, "B")),
+                Arrays.asList(edited, hotel(2, "B")));
+
+        assertEquals(Arrays.asList("change 0,1"), updates.events);
+    }
+
+    @Test
+    public void photoChange_dispatchesSingleChange() {
+        HotelSummary withPhoto = new HotelSummary(1, "A", "Beirut", 0, "file:///photos/1.jpg");
+
+        RecordingCallback updates = diff(
+                Arrays.asList(hotel(1, "A"), hotel(2, "B")),
+                Arrays.asList(withPhoto, hotel(2, "B")));
+
+        assertEquals(Arrays.asList("change 0,1"), updates.events);
+    }
+
+    @Test
+    public void delete_dispatchesSingleRemove() {
+        RecordingCallback updates = diff(
+                Arrays.asList(hotel(1, "A"), hotel(2, "B"), hotel(3, "C")),
+                Arrays.asList(hotel(1, "A"), hotel(3, "C")));
+
+        assertEquals(Arrays.asList("remove 1,1"), updates.events);
+    }
+
+    @Test
+    public void identicalLists_dispatchNothing() {
+        RecordingCallback updates = diff(
+                Arrays.asList(hotel(1, "A"), hotel(2, "B")),
+                Arrays.asList(hotel(1, "A"), hotel(2, "B")));
+
+        assertTrue(updates.events.isEmpty());
+    }
+
+    private static RecordingCallback diff(List<HotelSummary> before, List<HotelSummary> after) {
+        final HotelDiffCallback itemCallback = new HotelDiffCallback();
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return before.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return after.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPos, int newPos) {
+                return itemCallback.areItemsTheSame(before.get(oldPos), after.get(newPos));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPos, int newPos) {
+                return itemCallback.areContentsTheSame(before.get(oldPos), after.get(newPos));
+            }
+        });
+        RecordingCallback recorder = new RecordingCallback();
+        result.dispatchUpdatesTo(recorder);
+        return recorder;
+    }
+
+    private static HotelSummary hotel(long id, String name) {
+        return new HotelSummary(id, name, "Beirut", 0);
+    }
+
+    private static class RecordingCallback implements ListUpdateCallback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onInserted(int position, int count) {
+            events.add("insert " + position + "," + count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            events.add("remove " + position + "," + count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            events.add("move " + fromPosition + "," + toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            events.add("change " + position + "," + count);
+        }
+    }
+}
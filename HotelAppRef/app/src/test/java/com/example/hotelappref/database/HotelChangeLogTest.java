@@ -0,0 +1,245 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelChange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * The trigger-maintained change log, its compaction, and the consumers that follow it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelChangeLogTest {
+
+    private AppDatabase database;
+    private HotelDao dao;
+    private HotelChangeLog log;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                // Invalidation callbacks run inline, so each write is followed before it returns
+                .setQueryExecutor(Runnable::run)
+                .addCallback(ChangeLogTriggers.CALLBACK)
+                .build();
+        dao = database.hotelDao();
+        log = new HotelChangeLog(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void everyWrite_isLoggedInOrder() {
+        long first = dao.insert(hotel("Seaside"));
+        Hotel second = dao.getHotelById(dao.insert(hotel("Cedars")));
+        second.setName("Cedars Lodge");
+        dao.update(second);
+        dao.setPosition(first, 33.9, 35.5);  // Raw SQL is logged too
+        dao.delete(second);
+
+        HotelChangeLog.Changes changes = log.changesSince(0, 100);
+
+        assertTrue(changes.complete);
+        assertEquals(5, changes.changes.size());
+        int[] ops = {HotelChange.OP_INSERT, HotelChange.OP_INSERT, HotelChange.OP_UPDATE,
+                HotelChange.OP_UPDATE, HotelChange.OP_DELETE};
+        long[] ids = {first, second.getId(), second.getId(), first, second.getId()};
+        for (int i = 0; i < ops.length; i++) {
+            HotelChange change = changes.changes.get(i);
+            assertEquals(i + 1, change.getSeq());
+            assertEquals(ops[i], change.getOp());
+            assertEquals(ids[i], change.getHotelId());
+            assertTrue(change.getChangedAt() > 0);
+        }
+        assertEquals(5, changes.lastSeq);
+        assertEquals(5, log.latestSeq());
+    }
+
+    @Test
+    public void changesSince_pagesThroughTheLog() {
+        for (int i = 0; i < 5; i++) {
+            dao.insert(hotel("Hotel " + i));
+        }
+
+        HotelChangeLog.Changes page = log.changesSince(2, 2);
+
+        assertEquals(2, page.changes.size());
+        assertEquals(3, page.changes.get(0).getSeq());
+        assertEquals(4, page.lastSeq);
+        assertTrue(log.changesSince(5, 10).changes.isEmpty());
+        assertEquals(5, log.changesSince(5, 10).lastSeq);
+    }
+
+    @Test
+    public void compact_dropsOldChanges_butKeepsTheNewestSeq() {
+        for (int i = 0; i < 3; i++) {
+            dao.insert(hotel("Hotel " + i));
+        }
+
+        int deleted = log.compact(System.currentTimeMillis() + HotelChangeLog.RETENTION_MILLIS + 1);
+
+        assertEquals(2, deleted);
+        assertEquals(3, log.latestSeq());
+        assertFalse("changes 1-2 are gone", log.changesSince(0, 10).complete);
+        assertTrue(log.changesSince(2, 10).complete);
+        dao.insert(hotel("Hotel 3"));
+        assertEquals("seq never goes back", 4, log.latestSeq());
+    }
+
+    @Test
+    public void compact_keepsAtMostMaxRows() {
+        List<Hotel> hotels = new ArrayList<>();
+        for (int i = 0; i < HotelChangeLog.MAX_ROWS + 10; i++) {
+            hotels.add(hotel("Hotel " + i));
+        }
+        dao.insertAll(hotels);
+
+        assertEquals(10, log.compact());
+
+        assertFalse(log.changesSince(0, 1).complete);
+        assertTrue(log.changesSince(10, 1).complete);
+    }
+
+    @Test
+    public void follower_startsWithReset_thenReplaysOnlyTheLastOpPerHotel() {
+        long a = dao.insert(hotel("A"));
+        long b = dao.insert(hotel("B"));
+        RecordingFollower follower = new RecordingFollower(log);
+        follower.catchUp();
+        assertEquals(1, follower.resets);
+
+        Hotel hotelA = dao.getHotelById(a);
+        hotelA.setName("A2");
+        dao.update(hotelA);
+        dao.delete(dao.getHotelById(b));
+        long c = dao.insert(hotel("C"));
+        follower.catchUp();
+
+        assertEquals(1, follower.resets);
+        assertEquals(setOf(a, c), follower.changed);
+        assertEquals(setOf(b), follower.deleted);
+    }
+
+    @Test
+    public void follower_resetsWhenChangesWereCompactedAway() {
+        dao.insert(hotel("A"));
+        RecordingFollower follower = new RecordingFollower(log);
+        follower.catchUp();
+        dao.insert(hotel("B"));
+        dao.insert(hotel("C"));
+
+        log.compact(System.currentTimeMillis() + HotelChangeLog.RETENTION_MILLIS + 1);
+        follower.catchUp();
+
+        assertEquals(2, follower.resets);
+        assertTrue(follower.changed.isEmpty());
+    }
+
+    @Test
+    public void oneHotel_knownIsNotReloaded_andFollowsItsChanges() {
+        long cedars = dao.insert(hotel("Cedars Lodge"));
+        long grotto = dao.insert(hotel("Grotto Inn"));
+        Hotel known = dao.getHotelById(cedars);
+        HotelLiveData live = new HotelLiveData(database, log, Runnable::run, cedars, known, () -> {
+            throw new AssertionError("the known hotel was loaded again");
+        });
+        Observer<Hotel> observer = hotel -> { };
+        live.observeForever(observer);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertSame(known, live.getValue());
+
+        Hotel other = dao.getHotelById(grotto);
+        other.setName("Grotto Suites");
+        dao.update(other);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertSame("another hotel's write changes nothing", known, live.getValue());
+
+        Hotel renamed = dao.getHotelById(cedars);
+        renamed.setName("Alpine Cedars");
+        dao.update(renamed);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals("Alpine Cedars", live.getValue().getName());
+
+        dao.delete(renamed);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertNull(live.getValue());
+        live.removeObserver(observer);
+    }
+
+    @Test
+    public void oneHotel_unknownIsLoadedOnce() {
+        long cedars = dao.insert(hotel("Cedars Lodge"));
+        int[] loads = new int[1];
+        HotelLiveData live = new HotelLiveData(database, log, Runnable::run, cedars, null, () -> {
+            loads[0]++;
+            return dao.getHotelById(cedars);
+        });
+        Observer<Hotel> observer = hotel -> { };
+        live.observeForever(observer);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals("Cedars Lodge", live.getValue().getName());
+        dao.insert(hotel("Grotto Inn"));
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, loads[0]);
+        live.removeObserver(observer);
+    }
+
+    private static Hotel hotel(String name) {
+        return new Hotel(name, "+961 1 000000", "www.example.com", "Beirut, Lebanon",
+                "Corniche", "Lebanese Cuisine", 0);
+    }
+
+    private static Set<Long> setOf(long... ids) {
+        Set<Long> set = new HashSet<>();
+        for (long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    private static final class RecordingFollower extends HotelChangeLog.Follower {
+        int resets;
+        final Set<Long> changed = new HashSet<>();
+        final Set<Long> deleted = new HashSet<>();
+
+        RecordingFollower(HotelChangeLog log) {
+            super(log);
+        }
+
+        @Override
+        protected void onHotelsChanged(Set<Long> changedIds, Set<Long> deletedIds) {
+            changed.addAll(changedIds);
+            deleted.addAll(deletedIds);
+        }
+
+        @Override
+        protected void onReset() {
+            resets++;
+        }
+    }
+}
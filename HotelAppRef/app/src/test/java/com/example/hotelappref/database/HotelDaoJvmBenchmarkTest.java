@@ -0,0 +1,135 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.benchmark.HotelFixtures;
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * JVM variant of the :benchmark HotelDao microbenchmarks, for machines without a device.
+ *
+ * Robolectric runs Room against an in-memory SQLite on the host, so it runs on a plain
+ * Linux box:
+ * {@code ./gradlew :app:testDebugUnitTest -PjvmBenchmarks --tests '*HotelDaoJvmBenchmarkTest'}.
+ *
+ * Results go to app/build/benchmark-results/hotel-dao-jvm.json, in the same layout as
+ * androidx.benchmark's JSON (name, params, metrics.timeNs median/minimum/maximum).
+ *
+ * WHY keep both? Host numbers say nothing about a phone's absolute speed. They do show
+ * relative regressions (a lost index, a query that became O(n)) in seconds, in CI.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class HotelDaoJvmBenchmarkTest {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final int BATCH_SIZE = 100;
+
+    // Collected across every dataset size, written once in writeResults()
+    private static final List<String> RESULTS = new ArrayList<>();
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "rows={0}")
+    public static Collection<Object[]> datasetSizes() {
+        return Arrays.asList(new Object[][]{{100}, {10_000}, {100_000}});
+    }
+
+    private final int rows;
+    private AppDatabase database;
+    private HotelDao dao;
+
+    public HotelDaoJvmBenchmarkTest(int rows) {
+        this.rows = rows;
+    }
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = AppDatabase.newInMemoryBuilder(context)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .build();
+        dao = database.hotelDao();
+        HotelFixtures.fill(dao, rows);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void daoOperations() {
+        final int[] next = {rows};
+        measure("insert_single", () -> dao.insert(HotelFixtures.hotel(next[0]++)));
+        measure("insert_batch100", () -> {
+            List<Hotel> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(HotelFixtures.hotel(next[0]++));
+            }
+            dao.insertAll(batch);
+        });
+        measure("getAllHotels", () -> dao.getAllHotels());
+        measure("getAllHotelSummaries", () -> dao.getAllHotelSummaries());
+
+        Random random = new Random(42);
+        measure("getHotelById", () -> assertNotNull(dao.getHotelById(1 + random.nextInt(rows))));
+
+        final int[] term = {0};
+        measure("searchHotelsByName",
+                () -> dao.searchHotelsByName(HotelFixtures.SEARCH_TERMS[
+                        term[0]++ % HotelFixtures.SEARCH_TERMS.length]));
+    }
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        File dir = new File("build/benchmark-results");
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        try (Writer out = new FileWriter(new File(dir, "hotel-dao-jvm.json"))) {
+            out.write("{\n  \"benchmarks\": [\n");
+            for (int i = 0; i < RESULTS.size(); i++) {
+                out.write(RESULTS.get(i));
+                out.write(i < RESULTS.size() - 1 ? ",\n" : "\n");
+            }
+            out.write("  ]\n}\n");
+        }
+    }
+
+    /** Time {@code operation} and record median/min/max. */
+    private void measure(String name, Runnable operation) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            operation.run();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        RESULTS.add(String.format(Locale.ROOT,
+                "    {\"name\": \"%s\", \"params\": {\"rows\": \"%d\"}, "
+                        + "\"metrics\": {\"timeNs\": {\"minimum\": %d, \"maximum\": %d, \"median\": %d}}}",
+                name, rows, nanos[0], nanos[MEASURED_RUNS - 1], nanos[MEASURED_RUNS / 2]));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hotelappref.database;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the CSV line parser used by HotelImporter.
+ */
+public class HotelImporterCsvTest {
+
+    @Test
+    public void plainFields_areSplitAndTrimmed() {
+        assertEquals(Arrays.asList("Luxury Inn", "+961 1 567890", "www.luxuryinn.com"),
+                HotelImporter.parseCsvLine("Luxury Inn, +961 1 567890 ,www.luxuryinn.com"));
+    }
+
+    @Test
+    public void quotedFields_keepTheirCommas() {
+        assertEquals(Arrays.asList("Luxury Inn", "Pigeon Rocks, Corniche, Zaitunay Bay"),
+                HotelImporter.parseCsvLine("Luxury Inn,\"Pigeon Rocks, Corniche, Zaitunay Bay\""));
+    }
+
+    @Test
+    public void doubledQuotes_becomeOneQuote() {
+        assertEquals(Arrays.asList("The \"Grand\" Plaza", "x"),
+                HotelImporter.parseCsvLine("\"The \"\"Grand\"\" Plaza\",x"));
+    }
+
+    @Test
+    public void emptyFields_arePreserved() {
+        assertEquals(Arrays.asList("Hotel", "", "", "Tyre"),
+                HotelImporter.parseCsvLine("Hotel,,,Tyre"));
+    }
+}
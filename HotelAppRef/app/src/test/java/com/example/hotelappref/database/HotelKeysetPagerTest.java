@@ -0,0 +1,126 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Keyset pages, walked to the end, must list every hotel exactly once and in order -
+ * including duplicate keys and NULL names and locations, which sort first.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelKeysetPagerTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    // Nulls first, like SQLite
+    private static final Comparator<String> NULLS_FIRST = (a, b) ->
+            a == null || b == null ? Boolean.compare(a != null, b != null) : a.compareTo(b);
+
+    private AppDatabase database;
+    private HotelKeysetPager pager;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .build();
+        pager = new HotelKeysetPager(database);
+
+        String[] names = {"Cedars", null, "Alpine", "Cedars", "Beach", null, "Cedars", "Alpine"};
+        String[] locations = {"Faraya", "Tyre", null, "Faraya", "Tyre", null, "Beirut", "Faraya"};
+        List<Hotel> hotels = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < names.length; i++) {
+                hotels.add(new Hotel(names[i], null, null, locations[i], null, null, 0));
+            }
+        }
+        database.hotelDao().insertAll(hotels);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void byName_listsEveryHotelOnceInOrder() {
+        List<HotelSummary> expected = database.hotelDao().getAllHotelSummaries();
+        Collections.sort(expected, (a, b) -> {
+            int byName = NULLS_FIRST.compare(a.getName(), b.getName());
+            return byName != 0 ? byName : Long.compare(a.getId(), b.getId());
+        });
+
+        assertEquals(idsOf(expected), idsOf(walk(HotelKeysetPager.Order.BY_NAME)));
+    }
+
+    @Test
+    public void byLocation_listsEveryHotelOnceInOrder() {
+        List<HotelSummary> expected = database.hotelDao().getAllHotelSummaries();
+        Collections.sort(expected, (a, b) -> {
+            int byLocation = NULLS_FIRST.compare(a.getLocation(), b.getLocation());
+            int byName = NULLS_FIRST.compare(a.getName(), b.getName());
+            return byLocation != 0 ? byLocation
+                    : byName != 0 ? byName
+                    : Long.compare(a.getId(), b.getId());
+        });
+
+        assertEquals(idsOf(expected), idsOf(walk(HotelKeysetPager.Order.BY_LOCATION)));
+    }
+
+    @Test
+    public void newestFirst_listsEveryHotelOnceInOrder() {
+        List<HotelSummary> expected = database.hotelDao().getAllHotelSummaries();
+        Collections.sort(expected, (a, b) -> Long.compare(b.getId(), a.getId()));
+
+        assertEquals(idsOf(expected), idsOf(walk(HotelKeysetPager.Order.NEWEST_FIRST)));
+    }
+
+    @Test
+    public void page_picksUpRowsInsertedBehindTheKey() {
+        List<HotelSummary> first = pager.page(HotelKeysetPager.Order.NEWEST_FIRST, null, PAGE_SIZE);
+        database.hotelDao().insert(new Hotel("Zahle Suites", null, null, "Zahle", null, null, 0));
+
+        // OFFSET would shift by one row and repeat a hotel here
+        List<HotelSummary> second = pager.page(HotelKeysetPager.Order.NEWEST_FIRST,
+                first.get(PAGE_SIZE - 1), PAGE_SIZE);
+        assertEquals(first.get(PAGE_SIZE - 1).getId() - 1, second.get(0).getId());
+    }
+
+    /** Every page in order, until a short one. */
+    private List<HotelSummary> walk(HotelKeysetPager.Order order) {
+        List<HotelSummary> all = new ArrayList<>();
+        List<HotelSummary> page;
+        do {
+            page = pager.page(order, all.isEmpty() ? null : all.get(all.size() - 1), PAGE_SIZE);
+            all.addAll(page);
+        } while (page.size() == PAGE_SIZE);
+        return all;
+    }
+
+    private static List<Long> idsOf(List<HotelSummary> hotels) {
+        List<Long> ids = new ArrayList<>();
+        for (HotelSummary hotel : hotels) {
+            ids.add(hotel.getId());
+        }
+        return ids;
+    }
+}
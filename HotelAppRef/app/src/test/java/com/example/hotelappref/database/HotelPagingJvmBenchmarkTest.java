@@ -0,0 +1,130 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * JVM variant of the :benchmark HotelPagingBenchmark: one page of 30 at page 1, 10, 100
+ * and 1000 of 100k hotels, keyset (each order) versus LIMIT/OFFSET.
+ *
+ * {@code ./gradlew :app:testDebugUnitTest -PjvmBenchmarks --tests '*HotelPagingJvmBenchmarkTest'}.
+ * Results go to app/build/benchmark-results/hotel-paging-jvm.json, in the layout of
+ * HotelDaoJvmBenchmarkTest's file, with the page number as a param.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelPagingJvmBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 30;
+    private static final int[] PAGES = {1, 10, 100, 1000};
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    private final List<String> results = new ArrayList<>();
+    private AppDatabase database;
+    private HotelDao dao;
+    private HotelKeysetPager pager;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = AppDatabase.newInMemoryBuilder(context)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .build();
+        dao = database.hotelDao();
+        List<Hotel> chunk = new ArrayList<>(HotelImporter.DEFAULT_CHUNK_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            chunk.add(new Hotel("Hotel " + (i % 20_000), null, null,
+                    "Beirut " + (i % 50) + ", Lebanon", null, null, 0));
+            if (chunk.size() == HotelImporter.DEFAULT_CHUNK_SIZE) {
+                dao.importChunk(chunk);
+                chunk.clear();
+            }
+        }
+        dao.importChunk(chunk);
+        pager = new HotelKeysetPager(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void pageFetch_atIncreasingDepth() throws IOException {
+        for (HotelKeysetPager.Order order : HotelKeysetPager.Order.values()) {
+            HotelSummary after = null;
+            int page = 1;
+            for (int target : PAGES) {
+                // Walk to the target page the way a scrolling list would
+                for (; page < target; page++) {
+                    List<HotelSummary> rows = pager.page(order, after, PAGE_SIZE);
+                    after = rows.get(rows.size() - 1);
+                }
+                HotelSummary key = after;
+                measure("keyset_" + order.name().toLowerCase(Locale.ROOT), target,
+                        () -> assertEquals(PAGE_SIZE, pager.page(order, key, PAGE_SIZE).size()));
+            }
+        }
+        for (int target : PAGES) {
+            SimpleSQLiteQuery query = new SimpleSQLiteQuery("SELECT " + HotelDao.HOTEL_SUMMARY_COLUMNS
+                    + " FROM hotels ORDER BY name, id LIMIT ? OFFSET ?",
+                    new Object[]{PAGE_SIZE, (target - 1) * PAGE_SIZE});
+            measure("offset_by_name", target,
+                    () -> assertEquals(PAGE_SIZE, dao.getHotelSummaries(query).size()));
+        }
+        writeResults();
+    }
+
+    private void measure(String name, int page, Runnable fetch) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            fetch.run();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            fetch.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        results.add(String.format(Locale.ROOT,
+                "    {\"name\": \"%s\", \"params\": {\"rows\": \"%d\", \"page\": \"%d\"}, "
+                        + "\"metrics\": {\"timeNs\": {\"minimum\": %d, \"maximum\": %d, \"median\": %d}}}",
+                name, ROWS, page, nanos[0], nanos[MEASURED_RUNS - 1], nanos[MEASURED_RUNS / 2]));
+    }
+
+    private void writeResults() throws IOException {
+        File dir = new File("build/benchmark-results");
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        try (Writer out = new FileWriter(new File(dir, "hotel-paging-jvm.json"))) {
+            out.write("{\n  \"benchmarks\": [\n");
+            for (int i = 0; i < results.size(); i++) {
+                out.write(results.get(i));
+                out.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            out.write("  ]\n}\n");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hotelappref.database;
+
+import com.example.hotelappref.models.HotelSearchResult;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the FTS query builder and matchinfo() ranking.
+ */
+public class HotelSearchTest {
+
+    @Test
+    public void toMatchQuery_prefixMatchesEveryWord() {
+        assertEquals("sea* res*", HotelSearch.toMatchQuery("Sea Res"));
+    }
+
+    @Test
+    public void toMatchQuery_dropsFtsOperators() {
+        assertEquals("grand* plaza*", HotelSearch.toMatchQuery("\"grand\" -plaza*"));
+        assertEquals("al* bass*", HotelSearch.toMatchQuery("Al-Bass"));
+    }
+
+    @Test
+    public void toMatchQuery_returnsNullWithoutWords() {
+        assertNull(HotelSearch.toMatchQuery(null));
+        assertNull(HotelSearch.toMatchQuery("   "));
+        assertNull(HotelSearch.toMatchQuery("*:\"-"));
+    }
+
+    @Test
+    public void toMatchQuery_skipsOneLetterWords() {
+        assertEquals("sea*", HotelSearch.toMatchQuery("Sea R"));
+        assertNull(HotelSearch.toMatchQuery("s"));
+    }
+
+    @Test
+    public void score_weightsNameAboveFood() {
+        // One phrase, four columns: hit only in name vs hit only in food
+        double nameHit = HotelSearch.score(matchInfo(1, 4, new int[]{1, 1, 1}, zero(), zero(), zero()));
+        double foodHit = HotelSearch.score(matchInfo(1, 4, zero(), zero(), zero(), new int[]{1, 1, 1}));
+        assertTrue(nameHit > foodHit);
+    }
+
+    @Test
+    public void score_prefersRareTerms() {
+        double rare = HotelSearch.score(matchInfo(1, 4, new int[]{1, 2, 2}, zero(), zero(), zero()));
+        double common = HotelSearch.score(matchInfo(1, 4, new int[]{1, 50, 50}, zero(), zero(), zero()));
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void score_handlesMissingOrTruncatedBlob() {
+        assertEquals(0, HotelSearch.score(null), 0);
+        assertEquals(0, HotelSearch.score(new byte[3]), 0);
+    }
+
+    @Test
+    public void rank_ordersBestMatchFirst() {
+        HotelSearchResult foodMatch = result("Food Match",
+                matchInfo(1, 4, zero(), zero(), zero(), new int[]{1, 2, 2}));
+        HotelSearchResult nameMatch = result("Name Match",
+                matchInfo(1, 4, new int[]{1, 2, 2}, zero(), zero(), zero()));
+
+        List<HotelSummary> ranked = HotelSearch.rank(Arrays.asList(foodMatch, nameMatch));
+
+        assertEquals("Name Match", ranked.get(0).getName());
+        assertEquals("Food Match", ranked.get(1).getName());
+    }
+
+    private static int[] zero() {
+        return new int[]{0, 0, 0};
+    }
+
+    /** Build a matchinfo('pcx') blob for one phrase. */
+    private static byte[] matchInfo(int phrases, int columns, int[]... perColumn) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (2 + 3 * phrases * columns))
+                .order(ByteOrder.nativeOrder());
+        buffer.putInt(phrases).putInt(columns);
+        for (int[] stats : perColumn) {
+            for (int value : stats) {
+                buffer.putInt(value);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static HotelSearchResult result(String name, byte[] matchInfo) {
+        HotelSearchResult result = new HotelSearchResult();
+        result.hotel = new HotelSummary(0, name, "", 0);
+        result.matchInfo = matchInfo;
+        return result;
+    }
+}
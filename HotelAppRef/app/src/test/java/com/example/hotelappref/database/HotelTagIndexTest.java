@@ -0,0 +1,228 @@
+package com.example.hotelappref.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.HotelSummary;
+import com.example.hotelappref.models.Tag;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The tag tables: kept in step with hotel writes through the change log, and the
+ * filters and facet counts read from them.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelTagIndexTest {
+
+    private AppDatabase database;
+    private HotelDao dao;
+    private TagDao tagDao;
+    private HotelChangeLog log;
+    private HotelTagIndex index;
+    private HotelTagSearch search;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .addCallback(ChangeLogTriggers.CALLBACK)
+                .build();
+        dao = database.hotelDao();
+        tagDao = database.tagDao();
+        log = new HotelChangeLog(database);
+        index = new HotelTagIndex(database, log, Runnable::run);
+        search = new HotelTagSearch(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void firstCatchUp_tagsTheExistingHotels() {
+        dao.insert(hotel("Seaside Resort", "Harissa, Jeita Grotto", "Seafood Bar; Pool Cafe"));
+        dao.insert(hotel("Luxury Inn", "Pigeon Rocks, jeita grotto", "Seafood bar"));
+
+        assertEquals("no position yet: rebuild", -1, index.catchUp());
+
+        Tag grotto = tagDao.findTag(Tag.KIND_ATTRACTION, "jeita grotto");
+        assertEquals("Jeita Grotto", grotto.getName());
+        assertEquals(2, grotto.getHotelCount());
+        assertEquals(2, tagDao.findTag(Tag.KIND_CUISINE, "seafood bar").getHotelCount());
+        assertNull("kinds are separate", tagDao.findTag(Tag.KIND_CUISINE, "jeita grotto"));
+        assertEquals(0, index.catchUp());
+    }
+
+    @Test
+    public void catchUp_appliesOnlyWhatChanged() {
+        long seaside = dao.insert(hotel("Seaside Resort", "Harissa, Jeita Grotto", "Seafood Bar"));
+        dao.insert(hotel("Luxury Inn", "Pigeon Rocks", "Seafood Bar"));
+        index.catchUp();
+        long seafoodId = tagDao.findTag(Tag.KIND_CUISINE, "seafood bar").getId();
+
+        Hotel changed = dao.getHotelById(seaside);
+        changed.setFood("Sushi Bar");
+        dao.update(changed);
+        long added = dao.insert(hotel("Beach Resort", "Beach", "Sushi Bar"));
+
+        assertEquals(2, index.catchUp());
+        assertEquals(1, tagDao.findTag(Tag.KIND_CUISINE, "seafood bar").getHotelCount());
+        assertEquals(2, tagDao.findTag(Tag.KIND_CUISINE, "sushi bar").getHotelCount());
+        assertEquals("ids are stable", seafoodId, tagDao.findTag(Tag.KIND_CUISINE, "seafood bar").getId());
+        assertEquals(names("Beach"), namesOf(tagDao.getTagsOfHotel(added), Tag.KIND_ATTRACTION));
+
+        dao.delete(dao.getHotelById(added));
+        assertEquals(1, index.catchUp());
+        assertEquals(1, tagDao.findTag(Tag.KIND_CUISINE, "sushi bar").getHotelCount());
+        assertTrue(tagDao.getTagsOfHotel(added).isEmpty());
+    }
+
+    @Test
+    public void incrementalChanges_matchARebuild() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(dao.insert(hotel("Hotel " + i, "Sight " + (i % 3) + ", Sight " + (i % 7),
+                    "Cuisine " + (i % 4))));
+        }
+        index.catchUp();
+        for (int i = 0; i < 20; i += 3) {
+            Hotel hotel = dao.getHotelById(ids.get(i));
+            hotel.setNearby("Sight " + (i % 5));
+            dao.update(hotel);
+        }
+        dao.delete(dao.getHotelById(ids.get(1)));
+        dao.setPosition(ids.get(2), 33.9, 35.5);  // Changes no tags
+        index.catchUp();
+        String incremental = snapshot();
+
+        database.runInTransaction(() ->
+                HotelTagIndex.rebuild(database.getOpenHelper().getWritableDatabase()));
+
+        assertEquals(snapshot(), incremental);
+    }
+
+    @Test
+    public void catchUp_rebuildsWhenChangesWereCompactedAway() {
+        dao.insert(hotel("Seaside Resort", "Harissa", "Seafood Bar"));
+        index.catchUp();
+        dao.insert(hotel("Luxury Inn", "Harissa", "Sushi Bar"));
+        dao.insert(hotel("Beach Resort", "Harissa", "Sushi Bar"));
+        log.compact(System.currentTimeMillis() + HotelChangeLog.RETENTION_MILLIS + 1);
+
+        assertEquals(-1, index.catchUp());
+        assertEquals(3, tagDao.findTag(Tag.KIND_ATTRACTION, "harissa").getHotelCount());
+    }
+
+    @Test
+    public void hotelsWithTags_matchesAllTags_inPages() {
+        for (int i = 0; i < 10; i++) {
+            dao.insert(hotel("Hotel " + i, i % 2 == 0 ? "Corniche, Beach" : "Corniche",
+                    i < 6 ? "Seafood" : "Sushi"));
+        }
+        index.catchUp();
+        long corniche = tagDao.findTag(Tag.KIND_ATTRACTION, "corniche").getId();
+        long beach = tagDao.findTag(Tag.KIND_ATTRACTION, "beach").getId();
+        long seafood = tagDao.findTag(Tag.KIND_CUISINE, "seafood").getId();
+        List<Long> selected = Arrays.asList(corniche, beach, seafood);
+
+        List<HotelSummary> first = search.hotelsWithTags(selected, 0, 2);
+        List<HotelSummary> rest = search.hotelsWithTags(selected, first.get(1).getId(), 10);
+
+        assertEquals(names("Hotel 0", "Hotel 2"), summaryNames(first));
+        assertEquals(names("Hotel 4"), summaryNames(rest));
+        assertEquals(10, search.hotelsWithTags(Collections.singletonList(corniche), 0, 20).size());
+        assertTrue(search.hotelsWithTags(Arrays.asList(beach, 999L), 0, 20).isEmpty());
+        assertTrue(search.hotelsWithTags(Collections.<Long>emptyList(), 0, 20).isEmpty());
+    }
+
+    @Test
+    public void facets_countWithinTheResults() {
+        for (int i = 0; i < 10; i++) {
+            dao.insert(hotel("Hotel " + i, i % 2 == 0 ? "Corniche, Beach" : "Corniche",
+                    i < 6 ? "Seafood" : "Sushi"));
+        }
+        index.catchUp();
+        long beach = tagDao.findTag(Tag.KIND_ATTRACTION, "beach").getId();
+
+        // Catalog-wide, from the stored counts
+        List<Tag> all = search.facets(Collections.<Long>emptyList(), Tag.KIND_CUISINE, 10);
+        assertEquals(names("Seafood", "Sushi"), namesOf(all, Tag.KIND_CUISINE));
+        assertEquals(6, all.get(0).getHotelCount());
+
+        // Among the 5 beach hotels: 0, 2, 4 have seafood, 6, 8 sushi
+        List<Tag> beachCuisines = search.facets(Collections.singletonList(beach), Tag.KIND_CUISINE, 10);
+        assertEquals(names("Seafood", "Sushi"), namesOf(beachCuisines, Tag.KIND_CUISINE));
+        assertEquals(3, beachCuisines.get(0).getHotelCount());
+        assertEquals(2, beachCuisines.get(1).getHotelCount());
+
+        // Of a given list of hotels
+        List<Long> hotelIds = new ArrayList<>();
+        for (HotelSummary hotel : search.hotelsWithTags(Collections.singletonList(beach), 0, 2)) {
+            hotelIds.add(hotel.getId());
+        }
+        List<Tag> ofPage = search.facetsOf(hotelIds);
+        assertEquals(3, ofPage.size());
+        for (Tag tag : ofPage) {
+            assertEquals(tag.getName(), 2, tag.getHotelCount());
+        }
+    }
+
+    /** Every link and count, in a comparable form. */
+    private String snapshot() {
+        StringBuilder rows = new StringBuilder();
+        try (Cursor cursor = database.query("SELECT t.kind, t.normalized, t.hotelCount, ht.hotelId "
+                + "FROM tags t LEFT JOIN hotel_tags ht ON ht.tagId = t.id "
+                + "ORDER BY t.kind, t.normalized, ht.hotelId", null)) {
+            while (cursor.moveToNext()) {
+                rows.append(cursor.getInt(0)).append(' ').append(cursor.getString(1)).append(' ')
+                        .append(cursor.getInt(2)).append(' ').append(cursor.getLong(3)).append('\n');
+            }
+        }
+        return rows.toString();
+    }
+
+    private static Hotel hotel(String name, String nearby, String food) {
+        return new Hotel(name, "+961 1 000000", "www.example.com", "Beirut, Lebanon",
+                nearby, food, 0);
+    }
+
+    private static List<String> names(String... names) {
+        return Arrays.asList(names);
+    }
+
+    private static List<String> namesOf(List<Tag> tags, int kind) {
+        List<String> list = new ArrayList<>();
+        for (Tag tag : tags) {
+            if (tag.getKind() == kind) {
+                list.add(tag.getName());
+            }
+        }
+        return list;
+    }
+
+    private static List<String> summaryNames(List<HotelSummary> hotels) {
+        List<String> list = new ArrayList<>();
+        for (HotelSummary hotel : hotels) {
+            list.add(hotel.getName());
+        }
+        return list;
+    }
+}
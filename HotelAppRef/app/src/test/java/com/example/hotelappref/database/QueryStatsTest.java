@@ -0,0 +1,84 @@
+package com.example.hotelappref.database;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks query shape normalization and the percentile math of the latency histogram.
+ */
+public class QueryStatsTest {
+
+    @Test
+    public void shapeOf_replacesLiteralsAndCollapsesWhitespace() {
+        assertEquals("SELECT * FROM hotels WHERE id = ? AND name = ?",
+                QueryStats.shapeOf("SELECT *  FROM hotels\n WHERE id = 42 AND name = 'O''Brien'"));
+    }
+
+    @Test
+    public void shapeOf_keepsDigitsInsideIdentifiers() {
+        assertEquals("SELECT * FROM `hotels_fts2` WHERE rowid = ?",
+                QueryStats.shapeOf("SELECT * FROM `hotels_fts2` WHERE rowid = 7"));
+    }
+
+    @Test
+    public void shapeOf_collapsesInLists() {
+        assertEquals("DELETE FROM hotels WHERE id IN (?)",
+                QueryStats.shapeOf("DELETE FROM hotels WHERE id IN (?, ?, ?)"));
+        assertEquals("DELETE FROM hotels WHERE id IN (?)",
+                QueryStats.shapeOf("DELETE FROM hotels WHERE id IN (1, 2)"));
+    }
+
+    @Test
+    public void record_groupsStatementsByShape() {
+        QueryStats stats = new QueryStats();
+        stats.record("SELECT * FROM hotels WHERE id = 1", 1_000_000);
+        stats.record("SELECT * FROM hotels WHERE id = 2", 3_000_000);
+        stats.record("SELECT COUNT(*) FROM hotels", 500_000);
+
+        List<QueryStats.Entry> entries = stats.snapshot();
+        assertEquals(2, entries.size());
+        assertEquals("SELECT * FROM hotels WHERE id = ?", entries.get(0).shape);  // Most total time
+        assertEquals(2, entries.get(0).count);
+        assertEquals(2, stats.get("SELECT * FROM hotels WHERE id = 99").count);
+    }
+
+    @Test
+    public void record_capsDistinctShapes() {
+        QueryStats stats = new QueryStats();
+        for (int i = 0; i < QueryStats.MAX_SHAPES + 10; i++) {
+            stats.record("SELECT * FROM table" + i, 1000);
+        }
+        assertEquals(QueryStats.MAX_SHAPES + 1, stats.snapshot().size());
+        assertEquals(10, stats.get(QueryStats.OTHER_SHAPE).count);
+    }
+
+    @Test
+    public void histogram_percentilesWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        assertWithin(50, histogram.percentileMs(50));
+        assertWithin(95, histogram.percentileMs(95));
+        assertWithin(99, histogram.percentileMs(99));
+        assertEquals(100, histogram.percentileMs(100), 0.001);
+        assertEquals(100, histogram.maxMs(), 0.001);
+        assertEquals(50.5, histogram.meanMs(), 0.001);
+    }
+
+    @Test
+    public void histogram_emptyReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileMs(99), 0);
+        assertEquals(0, histogram.count());
+    }
+
+    /** A percentile is reported as its bucket's upper bound: at most GROWTH times too high. */
+    private static void assertWithin(double expectedMs, double actualMs) {
+        assertTrue("expected ~" + expectedMs + " but was " + actualMs,
+                actualMs >= expectedMs && actualMs <= expectedMs * LatencyHistogram.GROWTH);
+    }
+}
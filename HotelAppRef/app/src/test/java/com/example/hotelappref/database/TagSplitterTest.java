@@ -0,0 +1,40 @@
+package com.example.hotelappref.database;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how Hotel.nearby and Hotel.food text is split into tags.
+ */
+public class TagSplitterTest {
+
+    @Test
+    public void split_onCommasAndSemicolons_inOrder() {
+        Map<String, String> tags = TagSplitter.split("Pigeon Rocks, Corniche; Zaitunay Bay");
+
+        assertEquals(Arrays.asList("pigeon rocks", "corniche", "zaitunay bay"),
+                new ArrayList<>(tags.keySet()));
+        assertEquals("Zaitunay Bay", tags.get("zaitunay bay"));
+    }
+
+    @Test
+    public void split_keepsTheFirstSpellingOfDuplicates() {
+        Map<String, String> tags = TagSplitter.split("Jeita  Grotto, jeita grotto., Après-ski Lounge");
+
+        assertEquals(2, tags.size());
+        assertEquals("Jeita Grotto", tags.get("jeita grotto"));
+        assertEquals("Après-ski Lounge", tags.get("apres ski lounge"));
+    }
+
+    @Test
+    public void split_dropsEmptyParts() {
+        assertTrue(TagSplitter.split(null).isEmpty());
+        assertTrue(TagSplitter.split(" , ;; ").isEmpty());
+        assertEquals(1, TagSplitter.split("Beach,").size());
+    }
+}
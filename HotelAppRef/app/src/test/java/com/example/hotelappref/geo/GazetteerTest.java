@@ -0,0 +1,77 @@
+package com.example.hotelappref.geo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how free-text hotel locations are matched against the gazetteer.
+ */
+public class GazetteerTest {
+
+    private static final String PLACES = "# comment\n"
+            + "beirut,33.8938,35.5018\n"
+            + "beirut downtown,33.8964,35.5058\n"
+            + "hamra,33.8966,35.4823\n"
+            + "tyre,33.2705,35.2038\n"
+            + "south lebanon,33.2750,35.3350\n"
+            + "lebanon,33.8547,35.8623\n"
+            + "zahle,33.8463,35.9020\n";
+
+    private Gazetteer gazetteer;
+
+    @Before
+    public void setUp() throws IOException {
+        gazetteer = read(PLACES);
+    }
+
+    @Test
+    public void resolve_prefersTheMostSpecificPart() {
+        assertEquals(new GeoPoint(33.8966, 35.4823), gazetteer.resolve("Hamra, Beirut"));
+        assertEquals(new GeoPoint(33.2705, 35.2038), gazetteer.resolve("Tyre, South Lebanon"));
+    }
+
+    @Test
+    public void resolve_prefersTheLongestName() {
+        assertEquals(new GeoPoint(33.8964, 35.5058), gazetteer.resolve("Beirut Downtown, Lebanon"));
+        assertEquals(new GeoPoint(33.8938, 35.5018), gazetteer.resolve("Central Beirut"));
+    }
+
+    @Test
+    public void resolve_fallsBackToLaterParts() {
+        assertEquals(new GeoPoint(33.8547, 35.8623), gazetteer.resolve("Somewhere, Lebanon"));
+    }
+
+    @Test
+    public void resolve_ignoresCaseAccentsAndPunctuation() {
+        assertEquals(new GeoPoint(33.8463, 35.9020), gazetteer.resolve("ZAHLÉ!"));
+        assertEquals(new GeoPoint(33.8964, 35.5058), gazetteer.resolve("beirut-downtown"));
+    }
+
+    @Test
+    public void resolve_returnsNullForUnknownPlaces() {
+        assertNull(gazetteer.resolve("Atlantis"));
+        assertNull(gazetteer.resolve(""));
+        assertNull(gazetteer.resolve(null));
+    }
+
+    @Test
+    public void normalize_collapsesEverythingButLettersAndDigits() {
+        assertEquals("deir el qamar", Gazetteer.normalize("  Deir-el-Qamar, "));
+        assertEquals("zahle", Gazetteer.normalize("Zahlé"));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsBadLines() throws IOException {
+        read("beirut,not a number,35.5\n");
+    }
+
+    private static Gazetteer read(String text) throws IOException {
+        return Gazetteer.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hotelappref.geo;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks great-circle distances and that bounding boxes cover the whole search circle,
+ * including across the 180th meridian and around the poles.
+ */
+public class GeoMathTest {
+
+    private static final GeoPoint BEIRUT = new GeoPoint(33.8938, 35.5018);
+    private static final GeoPoint PARIS = new GeoPoint(48.8566, 2.3522);
+
+    @Test
+    public void distanceMeters_matchesKnownDistance() {
+        // Beirut - Paris is about 3,190 km along the great circle
+        double distance = GeoMath.distanceMeters(BEIRUT, PARIS);
+        assertEquals(3_190_000, distance, 20_000);
+        assertEquals(distance, GeoMath.distanceMeters(PARIS, BEIRUT), 1e-6);
+        assertEquals(0, GeoMath.distanceMeters(BEIRUT, BEIRUT), 1e-9);
+    }
+
+    @Test
+    public void distanceMeters_isAccurateForShortDistances() {
+        // 0.001 degrees of latitude is ~111 m everywhere
+        double distance = GeoMath.distanceMeters(33.0, 35.0, 33.001, 35.0);
+        assertEquals(111.2, distance, 0.5);
+    }
+
+    @Test
+    public void boundingBoxes_containEveryPointOfTheCircle() {
+        double radius = 25_000;
+        List<GeoMath.Bounds> boxes = GeoMath.boundingBoxes(BEIRUT, radius);
+        assertEquals(1, boxes.size());
+        for (int bearing = 0; bearing < 360; bearing += 5) {
+            GeoPoint onCircle = destination(BEIRUT, bearing, radius * 0.999);
+            assertTrue("Missed bearing " + bearing, anyContains(boxes, onCircle));
+        }
+        // A point just outside the box in latitude
+        GeoPoint north = destination(BEIRUT, 0, radius * 1.01);
+        assertFalse(anyContains(boxes, north));
+    }
+
+    @Test
+    public void boundingBoxes_splitAtTheAntimeridian() {
+        GeoPoint suva = new GeoPoint(-18.1248, 178.4501);
+        List<GeoMath.Bounds> boxes = GeoMath.boundingBoxes(suva, 300_000);
+
+        assertEquals(2, boxes.size());
+        for (GeoMath.Bounds box : boxes) {
+            assertTrue(box.west <= box.east);
+        }
+        // 300 km east of Suva is across the meridian, at a negative longitude
+        GeoPoint east = destination(suva, 90, 299_000);
+        assertTrue(east.longitude < 0);
+        assertTrue(anyContains(boxes, east));
+        assertTrue(anyContains(boxes, suva));
+    }
+
+    @Test
+    public void boundingBoxes_coverAllLongitudesAroundAPole() {
+        List<GeoMath.Bounds> boxes = GeoMath.boundingBoxes(new GeoPoint(89.5, 10), 200_000);
+
+        assertEquals(1, boxes.size());
+        GeoMath.Bounds box = boxes.get(0);
+        assertEquals(-180, box.west, 0);
+        assertEquals(180, box.east, 0);
+        assertEquals(90, box.north, 0);
+    }
+
+    @Test
+    public void boundingBoxes_ofTheLargestRadiusCoverTheEarth() {
+        GeoMath.Bounds box = GeoMath.boundingBoxes(BEIRUT, GeoMath.MAX_DISTANCE_METERS).get(0);
+        assertTrue(box.contains(-90, -180));
+        assertTrue(box.contains(90, 180));
+    }
+
+    @Test
+    public void geoPoint_wrapsLongitudeAndClampsLatitude() {
+        GeoPoint point = new GeoPoint(95, 190);
+        assertEquals(90, point.latitude, 0);
+        assertEquals(-170, point.longitude, 1e-9);
+        assertEquals(180, new GeoPoint(0, 180).longitude, 0);
+        assertEquals(-180, new GeoPoint(0, -180).longitude, 0);
+    }
+
+    private static boolean anyContains(List<GeoMath.Bounds> boxes, GeoPoint point) {
+        for (GeoMath.Bounds box : boxes) {
+            if (box.contains(point.latitude, point.longitude)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The point distanceMeters from start in the given direction (great circle). */
+    private static GeoPoint destination(GeoPoint start, double bearingDegrees, double distanceMeters) {
+        double angular = distanceMeters / GeoMath.EARTH_RADIUS_METERS;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(start.latitude);
+        double lng1 = Math.toRadians(start.longitude);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angular)
+                + Math.cos(lat1) * Math.sin(angular) * Math.cos(bearing));
+        double lng2 = lng1 + Math.atan2(Math.sin(bearing) * Math.sin(angular) * Math.cos(lat1),
+                Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+        return new GeoPoint(Math.toDegrees(lat2), Math.toDegrees(lng2));
+    }
+}
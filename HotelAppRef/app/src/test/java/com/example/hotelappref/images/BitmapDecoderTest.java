@@ -0,0 +1,38 @@
+package com.example.hotelappref.images;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the downsampling math in BitmapDecoder.
+ */
+public class BitmapDecoderTest {
+
+    @Test
+    public void largePhoto_isSampledDownButStillCoversTheTarget() {
+        // 4000x3000 into 240x240: 3000 / 8 = 375 >= 240, 3000 / 16 = 187 < 240
+        assertEquals(8, BitmapDecoder.calculateInSampleSize(4000, 3000, 240, 240));
+    }
+
+    @Test
+    public void smallerThanTarget_isDecodedAtFullSize() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(200, 150, 240, 240));
+    }
+
+    @Test
+    public void exactMultiple_usesIt() {
+        assertEquals(4, BitmapDecoder.calculateInSampleSize(960, 960, 240, 240));
+    }
+
+    @Test
+    public void shorterSide_limitsTheSampleSize() {
+        // A wide panorama: the height decides
+        assertEquals(2, BitmapDecoder.calculateInSampleSize(8000, 600, 240, 240));
+    }
+
+    @Test
+    public void unknownTargetSize_decodesAtFullSize() {
+        assertEquals(1, BitmapDecoder.calculateInSampleSize(4000, 3000, 0, 240));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.hotelappref.images;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that DiskImageCache stays within its byte limit and evicts least recently used
+ * entries first.
+ */
+public class DiskImageCacheTest {
+
+    private static final int ENTRY_BYTES = 100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("images");
+    }
+
+    @Test
+    public void put_thenGet_returnsTheWrittenFile() throws IOException {
+        DiskImageCache cache = new DiskImageCache(directory, 10 * ENTRY_BYTES);
+        put(cache, "a");
+
+        File file = cache.get("a");
+
+        assertNotNull(file);
+        assertEquals(ENTRY_BYTES, file.length());
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void overLimit_evictsLeastRecentlyUsed() throws IOException {
+        DiskImageCache cache = new DiskImageCache(directory, 3 * ENTRY_BYTES);
+        put(cache, "a");
+        put(cache, "b");
+        put(cache, "c");
+        cache.get("a");  // "b" is now the least recently used
+
+        put(cache, "d");
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(3 * ENTRY_BYTES, cache.size());
+    }
+
+    @Test
+    public void replacingAnEntry_countsItsSizeOnce() throws IOException {
+        DiskImageCache cache = new DiskImageCache(directory, 10 * ENTRY_BYTES);
+        put(cache, "a");
+        put(cache, "a");
+
+        assertEquals(ENTRY_BYTES, cache.size());
+    }
+
+    @Test
+    public void newInstance_picksUpExistingFilesAndDropsUnfinishedWrites() throws IOException {
+        DiskImageCache first = new DiskImageCache(directory, 10 * ENTRY_BYTES);
+        put(first, "a");
+        put(first, "b");
+        assertTrue(new File(directory, "crashed.tmp").createNewFile());
+
+        DiskImageCache second = new DiskImageCache(directory, 10 * ENTRY_BYTES);
+
+        assertEquals(2 * ENTRY_BYTES, second.size());
+        assertNotNull(second.get("a"));
+        assertFalse(new File(directory, "crashed.tmp").exists());
+    }
+
+    @Test
+    public void failedWrite_leavesNoEntry() throws IOException {
+        DiskImageCache cache = new DiskImageCache(directory, 10 * ENTRY_BYTES);
+        try {
+            cache.put("a", out -> {
+                out.write(new byte[ENTRY_BYTES]);
+                throw new IOException("disk full");
+            });
+            fail("Expected the writer's exception");
+        } catch (IOException expected) {
+            // Expected
+        }
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        String[] files = directory.list();
+        assertNotNull(files);
+        assertEquals(0, files.length);
+    }
+
+    @Test
+    public void fileName_isStableAndSafe() {
+        String name = DiskImageCache.fileName("content://media/external/images/42@240x240");
+        assertEquals(name, DiskImageCache.fileName("content://media/external/images/42@240x240"));
+        assertTrue(name.matches("[0-9a-f]{40}"));
+    }
+
+    private static void put(DiskImageCache cache, String key) throws IOException {
+        cache.put(key, out -> out.write(new byte[ENTRY_BYTES]));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.hotelappref.images;
+
+import android.content.Context;
+import android.os.Looper;
+import android.widget.ImageView;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * ImageLoader against a local HTTP server that never answers: a timed-out download must
+ * end the load like any other failure, so the image is tried again later.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ImageLoaderTest {
+
+    private static final int READ_TIMEOUT_MS = 200;
+    private static final long WAIT_MS = 5_000;
+
+    private MockWebServer server;
+    private ImageLoader loader;
+    private ImageView view;
+    private String uri;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        Context context = ApplicationProvider.getApplicationContext();
+        BitmapDecoder decoder = new BitmapDecoder(context.getContentResolver(),
+                context.getCacheDir(), READ_TIMEOUT_MS, READ_TIMEOUT_MS);
+        loader = new ImageLoader(context, 1024 * 1024, 1024 * 1024, decoder);
+        view = new ImageView(context);
+        uri = server.url("/photo.jpg").toString();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void readTimeout_finishesTheLoad_andTheNextLoadRetries() throws InterruptedException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        loader.load(uri, view, R.mipmap.ic_launcher);
+        awaitFinished();
+        int requests = server.getRequestCount();
+
+        loader.load(uri, view, R.mipmap.ic_launcher);
+        awaitFinished();
+        assertTrue("the second load() went to the server again",
+                server.getRequestCount() > requests);
+    }
+
+    @Test
+    public void timedOutPrefetch_doesNotBlockLaterLoads() throws InterruptedException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        int width = ImageLoader.targetWidth(view);
+        int height = ImageLoader.targetHeight(view);
+
+        loader.prefetch(uri, width, height);
+        waitForRequests(1);
+        Thread.sleep(READ_TIMEOUT_MS * 5);  // Long enough for the read to time out
+        shadowOf(Looper.getMainLooper()).idle();
+        int requests = server.getRequestCount();
+
+        loader.load(uri, view, R.mipmap.ic_launcher);
+        awaitFinished();
+        assertTrue("the load started a new download", server.getRequestCount() > requests);
+    }
+
+    // WHY System.currentTimeMillis() and Thread.sleep()? Robolectric's SystemClock is
+    // simulated; the decode thread and the server run in real time
+
+    /** Run main-thread messages until the view's request is finished (tag cleared). */
+    private void awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (view.getTag(R.id.image_request) != null) {
+            assertTrue("load never finished", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (server.getRequestCount() < count) {
+            assertTrue("no request reached the server", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
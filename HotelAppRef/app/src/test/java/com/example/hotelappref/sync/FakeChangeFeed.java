@@ -0,0 +1,130 @@
+package com.example.hotelappref.sync;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * A backend change feed for MockWebServer, speaking {@link SyncClient}'s protocol.
+ *
+ * The feed is a log of changes; a token is a position in the log. The ETag of a
+ * response is the log size, so If-None-Match gets a 304 until something changes.
+ */
+final class FakeChangeFeed extends Dispatcher {
+
+    private static final class Change {
+        final String remoteId;
+        final long updatedAt;
+        final String name;  // Null: deleted
+        final String location;
+
+        Change(String remoteId, long updatedAt, String name, String location) {
+            this.remoteId = remoteId;
+            this.updatedAt = updatedAt;
+            this.name = name;
+            this.location = location;
+        }
+    }
+
+    private final List<Change> log = new ArrayList<>();
+    private final boolean gzip;
+    private long clock = 1_700_000_000_000L;
+    private int requests;
+    private int failingRequest = -1;
+
+    FakeChangeFeed(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    synchronized void upsert(String remoteId, String name, String location) {
+        upsert(remoteId, name, location, ++clock);
+    }
+
+    synchronized void upsert(String remoteId, String name, String location, long updatedAt) {
+        log.add(new Change(remoteId, updatedAt, name, location));
+    }
+
+    synchronized void delete(String remoteId) {
+        log.add(new Change(remoteId, ++clock, null, null));
+    }
+
+    /** Answer the n-th request (1-based, counted from now on) with HTTP 500. */
+    synchronized void failRequest(int n) {
+        failingRequest = requests + n;
+    }
+
+    @NonNull
+    @Override
+    public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+        requests++;
+        if (requests == failingRequest) {
+            return new MockResponse().setResponseCode(500);
+        }
+        HttpUrl url = request.getRequestUrl();
+        if (url == null || !url.encodedPath().equals(SyncClient.CHANGES_PATH)) {
+            return new MockResponse().setResponseCode(404);
+        }
+        String since = url.queryParameter("since");
+        int from = since != null ? Integer.parseInt(since) : 0;
+        int limit = Integer.parseInt(url.queryParameter("limit"));
+        String etag = "\"" + log.size() + "\"";
+        if (from == log.size() && etag.equals(request.getHeader("If-None-Match"))) {
+            return new MockResponse().setResponseCode(304).setHeader("ETag", etag);
+        }
+
+        int to = Math.min(from + limit, log.size());
+        StringBuilder changes = new StringBuilder();
+        StringBuilder deleted = new StringBuilder();
+        for (Change change : log.subList(from, to)) {
+            if (change.name == null) {
+                deleted.append(deleted.length() > 0 ? "," : "").append(JSONObject.quote(change.remoteId));
+                continue;
+            }
+            changes.append(changes.length() > 0 ? "," : "")
+                    .append("{\"id\":").append(JSONObject.quote(change.remoteId))
+                    .append(",\"updatedAt\":").append(change.updatedAt)
+                    .append(",\"name\":").append(JSONObject.quote(change.name))
+                    .append(",\"phone\":\"+961 1 555000\",\"website\":\"www.example.com\"")
+                    .append(",\"location\":").append(JSONObject.quote(change.location))
+                    .append(",\"nearby\":\"Corniche, Pigeon Rocks\"")
+                    .append(",\"food\":\"Lebanese Cuisine\",\"photo\":null}");
+        }
+        String json = "{\"changes\":[" + changes + "],\"deleted\":[" + deleted + "],"
+                + "\"nextToken\":\"" + to + "\",\"hasMore\":" + (to < log.size()) + "}";
+
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("ETag", etag);
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = gzip(body);
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        return response.setBody(new Buffer().write(body));
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.hotelappref.sync;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelCache;
+import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.models.Hotel;
+import com.example.hotelappref.models.SyncState;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.QueueDispatcher;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * HotelSyncEngine and SyncClient against a local HTTP server (MockWebServer) and an
+ * in-memory Room database.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelSyncEngineTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private MockWebServer server;
+    private FakeChangeFeed feed;
+    private AppDatabase database;
+    private HotelDao hotelDao;
+    private HotelSyncEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        feed = new FakeChangeFeed(true);
+        server = new MockWebServer();
+        server.setDispatcher(feed);
+        server.start();
+
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .build();
+        hotelDao = database.hotelDao();
+        engine = new HotelSyncEngine(database, new SyncClient(server.url("/v1").toString()),
+                null, HotelCache.getInstance(), PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void firstSync_downloadsEveryPage_andSavesTheToken() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel", "Beirut, Lebanon");
+        feed.upsert("h-2", "Cedars Lodge", "Bcharre, Lebanon");
+        feed.upsert("h-3", "Grotto Inn", "Jeita, Lebanon");
+
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertEquals(2, result.pages);
+        assertEquals(3, result.upserted);
+        assertEquals(3, hotelDao.getHotelCount());
+        assertEquals("3", database.syncDao().getState(HotelSyncEngine.FEED).getToken());
+        RecordedRequest first = server.takeRequest();
+        assertNull("first sync has no token", first.getRequestUrl().queryParameter("since"));
+        assertEquals("2", server.takeRequest().getRequestUrl().queryParameter("since"));
+    }
+
+    @Test
+    public void unchangedFeed_isAnsweredWith304() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel", "Beirut, Lebanon");
+        engine.sync();
+        // The token didn't move: the ETag of this empty page is kept
+        HotelSyncEngine.Result empty = engine.sync();
+        assertFalse(empty.notModified);
+        assertEquals(0, empty.upserted);
+
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertTrue(result.notModified);
+        assertEquals(0, result.pages);
+        assertEquals(0, result.wireBytes);
+        server.takeRequest();
+        server.takeRequest();
+        assertEquals("\"1\"", server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void delta_updatesAndDeletesByRemoteId_andKeepsLocalHotels() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel", "Beirut, Lebanon");
+        feed.upsert("h-2", "Cedars Lodge", "Bcharre, Lebanon");
+        engine.sync();
+        long localId = hotelDao.insert(new Hotel("Local Hotel", "", "", "Tyre, Lebanon", "", "", 0));
+        long seasideId = findByRemoteId("h-1").getId();
+
+        feed.upsert("h-1", "Seaside Hotel & Spa", "Beirut, Lebanon");
+        feed.delete("h-2");
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertEquals(1, result.upserted);
+        assertEquals(1, result.deleted);
+        Hotel seaside = hotelDao.getHotelById(seasideId);
+        assertEquals("updated in place", "Seaside Hotel & Spa", seaside.getName());
+        assertNull(findByRemoteId("h-2"));
+        assertNotNull("hotels created on the device are not touched", hotelDao.getHotelById(localId));
+        assertEquals(2, hotelDao.getHotelCount());
+    }
+
+    @Test
+    public void olderVersion_doesNotOverwriteNewerRow() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel v2", "Beirut, Lebanon", 2_000);
+        engine.sync();
+
+        feed.upsert("h-1", "Seaside Hotel v1", "Beirut, Lebanon", 1_000);
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertEquals(1, result.stale);
+        assertEquals(0, result.upserted);
+        Hotel hotel = findByRemoteId("h-1");
+        assertEquals("Seaside Hotel v2", hotel.getName());
+        assertEquals(2_000, hotel.getUpdatedAt());
+    }
+
+    @Test
+    public void failedPage_keepsTheCommittedPages_andTheNextSyncResumes() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            feed.upsert("h-" + i, "Hotel " + i, "Beirut, Lebanon");
+        }
+        feed.failRequest(2);
+
+        try {
+            engine.sync();
+            fail("expected the second page to fail");
+        } catch (SyncClient.HttpException e) {
+            assertEquals(500, e.code);
+            assertTrue(e.isRetryable());
+        }
+        assertEquals("first page committed", 2, hotelDao.getHotelCount());
+        assertEquals("2", database.syncDao().getState(HotelSyncEngine.FEED).getToken());
+
+        engine.sync();
+
+        assertEquals(5, hotelDao.getHotelCount());
+        server.takeRequest();
+        server.takeRequest();
+        assertEquals("resumed after the last committed page",
+                "2", server.takeRequest().getRequestUrl().queryParameter("since"));
+    }
+
+    @Test
+    public void gzipResponse_isCountedCompressed_andDecoded() throws Exception {
+        for (int i = 1; i <= 2; i++) {
+            feed.upsert("h-" + i, "Seaside Hotel " + i, "Beirut, Lebanon");
+        }
+
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertEquals(2, result.upserted);
+        assertTrue(result.wireBytes > 0);
+        assertTrue("compressed " + result.wireBytes + " < decoded " + result.decodedBytes,
+                result.wireBytes < result.decodedBytes);
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void malformedPage_writesNothing() throws Exception {
+        server.setDispatcher(new QueueDispatcher());
+        server.enqueue(new MockResponse().setBody(
+                "{\"changes\":[{\"id\":\"h-1\",\"name\":\"Seaside\"}],\"hasMore\":false}"));
+
+        try {
+            engine.sync();
+            fail("a page without nextToken must be rejected");
+        } catch (IOException expected) {
+        }
+        assertEquals(0, hotelDao.getHotelCount());
+        assertNull(database.syncDao().getState(HotelSyncEngine.FEED));
+    }
+
+    @Test
+    public void changedHotels_areDroppedFromTheCache() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel", "Beirut, Lebanon");
+        engine.sync();
+        Hotel cached = findByRemoteId("h-1");
+        HotelCache.getInstance().put(cached);
+
+        feed.upsert("h-1", "Seaside Hotel & Spa", "Beirut, Lebanon");
+        engine.sync();
+
+        assertNull(HotelCache.getInstance().get(cached.getId()));
+    }
+
+    @Test
+    public void reset_downloadsEverythingAgain() throws Exception {
+        feed.upsert("h-1", "Seaside Hotel", "Beirut, Lebanon");
+        engine.sync();
+
+        engine.reset();
+        HotelSyncEngine.Result result = engine.sync();
+
+        assertEquals(1, result.upserted);
+        assertEquals("matched by remoteId, not duplicated", 1, hotelDao.getHotelCount());
+        SyncState state = database.syncDao().getState(HotelSyncEngine.FEED);
+        assertEquals("1", state.getToken());
+    }
+
+    private Hotel findByRemoteId(String remoteId) {
+        List<Hotel> found = new ArrayList<>();
+        for (Hotel hotel : hotelDao.getAllHotels()) {
+            if (remoteId.equals(hotel.getRemoteId())) {
+                found.add(hotel);
+            }
+        }
+        assertTrue(found.size() <= 1);
+        return found.isEmpty() ? null : found.get(0);
+    }
+}
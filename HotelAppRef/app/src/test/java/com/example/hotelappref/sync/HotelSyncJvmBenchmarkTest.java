@@ -0,0 +1,122 @@
+package com.example.hotelappref.sync;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Bandwidth and apply time of a delta sync versus a full download, for a 100k-hotel
+ * catalog of which 1% changes: 800 updated, 100 added, 100 deleted.
+ *
+ * Runs on the JVM (Robolectric + MockWebServer on localhost):
+ * {@code ./gradlew :app:testDebugUnitTest -PjvmBenchmarks --tests '*HotelSyncJvmBenchmarkTest'}.
+ * Results go to app/build/benchmark-results/hotel-sync-jvm.json, in the layout of
+ * HotelDaoJvmBenchmarkTest's file, with wire bytes next to the times.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HotelSyncJvmBenchmarkTest {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int UPDATED = 800;
+    private static final int ADDED = 100;
+    private static final int DELETED = 100;
+
+    private MockWebServer server;
+    private FakeChangeFeed feed;
+    private AppDatabase database;
+    private HotelSyncEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        feed = new FakeChangeFeed(true);
+        server = new MockWebServer();
+        server.setDispatcher(feed);
+        server.start();
+
+        Context context = ApplicationProvider.getApplicationContext();
+        database = AppDatabase.newInMemoryBuilder(context)
+                .allowMainThreadQueries()  // Robolectric runs tests on the main looper
+                .build();
+        engine = new HotelSyncEngine(database, new SyncClient(server.url("/v1").toString()),
+                null, HotelCache.getInstance());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void onePercentDelta_versusFullSync() throws IOException {
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            feed.upsert("h-" + i, "Seaside Hotel " + i, "Beirut " + (i % 50) + ", Lebanon");
+        }
+        HotelSyncEngine.Result full = engine.sync();
+        assertEquals(CATALOG_SIZE, full.upserted);
+
+        // Spread over the catalog, so the updates hit rows all over the table
+        int stride = CATALOG_SIZE / UPDATED;
+        for (int i = 0; i < UPDATED; i++) {
+            feed.upsert("h-" + (i * stride), "Seaside Hotel & Spa " + i, "Beirut, Lebanon");
+        }
+        for (int i = 0; i < ADDED; i++) {
+            feed.upsert("new-" + i, "Cedars Lodge " + i, "Bcharre, Lebanon");
+        }
+        for (int i = 0; i < DELETED; i++) {
+            feed.delete("h-" + (i * stride + 1));
+        }
+        HotelSyncEngine.Result delta = engine.sync();
+
+        assertEquals(UPDATED + ADDED, delta.upserted);
+        assertEquals(DELETED, delta.deleted);
+        assertEquals(CATALOG_SIZE + ADDED - DELETED, database.hotelDao().getHotelCount());
+        // Bytes scale with the changes, not with the catalog
+        assertTrue("delta " + delta.wireBytes + " bytes vs full " + full.wireBytes,
+                delta.wireBytes * 20 < full.wireBytes);
+
+        writeResults(full, delta);
+    }
+
+    private static void writeResults(HotelSyncEngine.Result full, HotelSyncEngine.Result delta)
+            throws IOException {
+        File dir = new File("build/benchmark-results");
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        try (Writer out = new FileWriter(new File(dir, "hotel-sync-jvm.json"))) {
+            out.write("{\n  \"benchmarks\": [\n");
+            out.write(result("sync_full", full));
+            out.write(",\n");
+            out.write(result("sync_delta_1pct", delta));
+            out.write("\n  ]\n}\n");
+        }
+    }
+
+    private static String result(String name, HotelSyncEngine.Result result) {
+        return String.format(Locale.ROOT,
+                "    {\"name\": \"%s\", \"params\": {\"rows\": \"%d\"}, \"metrics\": {"
+                        + "\"applyTimeNs\": {\"median\": %d}, \"totalTimeNs\": {\"median\": %d}, "
+                        + "\"wireBytes\": {\"median\": %d}, \"decodedBytes\": {\"median\": %d}, "
+                        + "\"pages\": {\"median\": %d}}}",
+                name, CATALOG_SIZE, result.applyMillis * 1_000_000, result.elapsedMillis * 1_000_000,
+                result.wireBytes, result.decodedBytes, result.pages);
+    }
+}
@@ -0,0 +1,73 @@
+plugins {
+    id("com.android.test")
+}
+
+/**
+ * Microbenchmarks for HotelAppRef.
+ *
+ * WHY a com.android.test module? It runs inside the app's process and compiles against
+ * the app's classes, so benchmarks call Hotel, HotelDao and the adapters directly -
+ * without moving them into a library module.
+ *
+ * Run with: ./gradlew :benchmark:connectedBenchmarkAndroidTest
+ * Results (JSON): benchmark/build/outputs/connected_android_test_additional_output/
+ * Then run ./gradlew :benchmark:copyBenchmarkResults to copy the JSON into
+ * benchmark/results/, where a regression shows up as a diff in review.
+ *
+ * No device? app/src/test has a Robolectric variant of the DAO benchmarks
+ * (HotelDaoJvmBenchmarkTest) that runs on any JVM, with -PjvmBenchmarks.
+ */
+android {
+    namespace = "com.example.hotelappref.benchmark"
+    compileSdk = 34
+
+    targetProjectPath = ":app"
+
+    defaultConfig {
+        minSdk = 24
+        targetSdk = 34
+
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+        // Emulators are fine for spotting regressions; absolute numbers need a real device
+        testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] = "EMULATOR"
+    }
+
+    buildTypes {
+        // Matches the app's non-debuggable "benchmark" build type
+        create("benchmark") {
+            isDebuggable = true
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_1_8
+        targetCompatibility = JavaVersion.VERSION_1_8
+    }
+
+    sourceSets {
+        // HotelFixtures lives with the app so its JVM benchmarks insert the same rows
+        getByName("main").java.srcDir("../app/src/benchmarkFixtures/java")
+    }
+}
+
+dependencies {
+    implementation(libs.benchmark.junit4)
+    implementation(libs.ext.junit)
+    implementation("androidx.test:runner:1.5.2")
+
+    // Already packaged in the app APK; needed here only to compile against them
+    compileOnly("androidx.room:room-runtime:2.6.1")
+    compileOnly("androidx.recyclerview:recyclerview:1.3.2")
+}
+
+// Copies the benchmark JSON reports (one per device) into benchmark/results/
+tasks.register<Copy>("copyBenchmarkResults") {
+    from(layout.buildDirectory.dir("outputs/connected_android_test_additional_output"))
+    include("**/*benchmarkData.json")
+    into(layout.projectDirectory.dir("results"))
+    // Keep one file per device model instead of the nested build-variant folders
+    eachFile { path = name }
+    includeEmptyDirs = false
+}
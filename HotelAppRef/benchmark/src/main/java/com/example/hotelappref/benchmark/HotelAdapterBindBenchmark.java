@@ -0,0 +1,82 @@
+package com.example.hotelappref.benchmark;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.R;
+import com.example.hotelappref.adapters.HotelAdapter;
+import com.example.hotelappref.adapters.HotelViewHolder;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost of creating and binding one hotel row in {@link HotelAdapter}.
+ *
+ * WHY on the UI thread? That's where RecyclerView binds rows while scrolling; a frame at
+ * 60 Hz has ~16 ms for everything, so bind cost is what decides whether a fling drops
+ * frames.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HotelAdapterBindBenchmark {
+
+    private static final int ITEMS = 100;
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    @UiThreadTest
+    public void bind() {
+        FrameLayout parent = new FrameLayout(themedContext());
+        HotelAdapter adapter = newAdapter();
+        HotelViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+
+        BenchmarkState state = benchmarkRule.getState();
+        int position = 0;
+        while (state.keepRunning()) {
+            adapter.onBindViewHolder(holder, position++ % ITEMS);
+        }
+    }
+
+    @Test
+    @UiThreadTest
+    public void createViewHolder() {
+        FrameLayout parent = new FrameLayout(themedContext());
+        HotelAdapter adapter = newAdapter();
+
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            adapter.onCreateViewHolder(parent, 0);
+        }
+    }
+
+    private static Context themedContext() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return new ContextThemeWrapper(context, R.style.Theme_HotelAppRef);
+    }
+
+    private static HotelAdapter newAdapter() {
+        List<HotelSummary> hotels = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            hotels.add(new HotelSummary(i + 1, HotelFixtures.hotel(i).getName(),
+                    "Beirut, Lebanon", 0));
+        }
+        HotelAdapter adapter = new HotelAdapter();
+        // The first list is applied synchronously (there is nothing to diff against)
+        adapter.submitList(hotels);
+        return adapter;
+    }
+}
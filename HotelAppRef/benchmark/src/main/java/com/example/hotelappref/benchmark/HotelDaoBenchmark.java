@@ -0,0 +1,141 @@
+package com.example.hotelappref.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * HotelDao read and write cost at 100, 10k and 100k rows.
+ *
+ * Each test gets a fresh in-memory database pre-filled with {@code rows} hotels, so
+ * numbers reflect SQLite and Room's generated code, not flash storage. Compare runs with
+ * the JSON files copied by {@code ./gradlew :benchmark:copyBenchmarkResults}.
+ */
+@RunWith(Parameterized.class)
+public class HotelDaoBenchmark {
+
+    /** Rows inserted per iteration by the batch benchmark. */
+    private static final int BATCH_SIZE = 100;
+
+    @Parameterized.Parameters(name = "rows={0}")
+    public static Collection<Object[]> datasetSizes() {
+        return Arrays.asList(new Object[][]{{100}, {10_000}, {100_000}});
+    }
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int rows;
+    private AppDatabase database;
+    private HotelDao dao;
+
+    public HotelDaoBenchmark(int rows) {
+        this.rows = rows;
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = AppDatabase.newInMemoryBuilder(context)
+                .allowMainThreadQueries()  // Benchmark only: measure the query, not thread hops
+                .build();
+        dao = database.hotelDao();
+        HotelFixtures.fill(dao, rows);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void insert_single() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = rows;
+        while (state.keepRunning()) {
+            dao.insert(HotelFixtures.hotel(i++));
+        }
+    }
+
+    @Test
+    public void insert_batch100() {
+        BenchmarkState state = benchmarkRule.getState();
+        int next = rows;
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            List<Hotel> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(HotelFixtures.hotel(next++));
+            }
+            state.resumeTiming();
+            dao.insertAll(batch);
+        }
+    }
+
+    @Test
+    public void getAllHotels() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getAllHotels();
+        }
+        assertEquals(rows, dao.getAllHotels().size());
+    }
+
+    @Test
+    public void getAllHotelSummaries() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getAllHotelSummaries();
+        }
+    }
+
+    @Test
+    public void getHotelById() {
+        long[] ids = randomIds(1024);
+        BenchmarkState state = benchmarkRule.getState();
+        int i = 0;
+        while (state.keepRunning()) {
+            dao.getHotelById(ids[i++ & 1023]);
+        }
+    }
+
+    @Test
+    public void searchHotelsByName() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = 0;
+        while (state.keepRunning()) {
+            dao.searchHotelsByName(HotelFixtures.SEARCH_TERMS[i++ % HotelFixtures.SEARCH_TERMS.length]);
+        }
+    }
+
+    // Fixed seed so every run looks up the same rows
+    private long[] randomIds(int count) {
+        Random random = new Random(42);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1 + random.nextInt(rows);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.hotelappref.benchmark;
+
+import android.os.Parcel;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.hotelappref.models.Hotel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Marshal/unmarshal cost of one {@link Hotel}: Parcelable vs Serializable.
+ *
+ * Every text field is filled with {@code stringLength} characters, so the results show
+ * how each mechanism scales from short values to long "nearby"/"food" descriptions.
+ * Timings end up in the benchmark JSON report; encoded sizes are logged under the
+ * {@value #TAG} tag ("adb logcat -s HotelMarshalling").
+ */
+@RunWith(Parameterized.class)
+public class HotelMarshallingBenchmark {
+
+    private static final String TAG = "HotelMarshalling";
+
+    @Parameterized.Parameters(name = "stringLength={0}")
+    public static Collection<Object[]> stringLengths() {
+        return Arrays.asList(new Object[][]{{8}, {64}, {512}});
+    }
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int stringLength;
+    private final Hotel hotel;
+    private final SerializableHotel serializableHotel;
+
+    public HotelMarshallingBenchmark(int stringLength) {
+        this.stringLength = stringLength;
+        this.hotel = sampleHotel(stringLength);
+        this.serializableHotel = new SerializableHotel(hotel);
+    }
+
+    @Test
+    public void parcelable_marshal() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Parcel parcel = Parcel.obtain();
+            hotel.writeToParcel(parcel, 0);
+            parcel.marshall();
+            parcel.recycle();
+        }
+        logSize("Parcelable", parcelBytes(hotel).length);
+    }
+
+    @Test
+    public void parcelable_unmarshal() {
+        byte[] bytes = parcelBytes(hotel);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Parcel parcel = Parcel.obtain();
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            Hotel.CREATOR.createFromParcel(parcel);
+            parcel.recycle();
+        }
+        assertEquals(hotel, readParcel(bytes));
+    }
+
+    @Test
+    public void serializable_marshal() throws IOException {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            serializedBytes(serializableHotel);
+        }
+        logSize("Serializable", serializedBytes(serializableHotel).length);
+    }
+
+    @Test
+    public void serializable_unmarshal() throws IOException, ClassNotFoundException {
+        byte[] bytes = serializedBytes(serializableHotel);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                in.readObject();
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    private void logSize(String mechanism, int bytes) {
+        Log.i(TAG, mechanism + " stringLength=" + stringLength + " bytes=" + bytes);
+    }
+
+    private static byte[] parcelBytes(Hotel hotel) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            hotel.writeToParcel(parcel, 0);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static Hotel readParcel(byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            return Hotel.CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static byte[] serializedBytes(SerializableHotel hotel) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(hotel);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Hotel sampleHotel(int stringLength) {
+        Hotel hotel = new Hotel(
+                text('N', stringLength),
+                text('P', stringLength),
+                text('W', stringLength),
+                text('L', stringLength),
+                text('B', stringLength),
+                text('F', stringLength),
+                android.R.mipmap.sym_def_app_icon);
+        hotel.setId(42);
+        return hotel;
+    }
+
+    private static String text(char c, int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
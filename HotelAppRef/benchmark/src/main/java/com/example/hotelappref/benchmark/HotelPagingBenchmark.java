@@ -0,0 +1,117 @@
+package com.example.hotelappref.benchmark;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hotelappref.database.AppDatabase;
+import com.example.hotelappref.database.HotelDao;
+import com.example.hotelappref.database.HotelKeysetPager;
+import com.example.hotelappref.models.HotelSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Time to fetch one page of 30 hotels at page 1, 10, 100 and 1000 of a 100k-hotel
+ * table: keyset pages ({@link HotelKeysetPager}) in each order, and LIMIT/OFFSET for
+ * comparison. Keyset times should be the same at every depth; OFFSET grows with it.
+ */
+@RunWith(Parameterized.class)
+public class HotelPagingBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 30;
+
+    @Parameterized.Parameters(name = "page={0}")
+    public static Collection<Object[]> pages() {
+        return Arrays.asList(new Object[][]{{1}, {10}, {100}, {1000}});
+    }
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int page;
+    private AppDatabase database;
+    private HotelDao dao;
+    private HotelKeysetPager pager;
+
+    public HotelPagingBenchmark(int page) {
+        this.page = page;
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = AppDatabase.newInMemoryBuilder(context)
+                .allowMainThreadQueries()  // Benchmark only: measure the query, not thread hops
+                .build();
+        dao = database.hotelDao();
+        HotelFixtures.fill(dao, ROWS);
+        pager = new HotelKeysetPager(database);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void keyset_byName() {
+        measureKeyset(HotelKeysetPager.Order.BY_NAME);
+    }
+
+    @Test
+    public void keyset_byLocation() {
+        measureKeyset(HotelKeysetPager.Order.BY_LOCATION);
+    }
+
+    @Test
+    public void keyset_newestFirst() {
+        measureKeyset(HotelKeysetPager.Order.NEWEST_FIRST);
+    }
+
+    @Test
+    public void offset_byName() {
+        SimpleSQLiteQuery query = new SimpleSQLiteQuery("SELECT " + HotelDao.HOTEL_SUMMARY_COLUMNS
+                + " FROM hotels ORDER BY name, id LIMIT ? OFFSET ?",
+                new Object[]{PAGE_SIZE, (page - 1) * PAGE_SIZE});
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getHotelSummaries(query);
+        }
+        assertEquals(PAGE_SIZE, dao.getHotelSummaries(query).size());
+    }
+
+    private void measureKeyset(HotelKeysetPager.Order order) {
+        HotelSummary after = lastRowBefore(order);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            pager.page(order, after, PAGE_SIZE);
+        }
+        assertEquals(PAGE_SIZE, pager.page(order, after, PAGE_SIZE).size());
+    }
+
+    /** The last row of the page before {@link #page}, reached the way a list would. */
+    private HotelSummary lastRowBefore(HotelKeysetPager.Order order) {
+        HotelSummary after = null;
+        for (int i = 1; i < page; i++) {
+            List<HotelSummary> rows = pager.page(order, after, PAGE_SIZE);
+            after = rows.get(rows.size() - 1);
+        }
+        return after;
+    }
+}
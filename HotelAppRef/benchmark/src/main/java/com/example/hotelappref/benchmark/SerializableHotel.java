@@ -0,0 +1,37 @@
+package com.example.hotelappref.benchmark;
+
+import com.example.hotelappref.models.Hotel;
+
+import java.io.Serializable;
+
+/**
+ * Serializable copy of {@link Hotel}, used only as the baseline in
+ * {@link HotelMarshallingBenchmark}.
+ *
+ * WHY a copy? Hotel no longer implements Serializable, and the benchmark must compare
+ * both mechanisms on exactly the same fields.
+ */
+final class SerializableHotel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    final long id;
+    final String name;
+    final String phone;
+    final String website;
+    final String location;
+    final String nearby;
+    final String food;
+    final int imageResource;
+
+    SerializableHotel(Hotel hotel) {
+        this.id = hotel.getId();
+        this.name = hotel.getName();
+        this.phone = hotel.getPhone();
+        this.website = hotel.getWebsite();
+        this.location = hotel.getLocation();
+        this.nearby = hotel.getNearby();
+        this.food = hotel.getFood();
+        this.imageResource = hotel.getImageResource();
+    }
+}
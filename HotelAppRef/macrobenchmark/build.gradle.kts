@@ -0,0 +1,50 @@
+plugins {
+    id("com.android.test")
+    id("androidx.baselineprofile")
+}
+
+/**
+ * Macrobenchmarks for HotelAppRef: cold/warm startup and hotel list scrolling, plus the
+ * Baseline Profile generator.
+ *
+ * WHY a separate module from :benchmark? Macrobenchmarks drive the installed app from
+ * the outside (start it, fling the list, read frame timings from the system), so they
+ * run in their own process against a release-like build.
+ *
+ * Run with:
+ *   ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+ *   ./gradlew :app:generateBaselineProfile
+ *
+ * No device? app/src/test has a Robolectric harness (MainActivityJvmBenchmarkTest)
+ * that times onCreate and list scrolling on the JVM, with -PjvmBenchmarks.
+ */
+android {
+    namespace = "com.example.hotelappref.macrobenchmark"
+    compileSdk = 34
+
+    targetProjectPath = ":app"
+    // Macrobenchmark runs in its own process and instruments the app from outside
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+
+    defaultConfig {
+        minSdk = 24
+        targetSdk = 34
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_1_8
+        targetCompatibility = JavaVersion.VERSION_1_8
+    }
+}
+
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
@@ -0,0 +1,39 @@
+package com.example.hotelappref.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Records the classes and methods used during startup and list scrolling into a
+ * Baseline Profile.
+ *
+ * WHY? Without a profile, ART interprets and JIT-compiles this code on the first runs
+ * after install, which is exactly when startup and the first flings are slowest.
+ * profileinstaller ships the profile with the APK so ART compiles it ahead of time.
+ *
+ * Run with ./gradlew :app:generateBaselineProfile; the result is written to
+ * app/src/release/generated/baselineProfiles/ and packaged into release builds.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(HotelAppScenarios.PACKAGE_NAME, scope -> {
+            HotelAppScenarios.startAndWaitForList(scope);
+            HotelAppScenarios.scrollList(scope);
+            return Unit.INSTANCE;
+        });
+    }
+}
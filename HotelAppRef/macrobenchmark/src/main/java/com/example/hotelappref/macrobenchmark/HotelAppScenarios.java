@@ -0,0 +1,55 @@
+package com.example.hotelappref.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * User journeys shared by the benchmarks and the Baseline Profile generator.
+ *
+ * WHY shared? The profile should contain exactly the code the benchmarks measure;
+ * otherwise the "with profile" numbers would measure a different path.
+ */
+final class HotelAppScenarios {
+
+    static final String PACKAGE_NAME = "com.example.hotelappref";
+
+    private static final long TIMEOUT_MS = 5_000;
+    private static final int FLINGS = 3;
+
+    private HotelAppScenarios() {
+    }
+
+    /** Start MainActivity and wait until the first hotel row is on screen. */
+    static void startAndWaitForList(MacrobenchmarkScope scope) {
+        scope.pressHome();
+        scope.startActivityAndWait();
+        waitForList(scope.getDevice());
+    }
+
+    /** Fling the hotel list down and back up. */
+    static void scrollList(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = waitForList(device);
+        // Keep the gesture away from the screen edges (system back / notification gestures)
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < FLINGS; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    private static UiObject2 waitForList(UiDevice device) {
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "hotelName")), TIMEOUT_MS);
+        UiObject2 list = device.findObject(By.res(PACKAGE_NAME, "recyclerView"));
+        if (list == null) {
+            throw new IllegalStateException("Hotel list not found on screen");
+        }
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.hotelappref.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Frame durations while flinging the hotel list.
+ *
+ * Read frameDurationCpuMs (time the app spent producing each frame) and frameOverrunMs
+ * (how late each frame was; positive means jank) at P90/P99.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class ScrollBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> compilations() {
+        return Arrays.asList(new Object[][]{{"none"}, {"baselineProfile"}});
+    }
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public ScrollBenchmark(String compilation) {
+        this.compilationMode = compilation.equals("none")
+                ? new CompilationMode.None()
+                : new CompilationMode.Partial(BaselineProfileMode.Require);
+    }
+
+    @Test
+    public void flingHotelList() {
+        benchmarkRule.measureRepeated(
+                HotelAppScenarios.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                StartupMode.WARM,
+                ITERATIONS,
+                // Startup is not part of the measurement...
+                scope -> {
+                    HotelAppScenarios.startAndWaitForList(scope);
+                    return Unit.INSTANCE;
+                },
+                // ...only the flings are
+                scope -> {
+                    HotelAppScenarios.scrollList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hotelappref.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Time to first frame (and to fully drawn, once reported) of MainActivity.
+ *
+ * - COLD: the process is killed before each start (app launch from the launcher).
+ * - WARM: the process is alive, the activity is recreated (back, then relaunch).
+ *
+ * Each mode runs without any AOT compilation and with the Baseline Profile, so the
+ * profile's effect is measured instead of assumed.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Parameterized.Parameters(name = "{0}-{1}")
+    public static Collection<Object[]> modes() {
+        return Arrays.asList(new Object[][]{
+                {StartupMode.COLD, "none"},
+                {StartupMode.COLD, "baselineProfile"},
+                {StartupMode.WARM, "none"},
+                {StartupMode.WARM, "baselineProfile"},
+        });
+    }
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final StartupMode startupMode;
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(StartupMode startupMode, String compilation) {
+        this.startupMode = startupMode;
+        this.compilationMode = compilation.equals("none")
+                ? new CompilationMode.None()
+                : new CompilationMode.Partial(BaselineProfileMode.Require);
+    }
+
+    @Test
+    public void startup() {
+        benchmarkRule.measureRepeated(
+                HotelAppScenarios.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    HotelAppScenarios.startAndWaitForList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "HotelAppRef"
 include(":app")
+include(":benchmark")
+include(":macrobenchmark")